@@ -0,0 +1,553 @@
+package myAdapter;
+
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+/**
+ * This class provides a skeletal implementation of the HList interface, like AbstractList of J2SE 1.4.2.
+ * <br><br>
+ * To implement an unmodifiable list it is enough to extend this class and to implement get(int) and size().
+ * To implement a modifiable list set(int, Object), add(int, Object) and remove(int) must be overridden too, otherwise
+ * they throw UnsupportedOperationException.
+ * <br><br>
+ * All the other methods are implemented on top of these ones. Subclasses should override the methods for which they
+ * have a faster implementation (for example removeRange() or the searching methods).
+ * <br><br>
+ * subList() returns a view which forwards every operation to its father list: a structural change made through the view
+ * is made on the father list too. The view is fail-fast: if the father list is structurally changed in another way, every
+ * following use of the view throws ConcurrentModificationException. The changes are detected through modCount, which
+ * subclasses must increment in every method that changes the size of the list.
+ *
+ * @see myAdapter.HList
+ * @see myAdapter.ListAdapter
+ * @author Andrea Stocco
+ */
+public abstract class AbstractHList implements HList {
+
+    /**
+     * Number of structural changes of the list (the ones which change its size), used by the views returned by subList()
+     * to detect the changes not made through them
+     */
+    protected int modCount;
+
+    /**
+     * Void constructor (no arguments). It is invoked only by subclasses.
+     */
+    protected AbstractHList() {
+    }
+
+    /**
+     * Method for checking an index used to access an element
+     * @param index index to check
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     */
+    protected void checkIndex(int index){
+        if(index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    /**
+     * Method for checking an index used to insert an element
+     * @param index index to check
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     */
+    protected void checkPositionIndex(int index){
+        if(index < 0 || index > size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+    }
+
+    /**
+     * Method that checks if the list contains elements
+     * @return true if the list is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Method that searches in the list the specified element
+     * @param obj element whose presence in this list is to be tested.
+     * @return true if obj is present at least one time, false otherwise
+     */
+    @Override
+    public boolean contains(Object obj) {
+        return indexOf(obj) >= 0;
+    }
+
+    /**
+     * Method that returns a new iterator over the elements of the list
+     * @return a new instance of HIterator
+     */
+    @Override
+    public HIterator iterator() {
+        return listIterator();
+    }
+
+    /**
+     * Method that returns an Object[] which contains all the elements of the list.
+     * @return a new Object[] that contains a copy of all the elements of the list
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] toReturn = new Object[size()];
+        for(int i = 0; i < toReturn.length; i++){
+            toReturn[i] = get(i);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Method that copies all the elements of the list inside a specified array
+     * @param arrayTarget the array into which the elements of this list are to be
+     *                    stored, if it is big enough (nulls are added for filling the remaining space);
+     *                    otherwise, a new array of the same size is allocated for this purpose.
+     * @throws NullPointerException if arrayTarget == null;
+     * @return a new array if arrayTarget.length < size(), arrayTarget otherwise
+     */
+    @Override
+    public Object[] toArray(Object[] arrayTarget) {
+        if(arrayTarget == null) throw new NullPointerException();
+        if(arrayTarget.length < size()) return toArray();
+        int size = size();
+        for(int i = 0; i < size; i++){
+            arrayTarget[i] = get(i);
+        }
+        for(int i = size; i < arrayTarget.length; i++){
+            arrayTarget[i] = null;
+        }
+        return arrayTarget;
+    }
+
+    /**
+     * Method for adding an element at the end of the list
+     * @param obj element to be appended to this list.
+     * @return always true
+     * @throws UnsupportedOperationException if add(int, Object) isn't supported
+     */
+    @Override
+    public boolean add(Object obj) {
+        add(size(), obj);
+        return true;
+    }
+
+    /**
+     * Method for removing the first occurrence of the specified element
+     * @param obj element to be removed from this list, if present.
+     * @return true if an element is removed, false otherwise
+     * @throws UnsupportedOperationException if remove(int) isn't supported
+     */
+    @Override
+    public boolean remove(Object obj) {
+        int index = indexOf(obj);
+        if(index < 0) return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Method for checking if the elements of an entire collection are contained in the list
+     * @param coll collection to be checked for containment in this list.
+     * @throws NullPointerException if coll == null
+     * @return true if all the elements of coll are contained in the list, false otherwise
+     */
+    @Override
+    public boolean containsAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        HIterator iter = coll.iterator();
+        while(iter.hasNext()){
+            if(!contains(iter.next())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method for appending an entire collection to the list
+     * @param coll collection whose elements are to be added to this list.
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(HCollection coll) {
+        return addAll(size(), coll);
+    }
+
+    /**
+     * Method for inserting all the elements of a specified collection in a specific position
+     * @param index index at which to insert first element from the specified collection.
+     * @param coll elements to be inserted into this list.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(int index, HCollection coll) {
+        checkPositionIndex(index);
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        for (Object element : elements) {
+            add(index++, element);
+        }
+        return elements.length != 0;
+    }
+
+    /**
+     * Method for the removal of all the elements contained in the specified collection.
+     * @param coll collection that defines which elements will be removed from this list.
+     * @throws NullPointerException if coll == null
+     * @return true if there was a deletion, false otherwise
+     */
+    @Override
+    public boolean removeAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        boolean isChanged = false;
+        HIterator iter = iterator();
+        while(iter.hasNext()){
+            if(coll.contains(iter.next())){
+                iter.remove();
+                isChanged = true;
+            }
+        }
+        return isChanged;
+    }
+
+    /**
+     * Method for the removal of all the elements which aren't contained in the specified collection.
+     * @param coll collection that defines which elements this list will retain.
+     * @throws NullPointerException if coll == null
+     * @return true if at least one element is removed, false otherwise
+     */
+    @Override
+    public boolean retainAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        boolean isChanged = false;
+        HIterator iter = iterator();
+        while(iter.hasNext()){
+            if(!coll.contains(iter.next())){
+                iter.remove();
+                isChanged = true;
+            }
+        }
+        return isChanged;
+    }
+
+    /**
+     * Method that removes all the elements inside the list
+     */
+    @Override
+    public void clear() {
+        removeRange(0, size());
+    }
+
+    /**
+     * Method for removing all the elements whose index is between fromIndex (inclusive) and toIndex (exclusive).
+     * This implementation removes the elements one by one, subclasses should override it if they can do it faster.
+     * @param fromIndex index of first element to be removed.
+     * @param toIndex index after last element to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        for(int i = toIndex - 1; i >= fromIndex; i--){
+            remove(i);
+        }
+    }
+
+    /**
+     * Method for comparing the list with a generic Object
+     * @param obj the object to be compared for equality with this list.
+     * @return true if obj is an HList which contains equal elements in the same order, false otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if(obj == this) return true;
+        if(!(obj instanceof HList)) return false;
+        HList other = (HList) obj;
+        if(size() != other.size()) return false;
+        HIterator iter = iterator(), otherIter = other.iterator();
+        while(iter.hasNext()){
+            Object current = iter.next(), otherCurrent = otherIter.next();
+            if(current == null ? otherCurrent != null : !current.equals(otherCurrent)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method that calculates the hashCode for the list, like List.hashCode() of J2SE 1.4.2
+     * @return the hashCode for the list
+     */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        HIterator iter = iterator();
+        while(iter.hasNext()){
+            Object current = iter.next();
+            hash = 31 * hash + (current == null ? 0 : current.hashCode());
+        }
+        return hash;
+    }
+
+    /**
+     * Method for replacing an element in a specified position with a new one.
+     * This implementation always throws UnsupportedOperationException.
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position.
+     * @return the element that has been replaced
+     */
+    @Override
+    public Object set(int index, Object element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Method for inserting an element in a specified position.
+     * This implementation always throws UnsupportedOperationException.
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted.
+     */
+    @Override
+    public void add(int index, Object element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Method for removing an element specified by his index.
+     * This implementation always throws UnsupportedOperationException.
+     * @param index the index of the element to removed.
+     * @return the object that has been removed
+     */
+    @Override
+    public Object remove(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element
+     * @param obj element to search for.
+     * @return the index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int indexOf(Object obj) {
+        int size = size();
+        for(int i = 0; i < size; i++){
+            Object current = get(i);
+            if(obj == null ? current == null : obj.equals(current)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified element
+     * @param obj element to search for.
+     * @return the last index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int lastIndexOf(Object obj) {
+        for(int i = size() - 1; i >= 0; i--){
+            Object current = get(i);
+            if(obj == null ? current == null : obj.equals(current)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method which returns a new list iterator pointing to the first element
+     * @return a new instance of HListIterator
+     */
+    @Override
+    public HListIterator listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Method that returns a new list iterator pointing to the specified position
+     * @param index index of first element to be returned from the list iterator (by a call to the next method).
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @return a new instance of HListIterator
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        checkPositionIndex(index);
+        return new Itr(index);
+    }
+
+    /**
+     * Method for creating a view of a portion of this list
+     * @param fromIndex low endpoint (inclusive) of the subList.
+     * @param toIndex   high endpoint (exclusive) of the subList.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     * @return a view of the specified range within this list
+     */
+    @Override
+    public HList subList(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        return new SubList(this, fromIndex, toIndex);
+    }
+
+    /**
+     * Method that returns a string representation of the list, like [e1, e2, ...]
+     * @return a string representation of the list
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        HIterator iter = iterator();
+        while(iter.hasNext()){
+            Object current = iter.next();
+            builder.append(current == this ? "(this List)" : String.valueOf(current));
+            if(iter.hasNext()) builder.append(", ");
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * List iterator of AbstractHList, implemented on top of get, set, add and remove.
+     */
+    private class Itr implements HListIterator {
+        private int cursor;
+        private int lastReturned = -1;
+
+        /**
+         * It creates a new listIterator on the position specified by index.
+         * @param index where to place the new listIterator
+         */
+        public Itr(int index){
+            cursor = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size();
+        }
+
+        @Override
+        public Object next() {
+            if(!hasNext()) throw new NoSuchElementException();
+            Object toReturn = get(cursor);
+            lastReturned = cursor++;
+            return toReturn;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Object previous() {
+            if(!hasPrevious()) throw new NoSuchElementException();
+            Object toReturn = get(cursor - 1);
+            lastReturned = --cursor;
+            return toReturn;
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if(lastReturned < 0) throw new IllegalStateException();
+            AbstractHList.this.remove(lastReturned);
+            if(lastReturned < cursor) cursor--;
+            lastReturned = -1;
+        }
+
+        @Override
+        public void set(Object obj) {
+            if(lastReturned < 0) throw new IllegalStateException();
+            AbstractHList.this.set(lastReturned, obj);
+        }
+
+        @Override
+        public void add(Object obj) {
+            AbstractHList.this.add(cursor++, obj);
+            lastReturned = -1;
+        }
+    }
+
+    /**
+     * View of a portion of an AbstractHList. Every operation is forwarded to the father list, shifting the index by
+     * the offset of the view. Every operation checks that the father list hasn't been structurally changed except through
+     * the view, like the sublists of AbstractList.
+     */
+    private static class SubList extends AbstractHList {
+        private final AbstractHList father;
+        private final int offset;
+        private int size;
+        private int expectedModCount;
+
+        /**
+         * It creates a new view of the specified range of father
+         * @param father the list which contains the elements of the view
+         * @param fromIndex low endpoint (inclusive) of the view
+         * @param toIndex high endpoint (exclusive) of the view
+         */
+        public SubList(AbstractHList father, int fromIndex, int toIndex){
+            this.father = father;
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.expectedModCount = father.modCount;
+        }
+
+        /**
+         * It checks that the father list has been structurally changed only through this view
+         * @throws ConcurrentModificationException if the father list has been changed in another way
+         */
+        private void checkForComodification(){
+            if(father.modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public Object get(int index) {
+            checkIndex(index);
+            return father.get(offset + index);
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            checkIndex(index);
+            return father.set(offset + index, element);
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            checkPositionIndex(index);
+            father.add(offset + index, element);
+            expectedModCount = father.modCount;
+            size++;
+            modCount++;
+        }
+
+        @Override
+        public Object remove(int index) {
+            checkIndex(index);
+            Object toReturn = father.remove(offset + index);
+            expectedModCount = father.modCount;
+            size--;
+            modCount++;
+            return toReturn;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            checkForComodification();
+            if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+            father.removeRange(offset + fromIndex, offset + toIndex);
+            expectedModCount = father.modCount;
+            size -= toIndex - fromIndex;
+            modCount++;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package myAdapter;
+
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Thread-safe list which supports only appends, for logs written by many threads at the same time. It doesn't use locks.
+ * <br><br>
+ * The elements are stored in segments which are allocated when they are needed and never moved: the segment k contains
+ * 32 * 2^k elements, so the element i is in the segment whose number is given by the highest bit of i + 32, and no element
+ * is ever copied when the list grows.
+ * <br><br>
+ * An append claims its slot with a single atomic increment of a counter, and then writes the element. The elements are
+ * visible to the readers only when all the slots before them have been written too: a second counter contains the length
+ * of the published prefix, and every writer which has written its slot advances it over all the written slots which
+ * follow it, also the ones of the other writers. size() and get(int) read only the published prefix, so they are wait-free
+ * and they never see a claimed slot which hasn't been written yet.
+ * <br>
+ * As a consequence, an element appended by a thread becomes visible (also to the same thread) only when the appends which
+ * claimed the previous slots are completed.
+ * <br><br>
+ * add(int, Object), set(), the removals and clear() throw UnsupportedOperationException. The iterators and the views
+ * returned by subList() are the ones of {@link AbstractHList}; the elements of the published prefix never change, so the
+ * appends don't increment modCount and the views can be used while other threads append.
+ *
+ * @see myAdapter.HList
+ * @author Andrea Stocco
+ */
+public class AppendOnlyListAdapter extends AbstractHList {
+
+    /**
+     * log2 of the length of the first segment
+     */
+    private static final int FIRST_SHIFT = 5;
+    /**
+     * Number of segments, enough to contain MAX_SIZE elements
+     */
+    private static final int SEGMENTS = 31 - FIRST_SHIFT;
+    /**
+     * Maximum number of elements of the list
+     */
+    static final int MAX_SIZE = (1 << FIRST_SHIFT) * ((1 << SEGMENTS) - 1);
+    /**
+     * Object stored in the slots instead of null, because an empty slot contains null
+     */
+    private static final Object NULL = new Object();
+
+    private final AtomicReferenceArray<AtomicReferenceArray<Object>> segments = new AtomicReferenceArray<>(SEGMENTS);
+    private final AtomicInteger claimed = new AtomicInteger();
+    private final AtomicInteger published = new AtomicInteger();
+
+    /**
+     * Void constructor (no arguments), it creates an empty list.
+     */
+    public AppendOnlyListAdapter() {
+    }
+
+    /**
+     * Constructor which creates a list that contains the elements of the specified collection, in the order of its iterator.
+     * @param coll the collection whose elements are appended to the list
+     * @throws NullPointerException if coll == null
+     */
+    public AppendOnlyListAdapter(HCollection coll) {
+        addAll(coll);
+    }
+
+    /**
+     * Method that finds the segment which contains an index
+     * @param index index of an element
+     * @return the number of the segment
+     */
+    private static int segmentOf(int index){
+        return 31 - Integer.numberOfLeadingZeros(index + (1 << FIRST_SHIFT)) - FIRST_SHIFT;
+    }
+
+    /**
+     * Method that finds the position of an index inside its segment
+     * @param index index of an element
+     * @param segment the number of the segment which contains index
+     * @return the offset of the element in the segment
+     */
+    private static int offsetOf(int index, int segment){
+        return index + (1 << FIRST_SHIFT) - (1 << (segment + FIRST_SHIFT));
+    }
+
+    /**
+     * Method that returns a segment, allocating it if no thread has allocated it yet
+     * @param segment the number of the segment
+     * @return the segment
+     */
+    private AtomicReferenceArray<Object> segment(int segment){
+        AtomicReferenceArray<Object> current = segments.get(segment);
+        if(current != null) return current;
+        segments.compareAndSet(segment, null, new AtomicReferenceArray<>(1 << (segment + FIRST_SHIFT)));
+        return segments.get(segment);
+    }
+
+    /**
+     * Method that claims consecutive slots at the end of the list
+     * @param count the number of slots
+     * @throws IllegalStateException if the list would contain more than MAX_SIZE elements
+     * @return the index of the first slot
+     */
+    private int claim(int count){
+        int first = claimed.getAndAdd(count);
+        if(first < 0 || first > MAX_SIZE - count) throw new IllegalStateException("List full");
+        return first;
+    }
+
+    /**
+     * Method that writes an element in a claimed slot
+     * @param index the index of the slot
+     * @param element the element
+     */
+    private void write(int index, Object element){
+        int segment = segmentOf(index);
+        segment(segment).set(offsetOf(index, segment), element == null ? NULL : element);
+    }
+
+    /**
+     * Method that checks if a claimed slot has been written
+     * @param index the index of the slot
+     * @return true if the slot contains an element
+     */
+    private boolean written(int index){
+        int segment = segmentOf(index);
+        AtomicReferenceArray<Object> current = segments.get(segment);
+        return current != null && current.get(offsetOf(index, segment)) != null;
+    }
+
+    /**
+     * Method that advances the published prefix over all the slots which have been written. The slots are read before
+     * the counter is advanced, so a reader of the counter sees their elements.
+     */
+    private void publish(){
+        for(;;){
+            int prefix = published.get();
+            if(prefix >= claimed.get() || !written(prefix)) return;
+            published.compareAndSet(prefix, prefix + 1);
+        }
+    }
+
+    /**
+     * Method that calculates the size of the published prefix, without waiting
+     * @return the number of elements visible to the readers
+     */
+    @Override
+    public int size() {
+        return published.get();
+    }
+
+    /**
+     * Method for inspecting the element in a specified position of the published prefix, without waiting
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element in that position
+     */
+    @Override
+    public Object get(int index) {
+        int size = published.get();
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        int segment = segmentOf(index);
+        Object element = segments.get(segment).get(offsetOf(index, segment));
+        return element == NULL ? null : element;
+    }
+
+    /**
+     * Method that appends an element to the list, claiming its slot with a single atomic operation
+     * @param obj element to be appended.
+     * @throws IllegalStateException if the list already contains MAX_SIZE elements
+     * @return true
+     */
+    @Override
+    public boolean add(Object obj) {
+        write(claim(1), obj);
+        publish();
+        return true;
+    }
+
+    /**
+     * Method for appending an entire collection to the list, claiming all the slots with a single atomic operation:
+     * the elements of the collection are consecutive in the list.
+     * @param coll collection whose elements are to be appended to this list.
+     * @throws NullPointerException if coll == null
+     * @throws IllegalStateException if the list would contain more than MAX_SIZE elements
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        if(elements.length == 0) return false;
+        int first = claim(elements.length);
+        for(int i = 0; i < elements.length; i++){
+            write(first + i, elements[i]);
+        }
+        publish();
+        return true;
+    }
+
+    /**
+     * Operation not supported, the list allows only appends
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addAll(int index, HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list allows only appends
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean remove(Object obj) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list allows only appends
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeAll(HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list allows only appends
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean retainAll(HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list allows only appends
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list allows only appends
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Method that returns an Object[] which contains the elements of the published prefix, copied one segment at a time.
+     * @return a new Object[] that contains a copy of the elements visible when the method is called
+     */
+    @Override
+    public Object[] toArray() {
+        int size = published.get();
+        Object[] result = new Object[size];
+        int index = 0;
+        for(int segment = 0; index < size; segment++){
+            AtomicReferenceArray<Object> current = segments.get(segment);
+            int end = Math.min(size - index, current.length());
+            for(int offset = 0; offset < end; offset++){
+                Object element = current.get(offset);
+                result[index++] = element == NULL ? null : element;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Method that copies the elements of the published prefix inside a specified array
+     * @param arrayTarget the array into which the elements of this list are to be
+     *                    stored, if it is big enough (nulls are added for filling the remaining space);
+     *                    otherwise, a new array of the same size is allocated for this purpose.
+     * @throws NullPointerException if arrayTarget == null;
+     * @return a new array if arrayTarget.length is less than the size of the prefix, arrayTarget otherwise
+     */
+    @Override
+    public Object[] toArray(Object[] arrayTarget) {
+        if(arrayTarget == null) throw new NullPointerException();
+        Object[] snapshot = toArray();
+        if(arrayTarget.length < snapshot.length) return snapshot;
+        System.arraycopy(snapshot, 0, arrayTarget, 0, snapshot.length);
+        for(int i = snapshot.length; i < arrayTarget.length; i++){
+            arrayTarget[i] = null;
+        }
+        return arrayTarget;
+    }
+}
@@ -0,0 +1,395 @@
+package myAdapter;
+
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Tiered (chunked) implementation of {@link myAdapter.Vector}.
+ *
+ * <p>
+ * The elements are stored in chunks of the same capacity C, a power of two. Every chunk is a circular array and all the
+ * chunks are full except the last one, so the element at index i is always the element (i mod C) of the chunk (i / C)
+ * and elementAt() is O(1).
+ * <br>
+ * An insertion or a removal shifts the elements of a single chunk, then it moves one element between every pair of
+ * following chunks by rotating their circular arrays. C is doubled when the vector contains more than C * C elements,
+ * so both operations cost O(&radic;n) instead of the O(n) of a flat array.
+ *
+ * <p>
+ * A ChunkedVector can be used as adaptee of a ListAdapter (and so of its subLists), for example
+ * {@code HList list = new ListAdapter(new ChunkedVector());}
+ *
+ * @see myAdapter.Vector
+ * @see myAdapter.ListAdapter#ListAdapter(Vector)
+ * @author Andrea Stocco
+ */
+public class ChunkedVector extends Vector {
+
+    /**
+     * Minimum and maximum value of shift
+     */
+    private static final int MIN_SHIFT = 4, MAX_SHIFT = 15;
+    /**
+     * log2 of the capacity of a chunk
+     */
+    private int shift;
+    /**
+     * Capacity of a chunk minus one, used for the modulo operations
+     */
+    private int mask;
+    /**
+     * Chunks of the vector. Only the first allocated chunks are not null.
+     */
+    private Object[][] chunks;
+    /**
+     * Position inside each chunk of its first element
+     */
+    private int[] heads;
+    /**
+     * Number of allocated chunks
+     */
+    private int allocated;
+
+    public ChunkedVector() {
+        this(10);
+    }
+
+    public ChunkedVector(int initialCapacity) {
+        super(0);
+        if(initialCapacity < 0) throw new IllegalArgumentException();
+        int newShift = MIN_SHIFT;
+        while(newShift < MAX_SHIFT && 1L << (2 * newShift) < initialCapacity) newShift++;
+        reset(newShift);
+        ensureCapacity(initialCapacity);
+    }
+
+    /**
+     * Method that removes all the chunks and sets a new capacity for the chunks
+     * @param newShift log2 of the new capacity of a chunk
+     */
+    private void reset(int newShift){
+        shift = newShift;
+        mask = (1 << newShift) - 1;
+        chunks = new Object[0][];
+        heads = new int[0];
+        allocated = 0;
+    }
+
+    /**
+     * Method for reading an element of a chunk
+     * @param chunk index of the chunk
+     * @param offset position of the element inside the chunk
+     * @return the element
+     */
+    private Object get(int chunk, int offset){
+        return chunks[chunk][(heads[chunk] + offset) & mask];
+    }
+
+    /**
+     * Method for writing an element of a chunk
+     * @param chunk index of the chunk
+     * @param offset position of the element inside the chunk
+     * @param obj the element to write
+     */
+    private void set(int chunk, int offset, Object obj){
+        chunks[chunk][(heads[chunk] + offset) & mask] = obj;
+    }
+
+    /**
+     * Method that calculates the number of elements inside a chunk
+     * @param chunk index of the chunk
+     * @return the capacity of a chunk for all the chunks but the last one
+     */
+    private int count(int chunk){
+        return Math.min(mask + 1, elementCount - (chunk << shift));
+    }
+
+    /**
+     * Method that rebuilds the vector with chunks of a different capacity
+     * @param newShift log2 of the new capacity of a chunk
+     */
+    private void rebuild(int newShift){
+        Object[] all = new Object[elementCount];
+        copyInto(all);
+        load(all, newShift);
+    }
+
+    /**
+     * Method that replaces the content of the vector with the elements of an array
+     * @param all the new elements of the vector
+     * @param newShift log2 of the new capacity of a chunk
+     */
+    private void load(Object[] all, int newShift){
+        reset(newShift);
+        ensureCapacity(all.length);
+        for(int i = 0; i < all.length; i += mask + 1){
+            System.arraycopy(all, i, chunks[i >>> shift], 0, Math.min(mask + 1, all.length - i));
+        }
+        elementCount = all.length;
+    }
+
+    @Override
+    public void addElement(Object obj){
+        insertElementAt(obj, elementCount);
+    }
+
+    @Override
+    public int capacity(){
+        return allocated << shift;
+    }
+
+    @Override
+    public void copyInto(Object[] anArray){
+        int chunkSize = mask + 1;
+        for(int chunk = 0, i = 0; i < elementCount; chunk++, i += chunkSize){
+            int count = count(chunk), head = heads[chunk];
+            int firstPart = Math.min(count, chunkSize - head);
+            System.arraycopy(chunks[chunk], head, anArray, i, firstPart);
+            System.arraycopy(chunks[chunk], 0, anArray, i + firstPart, count - firstPart);
+        }
+    }
+
+    @Override
+    public void copyInto(int index, Object[] anArray, int offset, int length){
+        if(index < 0 || length < 0 || index + length > elementCount) throw new ArrayIndexOutOfBoundsException(index + length);
+        for(int i = 0; i < length; i++){
+            anArray[offset + i] = get((index + i) >>> shift, (index + i) & mask);
+        }
+    }
+
+    @Override
+    public Object elementAt(int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        return get(index >>> shift, index & mask);
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity){
+        int needed = (int) ((minCapacity + (long) mask) >>> shift);
+        if(needed <= allocated) return;
+        if(needed > chunks.length){
+            int length = Math.max(needed, 2 * chunks.length);
+            Object[][] newChunks = new Object[length][];
+            int[] newHeads = new int[length];
+            System.arraycopy(chunks, 0, newChunks, 0, allocated);
+            System.arraycopy(heads, 0, newHeads, 0, allocated);
+            chunks = newChunks;
+            heads = newHeads;
+        }
+        for(; allocated < needed; allocated++){
+            chunks[allocated] = new Object[mask + 1];
+            heads[allocated] = 0;
+        }
+    }
+
+    @Override
+    public int indexOf(Object elem, int index){
+        if(index < 0) throw new ArrayIndexOutOfBoundsException(index);
+        for(int i = index; i < elementCount; i++){
+            Object current = get(i >>> shift, i & mask);
+            if(elem == null ? current == null : elem.equals(current)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public void insertElementAt(Object obj, int index){
+        if(index < 0 || index > elementCount) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        if(elementCount >= 1 << (2 * shift) && shift < MAX_SHIFT) rebuild(shift + 1);
+        ensureCapacity(elementCount + 1);
+        int chunk = index >>> shift, last = elementCount >>> shift;
+        // the last element of every following chunk becomes the first element of the next one
+        for(int j = last; j > chunk; j--){
+            Object moved = get(j - 1, mask);
+            set(j - 1, mask, null);
+            heads[j] = (heads[j] - 1) & mask;
+            chunks[j][heads[j]] = moved;
+        }
+        int offset = index & mask;
+        int count = chunk == last ? elementCount - (chunk << shift) : mask;
+        if(offset < count / 2){
+            heads[chunk] = (heads[chunk] - 1) & mask;
+            for(int t = 0; t < offset; t++) set(chunk, t, get(chunk, t + 1));
+        }else{
+            for(int t = count; t > offset; t--) set(chunk, t, get(chunk, t - 1));
+        }
+        set(chunk, offset, obj);
+        elementCount++;
+    }
+
+    /**
+     * Method that inserts all the elements of an array at the specified index.
+     * Few elements are inserted one by one, otherwise the chunks are rebuilt only once.
+     * @param anArray the elements to insert
+     * @param index position of the first inserted element
+     * @throws ArrayIndexOutOfBoundsException if index < 0 || index > size()
+     */
+    @Override
+    public void insertElementsAt(Object[] anArray, int index){
+        if(index < 0 || index > elementCount) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        int length = anArray.length;
+        if((long) length << shift < elementCount){
+            for(int i = 0; i < length; i++) insertElementAt(anArray[i], index + i);
+            return;
+        }
+        Object[] all = new Object[elementCount + length];
+        copyInto(0, all, 0, index);
+        System.arraycopy(anArray, 0, all, index, length);
+        copyInto(index, all, index + length, elementCount - index);
+        int newShift = shift;
+        while(newShift < MAX_SHIFT && 1L << (2 * newShift) < all.length) newShift++;
+        load(all, newShift);
+    }
+
+    @Override
+    public int lastIndexOf(Object elem, int index){
+        if(index >= elementCount) throw new IndexOutOfBoundsException(index + " >= " + elementCount);
+        for(int i = index; i >= 0; i--){
+            Object current = get(i >>> shift, i & mask);
+            if(elem == null ? current == null : elem.equals(current)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public void removeAllElements(){
+        reset(shift);
+        elementCount = 0;
+    }
+
+    @Override
+    public void removeElementAt(int index){
+        if(index < 0 || index >= elementCount) throw new ArrayIndexOutOfBoundsException(index);
+        int chunk = index >>> shift, last = (elementCount - 1) >>> shift;
+        int offset = index & mask, count = count(chunk);
+        if(offset < count / 2){
+            for(int t = offset; t > 0; t--) set(chunk, t, get(chunk, t - 1));
+            set(chunk, 0, null);
+            heads[chunk] = (heads[chunk] + 1) & mask;
+        }else{
+            for(int t = offset; t < count - 1; t++) set(chunk, t, get(chunk, t + 1));
+            set(chunk, count - 1, null);
+        }
+        // the first element of every following chunk becomes the last element of the previous one
+        for(int j = chunk + 1; j <= last; j++){
+            Object moved = chunks[j][heads[j]];
+            chunks[j][heads[j]] = null;
+            heads[j] = (heads[j] + 1) & mask;
+            set(j - 1, mask, moved);
+        }
+        elementCount--;
+    }
+
+    /**
+     * Method that removes the elements between fromIndex (inclusive) and toIndex (exclusive).
+     * Few elements are removed one by one, otherwise the chunks are rebuilt only once.
+     * @param fromIndex index of the first element to remove
+     * @param toIndex index after the last element to remove
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    public void removeRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        int length = toIndex - fromIndex;
+        if((long) length << shift < elementCount){
+            for(int i = toIndex - 1; i >= fromIndex; i--) removeElementAt(i);
+            return;
+        }
+        Object[] all = new Object[elementCount - length];
+        copyInto(0, all, 0, fromIndex);
+        copyInto(toIndex, all, fromIndex, elementCount - toIndex);
+        load(all, shift);
+    }
+
+    @Override
+    public void setElementAt(Object obj, int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        set(index >>> shift, index & mask, obj);
+    }
+
+    /**
+     * Method that sorts the elements between fromIndex (inclusive) and toIndex (exclusive). The range is copied into an
+     * array, sorted and written back into the same slots of the chunks.
+     * @param fromIndex index of the first element to sort
+     * @param toIndex index after the last element to sort
+     * @param c the comparator of the elements, null for their natural ordering
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    public void sort(int fromIndex, int toIndex, Comparator c){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        Object[] range = new Object[toIndex - fromIndex];
+        copyInto(fromIndex, range, 0, range.length);
+        Arrays.sort(range, c);
+        for(int i = 0; i < range.length; i++){
+            set((fromIndex + i) >>> shift, (fromIndex + i) & mask, range[i]);
+        }
+    }
+
+    /**
+     * Method that sorts in parallel the elements between fromIndex (inclusive) and toIndex (exclusive). The range is copied
+     * into an array, sorted and written back into the same slots of the chunks.
+     * @param fromIndex index of the first element to sort
+     * @param toIndex index after the last element to sort
+     * @param c the comparator of the elements, null for their natural ordering
+     * @param pool the pool which executes the sort
+     * @param threshold number of elements below which a piece is sorted sequentially
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    public void parallelSort(int fromIndex, int toIndex, Comparator c, ForkJoinPool pool, int threshold){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        Object[] range = new Object[toIndex - fromIndex];
+        copyInto(fromIndex, range, 0, range.length);
+        ParallelMergeSort.sort(range, 0, range.length, c, pool, threshold);
+        for(int i = 0; i < range.length; i++){
+            set((fromIndex + i) >>> shift, (fromIndex + i) & mask, range[i]);
+        }
+    }
+
+    /**
+     * Method that performs an action for each element between fromIndex (inclusive) and toIndex (exclusive), with a loop
+     * over the circular array of each chunk.
+     * @param fromIndex index of the first element
+     * @param toIndex index after the last element
+     * @param action the action to perform for each element
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    public void forEach(int fromIndex, int toIndex, Consumer action){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        int i = fromIndex;
+        while(i < toIndex){
+            int chunk = i >>> shift, head = heads[chunk];
+            Object[] data = chunks[chunk];
+            int end = Math.min(toIndex, (chunk + 1) << shift);
+            for(; i < end; i++){
+                action.accept(data[(head + i) & mask]);
+            }
+        }
+    }
+
+    @Override
+    public void setSize(int newSize){
+        if(newSize < 0) throw new ArrayIndexOutOfBoundsException(newSize);
+        if(newSize > elementCount){
+            int newShift = shift;
+            while(newShift < MAX_SHIFT && 1L << (2 * newShift) < newSize) newShift++;
+            if(newShift != shift) rebuild(newShift);
+            ensureCapacity(newSize);
+        }else{
+            for(int i = newSize; i < elementCount; i++) set(i >>> shift, i & mask, null);
+        }
+        elementCount = newSize;
+    }
+
+    @Override
+    public void trimToSize(){
+        int used = (elementCount + mask) >>> shift;
+        for(int j = used; j < allocated; j++) chunks[j] = null;
+        allocated = used;
+    }
+}
@@ -0,0 +1,493 @@
+package myAdapter;
+
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe list with lock striping and optimistic reads, for lists shared by many threads.
+ * <br><br>
+ * The elements are stored in an array. Two levels of StampedLock protect it:
+ * <br>
+ * the directory lock protects the structure of the list (the array and the size). The operations which change the size
+ * take its write lock, all the other operations take its read lock, so they can run at the same time;
+ * <br>
+ * the stripe locks protect the elements. The array is divided in segments of 64 elements, and the segment i is protected
+ * by the stripe i modulo the number of stripes. set() takes the write lock of a single stripe, so writers of different
+ * regions of the list don't block each other.
+ * <br><br>
+ * get() and size() don't take any lock: they read optimistically and validate the stamps of the directory and of the
+ * stripe. Only if a writer has changed the list in the meantime the read is repeated with the read locks.
+ * The searching methods and toArray() hold the read lock of the directory and the read lock of one stripe at a time, so
+ * they see a consistent structure but they don't stop the writers of the other stripes.
+ * <br><br>
+ * The bulk operations (addAll, removeAll, retainAll, clear and the removal of a range) are atomic. The iterators and the
+ * views returned by subList() are implemented on top of get() and of the other methods, like the ones of
+ * {@link AbstractHList}: every single operation is thread-safe, but a sequence of operations isn't atomic.
+ *
+ * @see myAdapter.HList
+ * @see java.util.concurrent.locks.StampedLock
+ * @author Andrea Stocco
+ */
+public class ConcurrentListAdapter extends AbstractHList {
+
+    /**
+     * log2 of the number of consecutive elements protected by the same stripe
+     */
+    private static final int SEGMENT_SHIFT = 6;
+    private static final int DEFAULT_STRIPES = 16;
+
+    private final StampedLock directory = new StampedLock();
+    private final StampedLock[] stripes;
+    private Object[] elementData;
+    private int size;
+
+    /**
+     * Void constructor (no arguments), it creates an empty list with 16 stripes.
+     */
+    public ConcurrentListAdapter() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructor which creates an empty list with the specified number of stripes, rounded up to a power of two.
+     * @param concurrencyLevel the expected number of threads which write at the same time
+     * @throws IllegalArgumentException if concurrencyLevel < 1
+     */
+    public ConcurrentListAdapter(int concurrencyLevel) {
+        if(concurrencyLevel < 1) throw new IllegalArgumentException("Illegal concurrency level: " + concurrencyLevel);
+        int count = Integer.highestOneBit(Math.min(concurrencyLevel, 1 << 16) * 2 - 1);
+        stripes = new StampedLock[count];
+        for(int i = 0; i < count; i++){
+            stripes[i] = new StampedLock();
+        }
+        elementData = new Object[10];
+    }
+
+    /**
+     * Method that finds the stripe which protects an element
+     * @param index index of the element
+     * @return the lock of the stripe
+     */
+    private StampedLock stripe(int index){
+        return stripes[(index >>> SEGMENT_SHIFT) & (stripes.length - 1)];
+    }
+
+    /**
+     * Method that checks an index used to access an element, while the directory lock is held
+     * @param index index to check
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size
+     */
+    private void checkLockedIndex(int index){
+        if(index < 0 || index >= size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Method that enlarges the array, while the write lock of the directory is held
+     * @param minCapacity the desired minimum capacity
+     */
+    private void ensureCapacity(int minCapacity){
+        if(minCapacity <= elementData.length) return;
+        Object[] newData = new Object[Math.max(minCapacity, elementData.length * 2)];
+        System.arraycopy(elementData, 0, newData, 0, size);
+        elementData = newData;
+    }
+
+    /**
+     * Method that calculates the size of the list with an optimistic read
+     * @return the size of the list
+     */
+    @Override
+    public int size() {
+        long stamp = directory.tryOptimisticRead();
+        int toReturn = size;
+        if(directory.validate(stamp)) return toReturn;
+        stamp = directory.readLock();
+        try {
+            return size;
+        } finally {
+            directory.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method for inspecting the element in a specified position in the list. The element is read optimistically, and read
+     * again with the read locks only if a writer has changed the list during the read.
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element in that position
+     */
+    @Override
+    public Object get(int index) {
+        long directoryStamp = directory.tryOptimisticRead();
+        if(directoryStamp != 0){
+            Object[] data = elementData;
+            int currentSize = size;
+            if(index >= 0 && index < currentSize && index < data.length){
+                StampedLock stripe = stripe(index);
+                long stamp = stripe.tryOptimisticRead();
+                Object toReturn = data[index];
+                if(stamp != 0 && stripe.validate(stamp) && directory.validate(directoryStamp)) return toReturn;
+            }else if(directory.validate(directoryStamp)){
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + currentSize);
+            }
+        }
+        directoryStamp = directory.readLock();
+        try {
+            checkLockedIndex(index);
+            StampedLock stripe = stripe(index);
+            long stamp = stripe.readLock();
+            try {
+                return elementData[index];
+            } finally {
+                stripe.unlockRead(stamp);
+            }
+        } finally {
+            directory.unlockRead(directoryStamp);
+        }
+    }
+
+    /**
+     * Method for replacing an element in a specified position with a new one. It takes only the write lock of the stripe
+     * of the element.
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element that has been replaced
+     */
+    @Override
+    public Object set(int index, Object element) {
+        long directoryStamp = directory.readLock();
+        try {
+            checkLockedIndex(index);
+            StampedLock stripe = stripe(index);
+            long stamp = stripe.writeLock();
+            try {
+                Object toReturn = elementData[index];
+                elementData[index] = element;
+                return toReturn;
+            } finally {
+                stripe.unlockWrite(stamp);
+            }
+        } finally {
+            directory.unlockRead(directoryStamp);
+        }
+    }
+
+    /**
+     * Method for inserting an element in a specified position.
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     */
+    @Override
+    public void add(int index, Object element) {
+        long stamp = directory.writeLock();
+        try {
+            if(index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            ensureCapacity(size + 1);
+            System.arraycopy(elementData, index, elementData, index + 1, size - index);
+            elementData[index] = element;
+            size++;
+            modCount++;
+        } finally {
+            directory.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for inserting all the elements of a specified collection in a specific position, atomically.
+     * @param index index at which to insert first element from the specified collection.
+     * @param coll elements to be inserted into this list.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(int index, HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        long stamp = directory.writeLock();
+        try {
+            if(index < 0 || index > size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            ensureCapacity(size + elements.length);
+            System.arraycopy(elementData, index, elementData, index + elements.length, size - index);
+            System.arraycopy(elements, 0, elementData, index, elements.length);
+            size += elements.length;
+            modCount++;
+        } finally {
+            directory.unlockWrite(stamp);
+        }
+        return elements.length != 0;
+    }
+
+    /**
+     * Method for appending an entire collection to the list, atomically.
+     * @param coll collection whose elements are to be added to this list.
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        long stamp = directory.writeLock();
+        try {
+            ensureCapacity(size + elements.length);
+            System.arraycopy(elements, 0, elementData, size, elements.length);
+            size += elements.length;
+            modCount++;
+        } finally {
+            directory.unlockWrite(stamp);
+        }
+        return elements.length != 0;
+    }
+
+    /**
+     * Method for removing an element specified by his index.
+     * @param index the index of the element to removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the object that has been removed
+     */
+    @Override
+    public Object remove(int index) {
+        long stamp = directory.writeLock();
+        try {
+            checkLockedIndex(index);
+            Object toReturn = elementData[index];
+            System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+            elementData[--size] = null;
+            modCount++;
+            return toReturn;
+        } finally {
+            directory.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for removing the first occurrence of the specified element, atomically.
+     * @param obj element to be removed from this list, if present.
+     * @return true if an element is removed, false otherwise
+     */
+    @Override
+    public boolean remove(Object obj) {
+        long stamp = directory.writeLock();
+        try {
+            int index = find(obj, 0, size);
+            if(index < 0) return false;
+            System.arraycopy(elementData, index + 1, elementData, index, size - index - 1);
+            elementData[--size] = null;
+            modCount++;
+            return true;
+        } finally {
+            directory.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for removing all the elements whose index is between fromIndex (inclusive) and toIndex (exclusive), atomically.
+     * @param fromIndex index of first element to be removed.
+     * @param toIndex index after last element to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        long stamp = directory.writeLock();
+        try {
+            if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+            System.arraycopy(elementData, toIndex, elementData, fromIndex, size - toIndex);
+            int newSize = size - (toIndex - fromIndex);
+            for(int i = newSize; i < size; i++){
+                elementData[i] = null;
+            }
+            size = newSize;
+            modCount++;
+        } finally {
+            directory.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method that removes all the elements inside the list, atomically.
+     */
+    @Override
+    public void clear() {
+        long stamp = directory.writeLock();
+        try {
+            for(int i = 0; i < size; i++){
+                elementData[i] = null;
+            }
+            size = 0;
+            modCount++;
+        } finally {
+            directory.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for the removal of all the elements contained in the specified collection, atomically.
+     * @param coll collection that defines which elements will be removed from this list.
+     * @throws NullPointerException if coll == null
+     * @return true if there was a deletion, false otherwise
+     */
+    @Override
+    public boolean removeAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        return batchRemove(new ListAdapter.Membership(coll), false);
+    }
+
+    /**
+     * Method for the removal of all the elements which aren't contained in the specified collection, atomically.
+     * @param coll collection that defines which elements this list will retain.
+     * @throws NullPointerException if coll == null
+     * @return true if at least one element is removed, false otherwise
+     */
+    @Override
+    public boolean retainAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        return batchRemove(new ListAdapter.Membership(coll), true);
+    }
+
+    /**
+     * Method that removes all the elements contained (or not contained) in a snapshot of a collection, compacting the array
+     * with a single pass while the write lock of the directory is held. The snapshot is taken before the lock, so the
+     * collection may be this list.
+     * @param membership the elements to test
+     * @param retain if true the elements contained in membership are kept, otherwise they are removed
+     * @return true if at least one element is removed, false otherwise
+     */
+    private boolean batchRemove(ListAdapter.Membership membership, boolean retain){
+        long stamp = directory.writeLock();
+        try {
+            int write = 0;
+            for(int read = 0; read < size; read++){
+                Object current = elementData[read];
+                if(membership.contains(current) == retain) elementData[write++] = current;
+            }
+            if(write == size) return false;
+            for(int i = write; i < size; i++){
+                elementData[i] = null;
+            }
+            size = write;
+            modCount++;
+            return true;
+        } finally {
+            directory.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method that searches an element between fromIndex (inclusive) and toIndex (exclusive), while a lock of the directory
+     * is held. Every segment is scanned with the read lock of its stripe.
+     * @param obj element to search for
+     * @param fromIndex index of the first element to search
+     * @param toIndex index after the last element to search
+     * @return the index of the first occurrence of obj, -1 if obj isn't inside the range
+     */
+    private int find(Object obj, int fromIndex, int toIndex){
+        for(int segment = fromIndex; segment < toIndex; ){
+            int end = Math.min(toIndex, ((segment >>> SEGMENT_SHIFT) + 1) << SEGMENT_SHIFT);
+            StampedLock stripe = stripe(segment);
+            long stamp = stripe.readLock();
+            try {
+                for(int i = segment; i < end; i++){
+                    Object current = elementData[i];
+                    if(obj == null ? current == null : obj.equals(current)) return i;
+                }
+            } finally {
+                stripe.unlockRead(stamp);
+            }
+            segment = end;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element
+     * @param obj element to search for.
+     * @return the index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int indexOf(Object obj) {
+        long stamp = directory.readLock();
+        try {
+            return find(obj, 0, size);
+        } finally {
+            directory.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified element. Every segment is scanned with the read lock of its stripe.
+     * @param obj element to search for.
+     * @return the last index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int lastIndexOf(Object obj) {
+        long directoryStamp = directory.readLock();
+        try {
+            for(int end = size; end > 0; ){
+                int segment = ((end - 1) >>> SEGMENT_SHIFT) << SEGMENT_SHIFT;
+                StampedLock stripe = stripe(segment);
+                long stamp = stripe.readLock();
+                try {
+                    for(int i = end - 1; i >= segment; i--){
+                        Object current = elementData[i];
+                        if(obj == null ? current == null : obj.equals(current)) return i;
+                    }
+                } finally {
+                    stripe.unlockRead(stamp);
+                }
+                end = segment;
+            }
+            return -1;
+        } finally {
+            directory.unlockRead(directoryStamp);
+        }
+    }
+
+    /**
+     * Method that returns an Object[] which contains all the elements of the list. The structure of the list can't change
+     * during the copy, and every segment is copied with the read lock of its stripe.
+     * @return a new Object[] that contains a copy of all the elements of the list
+     */
+    @Override
+    public Object[] toArray() {
+        long directoryStamp = directory.readLock();
+        try {
+            Object[] toReturn = new Object[size];
+            for(int segment = 0; segment < size; segment += 1 << SEGMENT_SHIFT){
+                StampedLock stripe = stripe(segment);
+                long stamp = stripe.readLock();
+                try {
+                    System.arraycopy(elementData, segment, toReturn, segment, Math.min(1 << SEGMENT_SHIFT, size - segment));
+                } finally {
+                    stripe.unlockRead(stamp);
+                }
+            }
+            return toReturn;
+        } finally {
+            directory.unlockRead(directoryStamp);
+        }
+    }
+
+    /**
+     * Method that copies all the elements of the list inside a specified array. The elements are copied from a snapshot
+     * taken with toArray().
+     * @param arrayTarget the array into which the elements of this list are to be
+     *                    stored, if it is big enough (nulls are added for filling the remaining space);
+     *                    otherwise, a new array of the same size is allocated for this purpose.
+     * @throws NullPointerException if arrayTarget == null;
+     * @return a new array if arrayTarget.length < size(), arrayTarget otherwise
+     */
+    @Override
+    public Object[] toArray(Object[] arrayTarget) {
+        if(arrayTarget == null) throw new NullPointerException();
+        Object[] snapshot = toArray();
+        if(arrayTarget.length < snapshot.length) return snapshot;
+        System.arraycopy(snapshot, 0, arrayTarget, 0, snapshot.length);
+        for(int i = snapshot.length; i < arrayTarget.length; i++){
+            arrayTarget[i] = null;
+        }
+        return arrayTarget;
+    }
+}
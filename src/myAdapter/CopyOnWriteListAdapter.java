@@ -0,0 +1,648 @@
+package myAdapter;
+
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe list in which every change creates a new copy of the array of the elements, for lists which are read
+ * much more often than they are changed.
+ * <br><br>
+ * The elements are stored in an array which is never changed after it has been published: the readers read the volatile
+ * reference of the current array and never take a lock. The writers take a lock, copy the array with the change and publish
+ * the copy. The bulk operations (addAll, removeAll, retainAll, clear) make a single copy.
+ * <br><br>
+ * The iterators traverse the array which was current when they were created, so they never throw
+ * ConcurrentModificationException and they don't see the following changes; they don't support remove, set and add.
+ * <br>
+ * The views returned by subList() read without locks the array which was current when they were created (or changed
+ * through the view the last time). If the list has been changed in another way, every method of the view throws
+ * ConcurrentModificationException, like the views of java.util.concurrent.CopyOnWriteArrayList.
+ *
+ * @see myAdapter.HList
+ * @author Andrea Stocco
+ */
+public class CopyOnWriteListAdapter extends AbstractHList {
+
+    private static final Object[] EMPTY = new Object[0];
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Object[] array;
+
+    /**
+     * Void constructor (no arguments), it creates an empty list.
+     */
+    public CopyOnWriteListAdapter() {
+        array = EMPTY;
+    }
+
+    /**
+     * Constructor which creates a list that contains the elements of the specified collection, in the order of its iterator.
+     * @param coll the collection whose elements are copied in the list
+     * @throws NullPointerException if coll == null
+     */
+    public CopyOnWriteListAdapter(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        array = coll.toArray();
+    }
+
+    /**
+     * Method that calculates the size of the list
+     * @return the size of the current array
+     */
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    /**
+     * Method for inspecting the element in a specified position in the current array, without locks
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element in that position
+     */
+    @Override
+    public Object get(int index) {
+        Object[] current = array;
+        if(index < 0 || index >= current.length) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+        return current[index];
+    }
+
+    /**
+     * Method for replacing an element in a specified position with a new one, publishing a new array
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element that has been replaced
+     */
+    @Override
+    public Object set(int index, Object element) {
+        lock.lock();
+        try {
+            Object[] current = array;
+            if(index < 0 || index >= current.length) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+            Object toReturn = current[index];
+            Object[] copy = current.clone();
+            copy[index] = element;
+            array = copy;
+            return toReturn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method for inserting an element in a specified position, publishing a new array
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     */
+    @Override
+    public void add(int index, Object element) {
+        lock.lock();
+        try {
+            Object[] current = array;
+            if(index < 0 || index > current.length) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+            Object[] copy = new Object[current.length + 1];
+            System.arraycopy(current, 0, copy, 0, index);
+            copy[index] = element;
+            System.arraycopy(current, index, copy, index + 1, current.length - index);
+            array = copy;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method for inserting all the elements of a specified collection in a specific position, publishing a single new array
+     * @param index index at which to insert first element from the specified collection.
+     * @param coll elements to be inserted into this list.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(int index, HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        lock.lock();
+        try {
+            Object[] current = array;
+            if(index < 0 || index > current.length) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+            if(elements.length == 0) return false;
+            Object[] copy = new Object[current.length + elements.length];
+            System.arraycopy(current, 0, copy, 0, index);
+            System.arraycopy(elements, 0, copy, index, elements.length);
+            System.arraycopy(current, index, copy, index + elements.length, current.length - index);
+            array = copy;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method for appending an entire collection to the list, publishing a single new array
+     * @param coll collection whose elements are to be added to this list.
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        if(elements.length == 0) return false;
+        lock.lock();
+        try {
+            Object[] current = array;
+            Object[] copy = new Object[current.length + elements.length];
+            System.arraycopy(current, 0, copy, 0, current.length);
+            System.arraycopy(elements, 0, copy, current.length, elements.length);
+            array = copy;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method for removing an element specified by his index, publishing a new array
+     * @param index the index of the element to removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the object that has been removed
+     */
+    @Override
+    public Object remove(int index) {
+        lock.lock();
+        try {
+            Object[] current = array;
+            if(index < 0 || index >= current.length) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+            Object toReturn = current[index];
+            array = without(current, index, index + 1);
+            return toReturn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method for removing the first occurrence of the specified element, publishing a new array if it is found
+     * @param obj element to be removed from this list, if present.
+     * @return true if an element is removed, false otherwise
+     */
+    @Override
+    public boolean remove(Object obj) {
+        lock.lock();
+        try {
+            Object[] current = array;
+            int index = indexOf(current, obj, 0, current.length);
+            if(index < 0) return false;
+            array = without(current, index, index + 1);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method for removing all the elements whose index is between fromIndex (inclusive) and toIndex (exclusive),
+     * publishing a single new array
+     * @param fromIndex index of first element to be removed.
+     * @param toIndex index after last element to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        lock.lock();
+        try {
+            Object[] current = array;
+            if(fromIndex < 0 || toIndex > current.length || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+            if(fromIndex != toIndex) array = without(current, fromIndex, toIndex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method that removes all the elements inside the list, publishing an empty array
+     */
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            array = EMPTY;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method for the removal of all the elements contained in the specified collection, publishing a single new array
+     * @param coll collection that defines which elements will be removed from this list.
+     * @throws NullPointerException if coll == null
+     * @return true if there was a deletion, false otherwise
+     */
+    @Override
+    public boolean removeAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        return batchRemove(new ListAdapter.Membership(coll), false);
+    }
+
+    /**
+     * Method for the removal of all the elements which aren't contained in the specified collection, publishing a single
+     * new array
+     * @param coll collection that defines which elements this list will retain.
+     * @throws NullPointerException if coll == null
+     * @return true if at least one element is removed, false otherwise
+     */
+    @Override
+    public boolean retainAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        return batchRemove(new ListAdapter.Membership(coll), true);
+    }
+
+    /**
+     * Method that publishes a copy of the array without the elements contained (or not contained) in a snapshot of a collection.
+     * <br><br>
+     * A first pass tests every element once and marks the ones to keep in a bitmap (one bit per element), so the new array
+     * is allocated only once, with the exact number of kept elements, and filled by a second pass over the bitmap.
+     * @param membership the elements to test
+     * @param retain if true the elements contained in membership are kept, otherwise they are removed
+     * @return true if at least one element is removed, false otherwise
+     */
+    private boolean batchRemove(ListAdapter.Membership membership, boolean retain){
+        lock.lock();
+        try {
+            Object[] current = array;
+            long[] kept = new long[(current.length + 63) >>> 6];
+            int count = 0;
+            for(int i = 0; i < current.length; i++){
+                if(membership.contains(current[i]) == retain){
+                    kept[i >>> 6] |= 1L << i;
+                    count++;
+                }
+            }
+            if(count == current.length) return false;
+            Object[] copy = new Object[count];
+            int write = 0;
+            for(int i = 0; i < current.length; i++){
+                if((kept[i >>> 6] & (1L << i)) != 0) copy[write++] = current[i];
+            }
+            array = copy;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Method that creates a copy of an array without the elements between fromIndex (inclusive) and toIndex (exclusive)
+     * @param current the array to copy
+     * @param fromIndex index of the first element to leave out
+     * @param toIndex index after the last element to leave out
+     * @return the new array
+     */
+    private static Object[] without(Object[] current, int fromIndex, int toIndex){
+        Object[] copy = new Object[current.length - (toIndex - fromIndex)];
+        System.arraycopy(current, 0, copy, 0, fromIndex);
+        System.arraycopy(current, toIndex, copy, fromIndex, current.length - toIndex);
+        return copy;
+    }
+
+    /**
+     * Method that finds the first occurrence of an element between fromIndex (inclusive) and toIndex (exclusive) of an array
+     * @param current the array to search
+     * @param obj element to search for
+     * @param fromIndex index of the first element to search
+     * @param toIndex index after the last element to search
+     * @return the index of the first occurrence of obj, -1 if obj isn't inside the range
+     */
+    private static int indexOf(Object[] current, Object obj, int fromIndex, int toIndex){
+        for(int i = fromIndex; i < toIndex; i++){
+            if(obj == null ? current[i] == null : obj.equals(current[i])) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that finds the last occurrence of an element between fromIndex (inclusive) and toIndex (exclusive) of an array
+     * @param current the array to search
+     * @param obj element to search for
+     * @param fromIndex index of the first element to search
+     * @param toIndex index after the last element to search
+     * @return the index of the last occurrence of obj, -1 if obj isn't inside the range
+     */
+    private static int lastIndexOf(Object[] current, Object obj, int fromIndex, int toIndex){
+        for(int i = toIndex - 1; i >= fromIndex; i--){
+            if(obj == null ? current[i] == null : obj.equals(current[i])) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element in the current array
+     * @param obj element to search for.
+     * @return the index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int indexOf(Object obj) {
+        Object[] current = array;
+        return indexOf(current, obj, 0, current.length);
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified element in the current array
+     * @param obj element to search for.
+     * @return the last index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int lastIndexOf(Object obj) {
+        Object[] current = array;
+        return lastIndexOf(current, obj, 0, current.length);
+    }
+
+    /**
+     * Method that returns an Object[] which contains all the elements of the current array.
+     * @return a new Object[] that contains a copy of all the elements of the list
+     */
+    @Override
+    public Object[] toArray() {
+        return array.clone();
+    }
+
+    /**
+     * Method that copies all the elements of the current array inside a specified array
+     * @param arrayTarget the array into which the elements of this list are to be
+     *                    stored, if it is big enough (nulls are added for filling the remaining space);
+     *                    otherwise, a new array of the same size is allocated for this purpose.
+     * @throws NullPointerException if arrayTarget == null;
+     * @return a new array if arrayTarget.length < size(), arrayTarget otherwise
+     */
+    @Override
+    public Object[] toArray(Object[] arrayTarget) {
+        if(arrayTarget == null) throw new NullPointerException();
+        Object[] current = array;
+        if(arrayTarget.length < current.length) return current.clone();
+        System.arraycopy(current, 0, arrayTarget, 0, current.length);
+        for(int i = current.length; i < arrayTarget.length; i++){
+            arrayTarget[i] = null;
+        }
+        return arrayTarget;
+    }
+
+    /**
+     * Method that returns an iterator over the current array, which doesn't see the following changes
+     * @return a new instance of HIterator, which doesn't support remove()
+     */
+    @Override
+    public HIterator iterator() {
+        return new SnapshotIterator(array, 0);
+    }
+
+    /**
+     * Method that returns a list iterator over the current array, pointing to the specified position
+     * @param index index of first element to be returned from the list iterator (by a call to the next method).
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @return a new instance of HListIterator, which doesn't support remove(), set() and add()
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        Object[] current = array;
+        if(index < 0 || index > current.length) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + current.length);
+        return new SnapshotIterator(current, index);
+    }
+
+    /**
+     * Method that creates a Spliterator over the current array, which doesn't see the following changes and splits without
+     * copying.
+     * @return a Spliterator over the elements of the list, which reports SIZED, SUBSIZED, ORDERED and IMMUTABLE
+     */
+    @Override
+    public Spliterator spliterator() {
+        return Spliterators.spliterator(array, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Method that performs an action for each element of the current array, without locks. The action can change the
+     * list, but it doesn't see the changes.
+     * @param action the action to perform for each element
+     * @throws NullPointerException if action == null
+     */
+    @Override
+    public void forEach(Consumer action) {
+        if(action == null) throw new NullPointerException();
+        for (Object element : array) {
+            action.accept(element);
+        }
+    }
+
+    /**
+     * Method for creating a view of a portion of this list, which reads the current array without locks
+     * @param fromIndex low endpoint (inclusive) of the subList.
+     * @param toIndex   high endpoint (exclusive) of the subList.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     * @return a view of the specified range within this list
+     */
+    @Override
+    public HList subList(int fromIndex, int toIndex) {
+        Object[] current = array;
+        if(fromIndex < 0 || toIndex > current.length || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        return new SnapshotSubList(this, current, fromIndex, toIndex);
+    }
+
+    /**
+     * List iterator over an array which is never changed, also used by the snapshot iterators of {@link StampedListAdapter}.
+     */
+    static class SnapshotIterator implements HListIterator {
+        private final Object[] snapshot;
+        private int cursor;
+
+        /**
+         * It creates a new listIterator over snapshot on the position specified by index.
+         * @param snapshot the array to traverse
+         * @param index where to place the new listIterator
+         */
+        public SnapshotIterator(Object[] snapshot, int index){
+            this.snapshot = snapshot;
+            this.cursor = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        @Override
+        public Object next() {
+            if(!hasNext()) throw new NoSuchElementException();
+            return snapshot[cursor++];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Object previous() {
+            if(!hasPrevious()) throw new NoSuchElementException();
+            return snapshot[--cursor];
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(Object obj) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(Object obj) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * View of a portion of a CopyOnWriteListAdapter. It remembers the array of the list which it expects to find: the
+     * reads use that array without locks, and the changes made through the view replace it with the new array. If the
+     * array of the list is a different one, the list has been changed in another way and every method throws
+     * ConcurrentModificationException.
+     */
+    private static class SnapshotSubList extends AbstractHList {
+        private final CopyOnWriteListAdapter root;
+        private final int offset;
+        private Object[] expected;
+        private int size;
+
+        /**
+         * It creates a new view of the specified range of root
+         * @param root the list which contains the elements of the view
+         * @param expected the current array of root
+         * @param fromIndex low endpoint (inclusive) of the view
+         * @param toIndex high endpoint (exclusive) of the view
+         */
+        public SnapshotSubList(CopyOnWriteListAdapter root, Object[] expected, int fromIndex, int toIndex){
+            this.root = root;
+            this.expected = expected;
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+        }
+
+        /**
+         * It returns the array of the view, checking that it is still the array of the list
+         * @return the array which contains the elements of the view
+         * @throws ConcurrentModificationException if the list has been changed without using this view
+         */
+        private Object[] checkedArray(){
+            Object[] current = root.array;
+            if(current != expected) throw new ConcurrentModificationException();
+            return current;
+        }
+
+        @Override
+        public int size() {
+            checkedArray();
+            return size;
+        }
+
+        @Override
+        public Object get(int index) {
+            Object[] current = checkedArray();
+            checkIndex(index);
+            return current[offset + index];
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            root.lock.lock();
+            try {
+                checkedArray();
+                checkIndex(index);
+                Object toReturn = root.set(offset + index, element);
+                expected = root.array;
+                return toReturn;
+            } finally {
+                root.lock.unlock();
+            }
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            root.lock.lock();
+            try {
+                checkedArray();
+                checkPositionIndex(index);
+                root.add(offset + index, element);
+                expected = root.array;
+                size++;
+            } finally {
+                root.lock.unlock();
+            }
+        }
+
+        @Override
+        public Object remove(int index) {
+            root.lock.lock();
+            try {
+                checkedArray();
+                checkIndex(index);
+                Object toReturn = root.remove(offset + index);
+                expected = root.array;
+                size--;
+                return toReturn;
+            } finally {
+                root.lock.unlock();
+            }
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            root.lock.lock();
+            try {
+                checkedArray();
+                if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+                root.removeRange(offset + fromIndex, offset + toIndex);
+                expected = root.array;
+                size -= toIndex - fromIndex;
+            } finally {
+                root.lock.unlock();
+            }
+        }
+
+        @Override
+        public int indexOf(Object obj) {
+            int index = CopyOnWriteListAdapter.indexOf(checkedArray(), obj, offset, offset + size);
+            return index < 0 ? -1 : index - offset;
+        }
+
+        @Override
+        public int lastIndexOf(Object obj) {
+            int index = CopyOnWriteListAdapter.lastIndexOf(checkedArray(), obj, offset, offset + size);
+            return index < 0 ? -1 : index - offset;
+        }
+
+        @Override
+        public Object[] toArray() {
+            Object[] toReturn = new Object[size];
+            System.arraycopy(checkedArray(), offset, toReturn, 0, size);
+            return toReturn;
+        }
+    }
+}
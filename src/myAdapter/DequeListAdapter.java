@@ -0,0 +1,391 @@
+package myAdapter;
+
+
+import java.util.Arrays;
+
+/**
+ * List stored in a circular array, which can be used as a double-ended queue: the insertions and the removals at both
+ * ends take amortized O(1) time, while remove(0) of {@link ListAdapter} shifts all the elements.
+ * <br><br>
+ * The elements are stored in an array whose length is a power of two, starting from the position head and wrapping
+ * around the end of the array: the element i is in the position (head + i) &amp; (length - 1), so get() and set() take
+ * O(1) time. An insertion or a removal in the middle shifts the elements of the shorter side only. When the array is full
+ * it is replaced with an array of double length, where the elements are copied in their order starting from the position 0.
+ * <br><br>
+ * Besides the methods of HList, the class has the methods of a deque: addFirst(), addLast(), pollFirst(), pollLast(),
+ * peekFirst() and peekLast(). The list can contain null, so pollFirst(), pollLast(), peekFirst() and peekLast() return null
+ * both when the list is empty and when the element is null: isEmpty() distinguishes the two cases.
+ * <br><br>
+ * The list isn't synchronized.
+ *
+ * @see myAdapter.HList
+ * @author Andrea Stocco
+ */
+public class DequeListAdapter extends AbstractHList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    /**
+     * Maximum length of the array, the greatest power of two which is a valid length
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Object[] elementData;
+    private int head;
+    private int size;
+
+    /**
+     * Void constructor (no arguments), it creates an empty list with capacity 16.
+     */
+    public DequeListAdapter() {
+        elementData = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Constructor which creates an empty list which can contain the specified number of elements without growing.
+     * @param initialCapacity the number of elements, rounded up to a power of two
+     * @throws IllegalArgumentException if initialCapacity < 0
+     */
+    public DequeListAdapter(int initialCapacity) {
+        if(initialCapacity < 0) throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        elementData = new Object[capacityFor(initialCapacity)];
+    }
+
+    /**
+     * Constructor which creates a list that contains the elements of the specified collection, in the order of its iterator.
+     * @param coll the collection whose elements are copied in the list
+     * @throws NullPointerException if coll == null
+     */
+    public DequeListAdapter(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        elementData = new Object[capacityFor(elements.length)];
+        System.arraycopy(elements, 0, elementData, 0, elements.length);
+        size = elements.length;
+    }
+
+    /**
+     * Method that calculates the length of an array which can contain a number of elements
+     * @param count the number of elements
+     * @throws IllegalStateException if count > 2^30
+     * @return the smallest power of two greater than or equal to count, at least 1
+     */
+    private static int capacityFor(int count){
+        if(count > MAX_CAPACITY) throw new IllegalStateException("List too large: " + count);
+        return count <= 1 ? 1 : Integer.highestOneBit(count - 1) << 1;
+    }
+
+    /**
+     * Method that finds the position of an element in the array
+     * @param index index of the element in the list
+     * @return the position in elementData
+     */
+    private int position(int index){
+        return (head + index) & (elementData.length - 1);
+    }
+
+    /**
+     * Method that grows the array if it can't contain the specified number of elements. The elements are copied in the new
+     * array in their order, starting from the position 0.
+     * @param minCapacity the number of elements
+     * @throws IllegalStateException if minCapacity > 2^30
+     */
+    private void ensureCapacity(int minCapacity){
+        if(minCapacity <= elementData.length) return;
+        Object[] grown = new Object[capacityFor(minCapacity)];
+        int first = Math.min(size, elementData.length - head);
+        System.arraycopy(elementData, head, grown, 0, first);
+        System.arraycopy(elementData, 0, grown, first, size - first);
+        elementData = grown;
+        head = 0;
+    }
+
+    /**
+     * Method that opens a gap of free slots in a specified position, shifting the shorter side of the list
+     * @param index the index of the first free slot
+     * @param count the number of free slots
+     */
+    private void openGap(int index, int count){
+        ensureCapacity(size + count);
+        int mask = elementData.length - 1;
+        if(index < size - index){
+            head = (head - count) & mask;
+            for(int i = 0; i < index; i++){
+                elementData[(head + i) & mask] = elementData[(head + i + count) & mask];
+            }
+        }else{
+            for(int i = size - 1; i >= index; i--){
+                elementData[(head + i + count) & mask] = elementData[(head + i) & mask];
+            }
+        }
+        size += count;
+        modCount++;
+    }
+
+    /**
+     * Method that removes the elements between fromIndex (inclusive) and toIndex (exclusive), shifting the shorter side of
+     * the list, and clears the slots which are left free
+     * @param fromIndex index of the first element to remove
+     * @param toIndex index after the last element to remove
+     */
+    private void closeGap(int fromIndex, int toIndex){
+        int count = toIndex - fromIndex, mask = elementData.length - 1;
+        if(fromIndex < size - toIndex){
+            for(int i = fromIndex - 1; i >= 0; i--){
+                elementData[(head + i + count) & mask] = elementData[(head + i) & mask];
+            }
+            for(int i = 0; i < count; i++){
+                elementData[(head + i) & mask] = null;
+            }
+            head = (head + count) & mask;
+        }else{
+            for(int i = toIndex; i < size; i++){
+                elementData[(head + i - count) & mask] = elementData[(head + i) & mask];
+            }
+            for(int i = size - count; i < size; i++){
+                elementData[(head + i) & mask] = null;
+            }
+        }
+        size -= count;
+        modCount++;
+    }
+
+    /**
+     * Method that calculates the size of the list
+     * @return the number of elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method for inspecting the element in a specified position, in O(1) time
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element in that position
+     */
+    @Override
+    public Object get(int index) {
+        checkIndex(index);
+        return elementData[position(index)];
+    }
+
+    /**
+     * Method for replacing an element in a specified position with a new one, in O(1) time
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element that has been replaced
+     */
+    @Override
+    public Object set(int index, Object element) {
+        checkIndex(index);
+        int position = position(index);
+        Object toReturn = elementData[position];
+        elementData[position] = element;
+        return toReturn;
+    }
+
+    /**
+     * Method for inserting an element in a specified position, shifting the elements of the shorter side
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     */
+    @Override
+    public void add(int index, Object element) {
+        checkPositionIndex(index);
+        openGap(index, 1);
+        elementData[position(index)] = element;
+    }
+
+    /**
+     * Method for appending an element to the list, in amortized O(1) time
+     * @param obj element to be appended to this list.
+     * @return true
+     */
+    @Override
+    public boolean add(Object obj) {
+        addLast(obj);
+        return true;
+    }
+
+    /**
+     * Method for inserting all the elements of a specified collection in a specific position, shifting the elements of
+     * the shorter side only once
+     * @param index index at which to insert first element from the specified collection.
+     * @param coll elements to be inserted into this list.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(int index, HCollection coll) {
+        checkPositionIndex(index);
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        if(elements.length == 0) return false;
+        openGap(index, elements.length);
+        for(int i = 0; i < elements.length; i++){
+            elementData[position(index + i)] = elements[i];
+        }
+        return true;
+    }
+
+    /**
+     * Method for appending an entire collection to the list
+     * @param coll collection whose elements are to be added to this list.
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(HCollection coll) {
+        return addAll(size, coll);
+    }
+
+    /**
+     * Method for removing an element specified by his index, shifting the elements of the shorter side
+     * @param index the index of the element to removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the object that has been removed
+     */
+    @Override
+    public Object remove(int index) {
+        checkIndex(index);
+        Object toReturn = elementData[position(index)];
+        closeGap(index, index + 1);
+        return toReturn;
+    }
+
+    /**
+     * Method for removing all the elements whose index is between fromIndex (inclusive) and toIndex (exclusive),
+     * shifting the elements of the shorter side only once
+     * @param fromIndex index of first element to be removed.
+     * @param toIndex index after last element to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        if(fromIndex < toIndex) closeGap(fromIndex, toIndex);
+    }
+
+    /**
+     * Method that removes all the elements inside the list. The capacity doesn't change.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(elementData, null);
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Method that inserts an element at the beginning of the list, in amortized O(1) time
+     * @param obj the element to insert
+     */
+    public void addFirst(Object obj) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & (elementData.length - 1);
+        elementData[head] = obj;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Method that appends an element at the end of the list, in amortized O(1) time
+     * @param obj the element to append
+     */
+    public void addLast(Object obj) {
+        ensureCapacity(size + 1);
+        elementData[position(size)] = obj;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Method that removes the first element of the list, in O(1) time
+     * @return the removed element, null if the list is empty
+     */
+    public Object pollFirst() {
+        if(size == 0) return null;
+        Object toReturn = elementData[head];
+        elementData[head] = null;
+        head = (head + 1) & (elementData.length - 1);
+        size--;
+        modCount++;
+        return toReturn;
+    }
+
+    /**
+     * Method that removes the last element of the list, in O(1) time
+     * @return the removed element, null if the list is empty
+     */
+    public Object pollLast() {
+        if(size == 0) return null;
+        int position = position(size - 1);
+        Object toReturn = elementData[position];
+        elementData[position] = null;
+        size--;
+        modCount++;
+        return toReturn;
+    }
+
+    /**
+     * Method for inspecting the first element of the list
+     * @return the first element, null if the list is empty
+     */
+    public Object peekFirst() {
+        return size == 0 ? null : elementData[head];
+    }
+
+    /**
+     * Method for inspecting the last element of the list
+     * @return the last element, null if the list is empty
+     */
+    public Object peekLast() {
+        return size == 0 ? null : elementData[position(size - 1)];
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element
+     * @param obj element to search for.
+     * @return the index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int indexOf(Object obj) {
+        for(int i = 0; i < size; i++){
+            Object current = elementData[position(i)];
+            if(obj == null ? current == null : obj.equals(current)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified element
+     * @param obj element to search for.
+     * @return the last index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int lastIndexOf(Object obj) {
+        for(int i = size - 1; i >= 0; i--){
+            Object current = elementData[position(i)];
+            if(obj == null ? current == null : obj.equals(current)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that returns an Object[] which contains all the elements of the list, copied with at most two array copies.
+     * @return a new Object[] that contains a copy of all the elements of the list
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] toReturn = new Object[size];
+        int first = Math.min(size, elementData.length - head);
+        System.arraycopy(elementData, head, toReturn, 0, first);
+        System.arraycopy(elementData, 0, toReturn, first, size - first);
+        return toReturn;
+    }
+}
@@ -0,0 +1,341 @@
+package myAdapter;
+
+
+import java.util.NoSuchElementException;
+
+/**
+ * List of {@code double} values stored in a {@code double[]}, without boxing.
+ * <br><br>
+ * The values are read and written by the allocation-free methods getDouble(), setDouble(), addDouble() and removeDouble(), and they
+ * are traversed by the primitive iterator returned by doubleIterator().
+ * <br><br>
+ * DoubleListAdapter implements HList too, so it can be used by the existing callers: the methods of HList box the values
+ * in {@link Double} objects. The elements passed to the methods of HList must be instances of {@link Double}, otherwise a
+ * ClassCastException (or a NullPointerException for null) is thrown. The searching methods simply don't find elements of
+ * other types.
+ * <br><br>
+ * Values are compared like {@link Double#equals(Object)} does: NaN is equal to itself and 0.0 is different from -0.0.
+ * <br><br>
+ * subList() returns a view that uses the boxing methods of HList.
+ *
+ * @see myAdapter.HList
+ * @see myAdapter.HDoubleIterator
+ * @author Andrea Stocco
+ */
+public class DoubleListAdapter extends AbstractHList {
+
+    /**
+     * Array which contains the values of the list. Only the first size slots are valid.
+     */
+    private double[] elements;
+    /**
+     * Number of values inside the list
+     */
+    private int size;
+
+    /**
+     * Void Constructor (no arguments).
+     * It creates an empty DoubleListAdapter.
+     */
+    public DoubleListAdapter() {
+        this(10);
+    }
+
+    /**
+     * Constructor which creates an empty DoubleListAdapter able to contain initialCapacity values without growing
+     * @param initialCapacity the initial capacity of the list
+     * @throws IllegalArgumentException if initialCapacity < 0
+     */
+    public DoubleListAdapter(int initialCapacity) {
+        if(initialCapacity < 0) throw new IllegalArgumentException();
+        elements = new double[initialCapacity];
+    }
+
+    /**
+     * Constructor which creates a new DoubleListAdapter with the same elements as its argument
+     * @param coll collection from which to take elements, they must be instances of Double
+     * @throws NullPointerException if coll == null or if it contains null
+     * @throws ClassCastException if coll contains an element which isn't a Double
+     */
+    public DoubleListAdapter(HCollection coll) {
+        this(coll.size());
+        addAll(coll);
+    }
+
+    /**
+     * Method that enlarges the array of the values, if it is necessary, to contain at least minCapacity values
+     * @param minCapacity the desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if(minCapacity <= elements.length) return;
+        double[] newElements = new double[Math.max(minCapacity, 2 * elements.length)];
+        System.arraycopy(elements, 0, newElements, 0, size);
+        elements = newElements;
+    }
+
+    /**
+     * Method that reduces the capacity of the list to its size
+     */
+    public void trimToSize() {
+        if(size < elements.length){
+            double[] newElements = new double[size];
+            System.arraycopy(elements, 0, newElements, 0, size);
+            elements = newElements;
+        }
+    }
+
+    /**
+     * Method that calculates the size of the list
+     * @return the size of the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method for inspecting the value in a specified position in the list
+     * @param index index of the value to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the value in that position
+     */
+    public double getDouble(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Method for replacing the value in a specified position with a new one
+     * @param index index of the value to replace.
+     * @param value value to be stored at the specified position.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the value that has been replaced
+     */
+    public double setDouble(int index, double value) {
+        checkIndex(index);
+        double toReturn = elements[index];
+        elements[index] = value;
+        return toReturn;
+    }
+
+    /**
+     * Method for adding a value at the end of the list
+     * @param value value to be appended to this list.
+     * @return always true
+     */
+    public boolean addDouble(double value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Method for inserting a value in a specified position
+     * @param index index at which the specified value is to be inserted.
+     * @param value value to be inserted.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     */
+    public void addDouble(int index, double value) {
+        checkPositionIndex(index);
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Method for removing the value in a specified position
+     * @param index the index of the value to be removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the value that has been removed
+     */
+    public double removeDouble(int index) {
+        checkIndex(index);
+        double toReturn = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return toReturn;
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified value
+     * @param value value to search for.
+     * @return the index of value in the list or -1 if the value isn't inside the list
+     */
+    public int indexOfDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        for(int i = 0; i < size; i++){
+            if(Double.doubleToLongBits(elements[i]) == bits) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified value
+     * @param value value to search for.
+     * @return the last index of value in the list or -1 if the value isn't inside the list
+     */
+    public int lastIndexOfDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        for(int i = size - 1; i >= 0; i--){
+            if(Double.doubleToLongBits(elements[i]) == bits) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that searches in the list the specified value
+     * @param value value whose presence in this list is to be tested.
+     * @return true if value is present at least one time, false otherwise
+     */
+    public boolean containsDouble(double value) {
+        return indexOfDouble(value) >= 0;
+    }
+
+    /**
+     * Method that returns a double[] which contains all the values of the list.
+     * @return a new double[] that contains a copy of all the values of the list
+     */
+    public double[] toDoubleArray() {
+        double[] toReturn = new double[size];
+        System.arraycopy(elements, 0, toReturn, 0, size);
+        return toReturn;
+    }
+
+    /**
+     * Method that returns a new iterator which returns the values of the list without boxing them
+     * @return a new instance of HDoubleIterator
+     */
+    public HDoubleIterator doubleIterator() {
+        return new DoubleListIterator();
+    }
+
+    /**
+     * Method that returns a new iterator over the values of the list
+     * @return a new instance of HDoubleIterator
+     */
+    @Override
+    public HIterator iterator() {
+        return doubleIterator();
+    }
+
+    /**
+     * Method for inspecting the element in a specified position in the list
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the value in that position, boxed in a Double
+     */
+    @Override
+    public Object get(int index) {
+        return Double.valueOf(getDouble(index));
+    }
+
+    /**
+     * Method for replacing an element in a specified position with a new one
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position, it must be a Double.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @throws ClassCastException if element isn't a Double
+     * @throws NullPointerException if element == null
+     * @return the value that has been replaced, boxed in a Double
+     */
+    @Override
+    public Object set(int index, Object element) {
+        return Double.valueOf(setDouble(index, (Double) element));
+    }
+
+    /**
+     * Method for inserting an element in a specified position
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted, it must be a Double.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @throws ClassCastException if element isn't a Double
+     * @throws NullPointerException if element == null
+     */
+    @Override
+    public void add(int index, Object element) {
+        addDouble(index, (Double) element);
+    }
+
+    /**
+     * Method for removing an element specified by his index
+     * @param index the index of the element to removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the value that has been removed, boxed in a Double
+     */
+    @Override
+    public Object remove(int index) {
+        return Double.valueOf(removeDouble(index));
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element
+     * @param obj element to search for.
+     * @return the index of obj in the list or -1 if obj isn't a Double inside the list
+     */
+    @Override
+    public int indexOf(Object obj) {
+        return obj instanceof Double ? indexOfDouble((Double) obj) : -1;
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified element
+     * @param obj element to search for.
+     * @return the last index of obj in the list or -1 if obj isn't a Double inside the list
+     */
+    @Override
+    public int lastIndexOf(Object obj) {
+        return obj instanceof Double ? lastIndexOfDouble((Double) obj) : -1;
+    }
+
+    /**
+     * Method for removing all the values whose index is between fromIndex (inclusive) and toIndex (exclusive)
+     * with a single shift of the following values.
+     * @param fromIndex index of first value to be removed.
+     * @param toIndex index after last value to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    /**
+     * Iterator which returns the values of the list in order without boxing them.
+     */
+    private class DoubleListIterator implements HDoubleIterator {
+        private int cursor;
+        private int lastReturned = -1;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public double nextDouble() {
+            if(cursor >= size) throw new NoSuchElementException();
+            lastReturned = cursor;
+            return elements[cursor++];
+        }
+
+        @Override
+        public Object next() {
+            return Double.valueOf(nextDouble());
+        }
+
+        @Override
+        public void remove() {
+            if(lastReturned < 0) throw new IllegalStateException();
+            removeDouble(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+        }
+    }
+}
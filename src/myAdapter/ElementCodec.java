@@ -0,0 +1,118 @@
+package myAdapter;
+
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codec which converts the elements of a list into sequences of bytes of variable length and vice versa.
+ * <br><br>
+ * The lists and the formats which use an ElementCodec store the length of every encoded element before its bytes, and they
+ * handle null elements by themselves: the methods of the codec never receive null.
+ * <br><br>
+ * The constants STRING, INTEGER, LONG, DOUBLE and BYTES are codecs for the most common element types.
+ *
+ * @see myAdapter.MappedListAdapter
+ * @see myAdapter.HListWriter
+ * @author Andrea Stocco
+ */
+public interface ElementCodec {
+
+    /**
+     * Converts an element into a sequence of bytes.
+     *
+     * @param element the element to encode, never null.
+     * @return the bytes which represent the element.
+     * @throws ClassCastException if the element can't be encoded by this codec.
+     */
+    byte[] encode(Object element);
+
+    /**
+     * Converts a sequence of bytes into an element. The bytes start at the position of the buffer, and the position
+     * of the buffer may be changed by this method.
+     *
+     * @param source the buffer which contains the bytes.
+     * @param length number of bytes of the element.
+     * @return the decoded element.
+     */
+    Object decode(ByteBuffer source, int length);
+
+    /**
+     * Codec for String elements, encoded in UTF-8.
+     */
+    ElementCodec STRING = new ElementCodec() {
+        @Override
+        public byte[] encode(Object element) {
+            return ((String) element).getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object decode(ByteBuffer source, int length) {
+            byte[] bytes = new byte[length];
+            source.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Codec for Integer elements, encoded in 4 bytes.
+     */
+    ElementCodec INTEGER = new ElementCodec() {
+        @Override
+        public byte[] encode(Object element) {
+            return ByteBuffer.allocate(Integer.BYTES).putInt((Integer) element).array();
+        }
+
+        @Override
+        public Object decode(ByteBuffer source, int length) {
+            return source.getInt();
+        }
+    };
+
+    /**
+     * Codec for Long elements, encoded in 8 bytes.
+     */
+    ElementCodec LONG = new ElementCodec() {
+        @Override
+        public byte[] encode(Object element) {
+            return ByteBuffer.allocate(Long.BYTES).putLong((Long) element).array();
+        }
+
+        @Override
+        public Object decode(ByteBuffer source, int length) {
+            return source.getLong();
+        }
+    };
+
+    /**
+     * Codec for Double elements, encoded in 8 bytes.
+     */
+    ElementCodec DOUBLE = new ElementCodec() {
+        @Override
+        public byte[] encode(Object element) {
+            return ByteBuffer.allocate(Double.BYTES).putDouble((Double) element).array();
+        }
+
+        @Override
+        public Object decode(ByteBuffer source, int length) {
+            return source.getDouble();
+        }
+    };
+
+    /**
+     * Codec for byte[] elements, stored unchanged. The arrays are not copied when they are encoded.
+     */
+    ElementCodec BYTES = new ElementCodec() {
+        @Override
+        public byte[] encode(Object element) {
+            return (byte[]) element;
+        }
+
+        @Override
+        public Object decode(ByteBuffer source, int length) {
+            byte[] bytes = new byte[length];
+            source.get(bytes);
+            return bytes;
+        }
+    };
+}
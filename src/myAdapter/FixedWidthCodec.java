@@ -0,0 +1,105 @@
+package myAdapter;
+
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec which converts the elements of a list into records of a fixed number of bytes and vice versa.
+ * <br><br>
+ * The methods use the absolute get and put methods of ByteBuffer: they must not change the position or the limit of the
+ * buffer, and they must not read or write more than width() bytes starting from offset.
+ * <br><br>
+ * The constants INTEGER, LONG and DOUBLE are codecs for the boxed primitive types. They don't accept null.
+ *
+ * @see myAdapter.OffHeapListAdapter
+ * @author Andrea Stocco
+ */
+public interface FixedWidthCodec {
+
+    /**
+     * Returns the number of bytes of a record.
+     *
+     * @return the number of bytes used to store an element, always greater than 0.
+     */
+    int width();
+
+    /**
+     * Writes an element in the record which starts at the specified offset of the buffer.
+     *
+     * @param buffer the buffer which contains the record.
+     * @param offset index of the first byte of the record.
+     * @param element the element to write.
+     * @throws ClassCastException if the element can't be encoded by this codec.
+     * @throws NullPointerException if the element is null and the codec doesn't accept null.
+     */
+    void write(ByteBuffer buffer, int offset, Object element);
+
+    /**
+     * Reads the element stored in the record which starts at the specified offset of the buffer.
+     *
+     * @param buffer the buffer which contains the record.
+     * @param offset index of the first byte of the record.
+     * @return the element stored in the record.
+     */
+    Object read(ByteBuffer buffer, int offset);
+
+    /**
+     * Codec for Integer elements, stored in 4 bytes.
+     */
+    FixedWidthCodec INTEGER = new FixedWidthCodec() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Object element) {
+            buffer.putInt(offset, (Integer) element);
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * Codec for Long elements, stored in 8 bytes.
+     */
+    FixedWidthCodec LONG = new FixedWidthCodec() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Object element) {
+            buffer.putLong(offset, (Long) element);
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * Codec for Double elements, stored in 8 bytes.
+     */
+    FixedWidthCodec DOUBLE = new FixedWidthCodec() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Object element) {
+            buffer.putDouble(offset, (Double) element);
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+}
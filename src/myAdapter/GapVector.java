@@ -0,0 +1,260 @@
+package myAdapter;
+
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Gap buffer implementation of {@link myAdapter.Vector}.
+ *
+ * <p>
+ * The free slots of elementData are not kept at the end of the array but form a gap which is moved to the position of the
+ * last structural change. Elements before the gap are stored at their own index, elements after the gap are stored
+ * shifted by the length of the gap. An insertion or a removal only moves the elements between the gap and the edited
+ * position, so a run of edits around the same cursor costs amortized O(1) for each edit, while elementAt() and
+ * setElementAt() remain O(1).
+ *
+ * <p>
+ * A GapVector can be used as adaptee of a ListAdapter, for example
+ * {@code HList list = new ListAdapter(new GapVector());}
+ *
+ * @see myAdapter.Vector
+ * @see myAdapter.ListAdapter#ListAdapter(Vector)
+ * @author Andrea Stocco
+ */
+public class GapVector extends Vector {
+
+    /**
+     * Index of the first free slot of elementData. The gap ends (exclusive) at gapStart + gapLength().
+     */
+    private int gapStart;
+
+    public GapVector() {
+        super();
+    }
+
+    public GapVector(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    public GapVector(int initialCapacity, int capacityIncrement) {
+        super(initialCapacity, capacityIncrement);
+    }
+
+    /**
+     * Method that calculates the number of free slots
+     * @return the length of the gap
+     */
+    private int gapLength(){
+        return elementData.length - elementCount;
+    }
+
+    /**
+     * Method that translates the index of an element into its position inside elementData
+     * @param index index of the element
+     * @return the position of the element inside elementData
+     */
+    private int physical(int index){
+        return index < gapStart ? index : index + gapLength();
+    }
+
+    /**
+     * Method for moving the gap so that it starts at the specified index.
+     * Only the elements between the old and the new position of the gap are copied.
+     * @param index new starting index of the gap
+     */
+    private void moveGap(int index){
+        int gapLength = gapLength();
+        if(index < gapStart){
+            System.arraycopy(elementData, index, elementData, index + gapLength, gapStart - index);
+            Arrays.fill(elementData, index, Math.min(gapStart, index + gapLength), null);
+        }else if(index > gapStart){
+            int gapEnd = gapStart + gapLength;
+            System.arraycopy(elementData, gapEnd, elementData, gapStart, index - gapStart);
+            Arrays.fill(elementData, Math.max(gapEnd, index), index + gapLength, null);
+        }
+        gapStart = index;
+    }
+
+    @Override
+    public void addElement(Object obj){
+        insertElementAt(obj, elementCount);
+    }
+
+    @Override
+    public void copyInto(Object[] anArray){
+        System.arraycopy(elementData, 0, anArray, 0, gapStart);
+        System.arraycopy(elementData, gapStart + gapLength(), anArray, gapStart, elementCount - gapStart);
+    }
+
+    @Override
+    public void copyInto(int index, Object[] anArray, int offset, int length){
+        if(index < 0 || length < 0 || index + length > elementCount) throw new ArrayIndexOutOfBoundsException(index + length);
+        int before = Math.max(0, Math.min(length, gapStart - index));
+        System.arraycopy(elementData, index, anArray, offset, before);
+        System.arraycopy(elementData, physical(index + before), anArray, offset + before, length - before);
+    }
+
+    @Override
+    public Object elementAt(int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        return elementData[physical(index)];
+    }
+
+    /**
+     * Method that enlarges elementData keeping the gap at its current position
+     * @param minCapacity the desired minimum capacity
+     */
+    @Override
+    public void ensureCapacity(int minCapacity){
+        if(minCapacity <= elementData.length) return;
+        Object[] newData = new Object[grownCapacity(minCapacity)];
+        int tail = elementCount - gapStart;
+        System.arraycopy(elementData, 0, newData, 0, gapStart);
+        System.arraycopy(elementData, elementData.length - tail, newData, newData.length - tail, tail);
+        elementData = newData;
+    }
+
+    @Override
+    public int indexOf(Object elem, int index){
+        if(index < 0) throw new ArrayIndexOutOfBoundsException(index);
+        for(int i = index; i < elementCount; i++){
+            Object current = elementData[physical(i)];
+            if(elem == null ? current == null : elem.equals(current)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public void insertElementAt(Object obj, int index){
+        if(index < 0 || index > elementCount) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        ensureCapacity(elementCount + 1);
+        moveGap(index);
+        elementData[gapStart++] = obj;
+        elementCount++;
+    }
+
+    @Override
+    public void insertElementsAt(Object[] anArray, int index){
+        if(index < 0 || index > elementCount) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        ensureCapacity(elementCount + anArray.length);
+        moveGap(index);
+        System.arraycopy(anArray, 0, elementData, gapStart, anArray.length);
+        gapStart += anArray.length;
+        elementCount += anArray.length;
+    }
+
+    @Override
+    public int lastIndexOf(Object elem, int index){
+        if(index >= elementCount) throw new IndexOutOfBoundsException(index + " >= " + elementCount);
+        for(int i = index; i >= 0; i--){
+            Object current = elementData[physical(i)];
+            if(elem == null ? current == null : elem.equals(current)) return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public void removeAllElements(){
+        Arrays.fill(elementData, null);
+        elementCount = 0;
+        gapStart = 0;
+    }
+
+    @Override
+    public void removeElementAt(int index){
+        if(index < 0 || index >= elementCount) throw new ArrayIndexOutOfBoundsException(index);
+        moveGap(index);
+        elementData[gapStart + gapLength()] = null;
+        elementCount--;
+    }
+
+    @Override
+    public void removeRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        moveGap(fromIndex);
+        int gapEnd = gapStart + gapLength();
+        Arrays.fill(elementData, gapEnd, gapEnd + toIndex - fromIndex, null);
+        elementCount -= toIndex - fromIndex;
+    }
+
+    @Override
+    public void setElementAt(Object obj, int index){
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        elementData[physical(index)] = obj;
+    }
+
+    @Override
+    public void setSize(int newSize){
+        moveGap(elementCount);
+        super.setSize(newSize);
+        gapStart = elementCount;
+    }
+
+    /**
+     * Method that sorts the elements between fromIndex (inclusive) and toIndex (exclusive) in place. If the gap is inside
+     * the range, it is first moved to the nearer end of the range.
+     * @param fromIndex index of the first element to sort
+     * @param toIndex index after the last element to sort
+     * @param c the comparator of the elements, null for their natural ordering
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    public void sort(int fromIndex, int toIndex, Comparator c){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        if(fromIndex < gapStart && gapStart < toIndex){
+            moveGap(gapStart - fromIndex < toIndex - gapStart ? fromIndex : toIndex);
+        }
+        int start = physical(fromIndex);
+        Arrays.sort(elementData, start, start + toIndex - fromIndex, c);
+    }
+
+    /**
+     * Method that sorts in parallel the elements between fromIndex (inclusive) and toIndex (exclusive) in place. If the gap
+     * is inside the range, it is first moved to the nearer end of the range.
+     * @param fromIndex index of the first element to sort
+     * @param toIndex index after the last element to sort
+     * @param c the comparator of the elements, null for their natural ordering
+     * @param pool the pool which executes the sort
+     * @param threshold number of elements below which a piece is sorted sequentially
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    public void parallelSort(int fromIndex, int toIndex, Comparator c, ForkJoinPool pool, int threshold){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        if(fromIndex < gapStart && gapStart < toIndex){
+            moveGap(gapStart - fromIndex < toIndex - gapStart ? fromIndex : toIndex);
+        }
+        int start = physical(fromIndex);
+        ParallelMergeSort.sort(elementData, start, start + toIndex - fromIndex, c, pool, threshold);
+    }
+
+    /**
+     * Method that performs an action for each element between fromIndex (inclusive) and toIndex (exclusive), with a loop
+     * over the part of the range before the gap and one over the part after it. The gap isn't moved.
+     * @param fromIndex index of the first element
+     * @param toIndex index after the last element
+     * @param action the action to perform for each element
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    public void forEach(int fromIndex, int toIndex, Consumer action){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        Object[] data = elementData;
+        int split = Math.max(fromIndex, Math.min(toIndex, gapStart)), gapLength = gapLength();
+        for(int i = fromIndex; i < split; i++){
+            action.accept(data[i]);
+        }
+        for(int i = split + gapLength; i < toIndex + gapLength; i++){
+            action.accept(data[i]);
+        }
+    }
+
+    @Override
+    public void trimToSize(){
+        moveGap(elementCount);
+        super.trimToSize();
+    }
+}
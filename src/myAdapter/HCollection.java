@@ -1,5 +1,12 @@
 package myAdapter;
 
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * The root interface in the <i>collection hierarchy</i>. A collection
  * represents a group of objects, known as its <i>elements</i>, that can be
@@ -301,4 +308,59 @@ public interface HCollection {
      * @see Object#equals(Object)
      */
     int hashCode();
-}
\ No newline at end of file
+
+    /**
+     * Creates a Spliterator over the elements in this collection, so that the
+     * collection can be traversed by java.util.stream.
+     * <p>
+     *
+     * The default implementation wraps the iterator of the collection; it
+     * reports SIZED, and it splits by copying batches of elements into
+     * arrays. Implementations which can access their elements by index
+     * should override it with a spliterator that splits without copying.
+     *
+     * @return a Spliterator over the elements in this collection.
+     */
+    default Spliterator spliterator() {
+        return Spliterators.spliterator(new IteratorAdapter(iterator()), size(), 0);
+    }
+
+    /**
+     * Returns a sequential Stream with this collection as its source.
+     *
+     * @return a sequential Stream over the elements in this collection.
+     */
+    default Stream stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a possibly parallel Stream with this collection as its source.
+     *
+     * @return a possibly parallel Stream over the elements in this collection.
+     */
+    default Stream parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Performs the given action for each element of this collection, in the
+     * order of its iterator, until all the elements have been processed or
+     * the action throws an exception.
+     * <p>
+     *
+     * The default implementation calls the action for each element returned
+     * by the iterator. Implementations which store their elements in an array
+     * should override it with a single loop over the array.
+     *
+     * @param action the action to be performed for each element.
+     * @exception NullPointerException if the action is null.
+     */
+    default void forEach(Consumer action) {
+        if(action == null) throw new NullPointerException();
+        HIterator iterator = iterator();
+        while(iterator.hasNext()){
+            action.accept(iterator.next());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package myAdapter;
+
+/**
+ * An iterator over a collection of {@code double} values. It returns the values without boxing them through
+ * {@link #nextDouble()}; {@link #next()} returns the same values boxed in {@link Double}.
+ *
+ * @see myAdapter.HIterator
+ * @see myAdapter.DoubleListAdapter
+ * @author Andrea Stocco
+ */
+public interface HDoubleIterator extends HIterator {
+
+    /**
+     * Returns the next {@code double} value in the iteration.
+     *
+     * @return the next value in the iteration.
+     * @exception java.util.NoSuchElementException iteration has no more elements.
+     */
+    double nextDouble();
+}
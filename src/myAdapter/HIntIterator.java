@@ -0,0 +1,20 @@
+package myAdapter;
+
+/**
+ * An iterator over a collection of {@code int} values. It returns the values without boxing them through
+ * {@link #nextInt()}; {@link #next()} returns the same values boxed in {@link Integer}.
+ *
+ * @see myAdapter.HIterator
+ * @see myAdapter.IntListAdapter
+ * @author Andrea Stocco
+ */
+public interface HIntIterator extends HIterator {
+
+    /**
+     * Returns the next {@code int} value in the iteration.
+     *
+     * @return the next value in the iteration.
+     * @exception java.util.NoSuchElementException iteration has no more elements.
+     */
+    int nextInt();
+}
@@ -1,5 +1,8 @@
 package myAdapter;
 
+
+import java.util.function.Consumer;
+
 /**
  *  An iterator over a collection. Iterator takes the place of Enumeration in
  * the Java collections framework. Iterators differ from enumerations in two
@@ -42,4 +45,19 @@ public interface HIterator {
      *		  method.
      */
     void remove();
-}
\ No newline at end of file
+
+    /**
+     * Performs the given action for each remaining element, in the order of
+     * the iteration, until all the elements have been processed or the action
+     * throws an exception. After the call, hasNext returns false.
+     *
+     * @param action the action to be performed for each element.
+     * @exception NullPointerException if the action is null.
+     */
+    default void forEachRemaining(Consumer action) {
+        if(action == null) throw new NullPointerException();
+        while(hasNext()){
+            action.accept(next());
+        }
+    }
+}
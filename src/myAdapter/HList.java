@@ -1,5 +1,11 @@
 package myAdapter;
 
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
 /**
  * An ordered collection (also known as a <i>sequence</i>). The user of this
  * interface has precise control over where in the list each element is
@@ -415,4 +421,48 @@ public interface HList extends HCollection {
      *                                   fromIndex &gt; toIndex).
      */
     HList subList(int fromIndex, int toIndex);
+
+    /**
+     * Creates a Spliterator over the elements in this list, in proper sequence.
+     * <p>
+     *
+     * The default implementation wraps the iterator of the list, like the one of
+     * HCollection, and it reports SIZED and ORDERED. Implementations which can
+     * access their elements by index should override it with a spliterator that
+     * splits without copying.
+     *
+     * @return a Spliterator over the elements in this list.
+     */
+    default Spliterator spliterator() {
+        return Spliterators.spliterator(new IteratorAdapter(iterator()), size(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Sorts this list according to the order induced by the specified
+     * comparator. The sort is <i>stable</i>: equal elements will not be
+     * reordered as a result of the sort.
+     * <p>
+     *
+     * The default implementation copies the elements into an array with
+     * toArray(), sorts the array, and writes the elements back with the set
+     * method of a list iterator. Implementations which own their storage should
+     * override it to sort the elements in place.
+     *
+     * @param c the comparator used to compare the elements, null to use their
+     *          natural ordering.
+     *
+     * @throws ClassCastException            if the list contains elements that are
+     *                                       not <i>mutually comparable</i>.
+     * @throws UnsupportedOperationException if the set operation of the list
+     *                                       iterator is not supported.
+     */
+    default void sort(Comparator c) {
+        Object[] elements = toArray();
+        Arrays.sort(elements, c);
+        HListIterator iter = listIterator();
+        for (Object element : elements) {
+            iter.next();
+            iter.set(element);
+        }
+    }
 }
\ No newline at end of file
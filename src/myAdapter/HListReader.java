@@ -0,0 +1,206 @@
+package myAdapter;
+
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+
+/**
+ * Reader of the binary format of the lists written by {@link HListWriter}.
+ * <br><br>
+ * read() reads a whole list into a ListAdapter whose Vector is created with the size written in the header (at most
+ * 65536, the Vector grows if the list is larger), and the elements of every chunk are appended with a single
+ * insertElementsAt().
+ * <br>
+ * A list can also be read partially: nextList() reads the header of a list, then readChunk() appends the elements of the
+ * next chunk to a collection and skipChunk() skips the next chunk without decoding it. If the channel is a
+ * SeekableByteChannel the skipped chunks are not even read.
+ * <br><br>
+ * The records of a chunk are read from the channel in a single buffer, which is enlarged when a chunk doesn't fit. The
+ * buffer is enlarged while the bytes arrive, at most doubling at every step, so a length read from a corrupted channel can't
+ * allocate much more memory than the channel contains.
+ * <br><br>
+ * Every size and length read from the channel is checked: a list whose headers or records are inconsistent, or whose
+ * records are truncated, throws StreamCorruptedException.
+ *
+ * @see myAdapter.HListWriter
+ * @see myAdapter.ElementCodec
+ * @author Andrea Stocco
+ */
+public class HListReader {
+
+    /**
+     * Maximum initial capacity of the Vector created by read()
+     */
+    private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+    private final ReadableByteChannel channel;
+    private final ElementCodec codec;
+    private ByteBuffer buffer;
+    /**
+     * Number of elements of the current list which haven't been read or skipped yet
+     */
+    private int remaining;
+
+    /**
+     * Constructor which creates a reader with a buffer of 64KB.
+     * @param channel the channel where the lists are read
+     * @param codec the codec of the elements
+     * @throws NullPointerException if channel == null || codec == null
+     */
+    public HListReader(ReadableByteChannel channel, ElementCodec codec) {
+        if(channel == null || codec == null) throw new NullPointerException();
+        this.channel = channel;
+        this.codec = codec;
+        this.buffer = ByteBuffer.allocate(HListWriter.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Method that reads the header of the next list. The chunks of the current list which haven't been read are skipped.
+     * @return the number of elements of the list, or -1 if the channel doesn't contain other lists
+     * @throws IOException if the channel can't be read or it doesn't contain a list
+     */
+    public int nextList() throws IOException {
+        while(remaining > 0){
+            skipChunk();
+        }
+        if(!fill(HListWriter.LIST_HEADER, true)) return -1;
+        if(buffer.getInt() != HListWriter.MAGIC) throw new StreamCorruptedException("Not a list");
+        int version = buffer.getInt();
+        if(version != HListWriter.VERSION) throw new StreamCorruptedException("Unknown version: " + version);
+        remaining = buffer.getInt();
+        if(remaining < 0) throw new StreamCorruptedException("Illegal size: " + remaining);
+        return remaining;
+    }
+
+    /**
+     * Method that appends the elements of the next chunk of the current list to a collection, calling add() for every element.
+     * @param coll the collection where the elements are added
+     * @return the number of elements of the chunk, or 0 if all the elements of the current list have been read
+     * @throws IOException if the channel can't be read or it doesn't contain a valid chunk
+     * @throws NullPointerException if coll == null
+     */
+    public int readChunk(HCollection coll) throws IOException {
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = decodeChunk();
+        for(int i = 0; i < elements.length; i++){
+            coll.add(elements[i]);
+        }
+        return elements.length;
+    }
+
+    /**
+     * Method that skips the next chunk of the current list without decoding its elements.
+     * @return the number of elements of the chunk, or 0 if all the elements of the current list have been read
+     * @throws IOException if the channel can't be read or it doesn't contain a valid chunk
+     */
+    public int skipChunk() throws IOException {
+        if(remaining == 0) return 0;
+        int count = readChunkHeader();
+        int bytes = buffer.getInt();
+        if(bytes < 0) throw new StreamCorruptedException("Illegal chunk length: " + bytes);
+        if(channel instanceof SeekableByteChannel){
+            SeekableByteChannel seekable = (SeekableByteChannel) channel;
+            if(seekable.position() + bytes > seekable.size()) throw new EOFException();
+            seekable.position(seekable.position() + bytes);
+        }else{
+            fill(bytes, false);
+        }
+        return count;
+    }
+
+    /**
+     * Method that reads the next list of the channel.
+     * @return a ListAdapter which contains the elements of the list
+     * @throws IOException if the channel can't be read or it doesn't contain a list
+     * @throws EOFException if the channel doesn't contain other lists
+     */
+    public ListAdapter read() throws IOException {
+        int size = nextList();
+        if(size < 0) throw new EOFException();
+        Vector vector = new Vector(Math.min(size, MAX_INITIAL_CAPACITY));
+        while(remaining > 0){
+            vector.insertElementsAt(decodeChunk(), vector.size());
+        }
+        return new ListAdapter(vector);
+    }
+
+    /**
+     * Method that reads the header of the next chunk, leaving the number of bytes of the records in the buffer
+     * @return the number of elements of the chunk
+     * @throws IOException if the channel can't be read or the chunk isn't valid
+     */
+    private int readChunkHeader() throws IOException {
+        fill(HListWriter.CHUNK_HEADER, false);
+        int count = buffer.getInt();
+        if(count <= 0 || count > remaining) throw new StreamCorruptedException("Illegal chunk size: " + count);
+        remaining -= count;
+        return count;
+    }
+
+    /**
+     * Method that reads and decodes the next chunk of the current list
+     * @return the elements of the chunk, an empty array if all the elements of the current list have been read
+     * @throws IOException if the channel can't be read or it doesn't contain a valid chunk
+     */
+    private Object[] decodeChunk() throws IOException {
+        if(remaining == 0) return new Object[0];
+        int count = readChunkHeader();
+        int bytes = buffer.getInt();
+        fill(bytes, false);
+        Object[] elements = new Object[count];
+        int limit = buffer.limit();
+        for(int i = 0; i < count; i++){
+            if(buffer.remaining() < 4) throw new StreamCorruptedException("Truncated chunk");
+            int length = buffer.getInt();
+            if(length < -1 || length > buffer.remaining()) throw new StreamCorruptedException("Illegal record length: " + length);
+            if(length < 0) continue;
+            int next = buffer.position() + length;
+            buffer.limit(next);
+            try {
+                elements[i] = codec.decode(buffer, length);
+            } catch (BufferUnderflowException e) {
+                throw new StreamCorruptedException("Illegal record length: " + length);
+            } finally {
+                buffer.limit(limit);
+            }
+            buffer.position(next);
+        }
+        if(buffer.hasRemaining()) throw new StreamCorruptedException("Illegal chunk length: " + bytes);
+        return elements;
+    }
+
+    /**
+     * Method that reads the specified number of bytes in the buffer, which is ready to be read when the method returns.
+     * If the buffer is too small it is enlarged while the bytes arrive, at most doubling every time.
+     * @param length number of bytes to read
+     * @param allowEnd true if the end of the channel is allowed before the first byte
+     * @return false if allowEnd is true and the channel is ended, true otherwise
+     * @throws IOException if the channel can't be read
+     * @throws EOFException if the channel ends before length bytes have been read
+     */
+    private boolean fill(int length, boolean allowEnd) throws IOException {
+        if(length < 0) throw new StreamCorruptedException("Illegal length: " + length);
+        buffer.clear().limit(Math.min(length, buffer.capacity()));
+        for(;;){
+            while(buffer.hasRemaining()){
+                if(channel.read(buffer) < 0){
+                    if(allowEnd && buffer.position() == 0) return false;
+                    throw new EOFException();
+                }
+            }
+            if(buffer.position() == length) break;
+            ByteBuffer larger = ByteBuffer.allocate((int) Math.min(length, 2L * buffer.capacity()));
+            buffer.flip();
+            larger.put(buffer);
+            buffer = larger;
+            buffer.limit(buffer.capacity());
+        }
+        buffer.flip();
+        return true;
+    }
+}
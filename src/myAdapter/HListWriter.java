@@ -0,0 +1,145 @@
+package myAdapter;
+
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writer of the binary format of the lists, which is read by {@link HListReader}.
+ * <br><br>
+ * Every list written by write() is made of a header and of a sequence of chunks:
+ * <br>
+ * header: magic number (int), version (int), number of elements (int);
+ * <br>
+ * chunk: number of elements of the chunk (int), number of bytes of the records (int), records.
+ * <br>
+ * Every record is the length of the element encoded by an {@link ElementCodec} (an int, -1 for null) followed by the
+ * encoded bytes. All the numbers are big-endian.
+ * <br><br>
+ * A chunk contains the records which fit in the buffer of the writer, so the chunks are written to the channel with a
+ * single call and the headers of the chunks let the reader skip them without decoding their elements. A record larger
+ * than the buffer is written in a chunk of its own, enlarging the buffer. More lists can be written one after the other
+ * on the same channel.
+ *
+ * @see myAdapter.HListReader
+ * @see myAdapter.ElementCodec
+ * @author Andrea Stocco
+ */
+public class HListWriter {
+
+    static final int MAGIC = 0x484c5354; // "HLST"
+    static final int VERSION = 1;
+    static final int LIST_HEADER = 12;
+    static final int CHUNK_HEADER = 8;
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    private final WritableByteChannel channel;
+    private final ElementCodec codec;
+    private ByteBuffer buffer;
+    /**
+     * Position of the header of the current chunk inside the buffer
+     */
+    private int chunkStart;
+    /**
+     * Number of elements of the current chunk
+     */
+    private int chunkCount;
+
+    /**
+     * Constructor which creates a writer with a buffer of 64KB.
+     * @param channel the channel where the lists are written
+     * @param codec the codec of the elements
+     * @throws NullPointerException if channel == null || codec == null
+     */
+    public HListWriter(WritableByteChannel channel, ElementCodec codec) {
+        this(channel, codec, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor which creates a writer with a buffer of the specified size, which is the maximum size of a chunk.
+     * @param channel the channel where the lists are written
+     * @param codec the codec of the elements
+     * @param bufferSize the size of the buffer in bytes
+     * @throws NullPointerException if channel == null || codec == null
+     * @throws IllegalArgumentException if bufferSize < 20
+     */
+    public HListWriter(WritableByteChannel channel, ElementCodec codec, int bufferSize) {
+        if(channel == null || codec == null) throw new NullPointerException();
+        if(bufferSize < LIST_HEADER + CHUNK_HEADER) throw new IllegalArgumentException("Illegal buffer size: " + bufferSize);
+        this.channel = channel;
+        this.codec = codec;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    /**
+     * Method that writes all the elements of a collection, in the order of its iterator. When the method returns all the
+     * bytes have been written to the channel.
+     * @param coll the collection to write
+     * @throws IOException if the channel can't be written
+     * @throws NullPointerException if coll == null
+     * @throws ClassCastException if an element can't be encoded by the codec
+     * @throws IllegalStateException if the size of the collection is different from the number of elements returned by its iterator
+     */
+    public void write(HCollection coll) throws IOException {
+        int size = coll.size();
+        buffer.clear();
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(size);
+        startChunk();
+        int written = 0;
+        HIterator iterator = coll.iterator();
+        while(iterator.hasNext()){
+            Object element = iterator.next();
+            byte[] bytes = element == null ? null : codec.encode(element);
+            int length = bytes == null ? 0 : bytes.length;
+            if(buffer.remaining() < 4 + length && chunkCount > 0){
+                endChunk();
+                flush();
+                startChunk();
+            }
+            if(buffer.remaining() < 4 + length){
+                ByteBuffer larger = ByteBuffer.allocate(buffer.position() + 4 + length);
+                buffer.flip();
+                larger.put(buffer);
+                buffer = larger;
+            }
+            buffer.putInt(bytes == null ? -1 : length);
+            if(bytes != null) buffer.put(bytes);
+            chunkCount++;
+            written++;
+        }
+        if(written != size) throw new IllegalStateException("Expected " + size + " elements, found " + written);
+        if(chunkCount > 0) endChunk();
+        else buffer.position(chunkStart);
+        flush();
+    }
+
+    /**
+     * Method that reserves the space of the header of a new chunk in the buffer
+     */
+    private void startChunk(){
+        chunkStart = buffer.position();
+        chunkCount = 0;
+        buffer.position(chunkStart + CHUNK_HEADER);
+    }
+
+    /**
+     * Method that writes the header of the current chunk
+     */
+    private void endChunk(){
+        buffer.putInt(chunkStart, chunkCount);
+        buffer.putInt(chunkStart + 4, buffer.position() - chunkStart - CHUNK_HEADER);
+    }
+
+    /**
+     * Method that writes the content of the buffer to the channel and empties the buffer
+     * @throws IOException if the channel can't be written
+     */
+    private void flush() throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
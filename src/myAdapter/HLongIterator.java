@@ -0,0 +1,20 @@
+package myAdapter;
+
+/**
+ * An iterator over a collection of {@code long} values. It returns the values without boxing them through
+ * {@link #nextLong()}; {@link #next()} returns the same values boxed in {@link Long}.
+ *
+ * @see myAdapter.HIterator
+ * @see myAdapter.LongListAdapter
+ * @author Andrea Stocco
+ */
+public interface HLongIterator extends HIterator {
+
+    /**
+     * Returns the next {@code long} value in the iteration.
+     *
+     * @return the next value in the iteration.
+     * @exception java.util.NoSuchElementException iteration has no more elements.
+     */
+    long nextLong();
+}
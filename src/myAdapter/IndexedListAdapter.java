@@ -0,0 +1,627 @@
+package myAdapter;
+
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * List which keeps a hash index from every element to the positions where it is stored, so that contains(), indexOf(),
+ * lastIndexOf() and remove(Object) don't scan the list.
+ * <br><br>
+ * The elements are stored in a {@link Vector}. The index maps every element (null included) to the sorted array of its
+ * positions, so indexOf() returns the first position and lastIndexOf() the last one.
+ * <br>
+ * The index is updated in place by add(), remove(), set() and the range removals. An insertion or a removal in the
+ * middle of the list also shifts the stored positions which follow it: every array of positions is shifted from the
+ * first position after the change, with a binary search and a loop over the ints which follow, without allocations.
+ * Every array is visited, so an insertion or a removal in the middle costs O(d log n + m) time, where d is the number of
+ * distinct elements of the list and m the number of elements after the change: for lists of mostly distinct elements
+ * it is slower than the shift of the Vector itself. Appends and removals of the last element don't shift anything.
+ * The bulk operations which move most of the elements (removeAll(), retainAll(), sort()) mark the index as stale
+ * instead, and the index is rebuilt with a single scan of the list by the next lookup.
+ * <br><br>
+ * The views returned by subList() use the index of this list too: a lookup inside a view is a binary search in the
+ * positions of the element.
+ * <br><br>
+ * The index relies on equals() and hashCode() of the elements: an element must not be changed, in a way that changes
+ * its hashCode(), while it is stored in the list.
+ *
+ * @see myAdapter.HList
+ * @see myAdapter.ListAdapter
+ * @author Andrea Stocco
+ */
+public class IndexedListAdapter extends AbstractHList {
+
+    private final Vector list;
+    private final HashMap<Object, Positions> index = new HashMap<Object, Positions>();
+    /**
+     * true if the index contains the current positions of all the elements
+     */
+    private boolean indexValid = true;
+
+    /**
+     * Void constructor (no arguments), it creates an empty list.
+     */
+    public IndexedListAdapter() {
+        list = new Vector();
+    }
+
+    /**
+     * Constructor which creates a list that contains the elements of the specified collection, in the order of its iterator.
+     * @param coll the collection whose elements are copied in the list
+     * @throws NullPointerException if coll == null
+     */
+    public IndexedListAdapter(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        list = new Vector(elements.length);
+        list.insertElementsAt(elements, 0);
+        indexValid = false;
+    }
+
+    /**
+     * Method that rebuilds the index if it is stale
+     */
+    private void ensureIndex(){
+        if(indexValid) return;
+        index.clear();
+        int size = list.size();
+        for(int i = 0; i < size; i++){
+            indexAppend(list.elementAt(i), i);
+        }
+        indexValid = true;
+    }
+
+    /**
+     * Method that adds a position to the positions of an element, when it is greater than all the others
+     * @param element the element
+     * @param position the position of the element
+     */
+    private void indexAppend(Object element, int position){
+        Positions positions = index.get(element);
+        if(positions == null){
+            positions = new Positions();
+            index.put(element, positions);
+        }
+        positions.append(position);
+    }
+
+    /**
+     * Method that adds a position to the positions of an element, keeping them sorted
+     * @param element the element
+     * @param position the position of the element
+     */
+    private void indexInsert(Object element, int position){
+        Positions positions = index.get(element);
+        if(positions == null){
+            positions = new Positions();
+            index.put(element, positions);
+        }
+        positions.insert(position);
+    }
+
+    /**
+     * Method that shifts all the stored positions greater than or equal to a specified one, after an insertion or a removal.
+     * It visits the positions of every distinct element, so it takes O(d log n + m) time.
+     * @param position the first position to shift
+     * @param delta the number of inserted (positive) or removed (negative) elements
+     */
+    private void indexShift(int position, int delta){
+        if(position >= list.size() - delta) return;
+        for (Positions positions : index.values()) {
+            positions.shift(position, delta);
+        }
+    }
+
+    /**
+     * Method that removes a position from the positions of an element
+     * @param element the element
+     * @param position the position to remove
+     */
+    private void indexRemove(Object element, int position){
+        Positions positions = index.get(element);
+        positions.remove(position);
+        if(positions.count == 0) index.remove(element);
+    }
+
+    /**
+     * Method that finds the first position of an element between fromIndex (inclusive) and toIndex (exclusive)
+     * @param obj the element to search for
+     * @param fromIndex low endpoint (inclusive) of the range
+     * @param toIndex high endpoint (exclusive) of the range
+     * @return the first position of obj inside the range, -1 if obj isn't inside the range
+     */
+    int indexOf(Object obj, int fromIndex, int toIndex){
+        ensureIndex();
+        Positions positions = index.get(obj);
+        if(positions == null) return -1;
+        int i = positions.search(fromIndex);
+        if(i < positions.count && positions.data[i] < toIndex) return positions.data[i];
+        return -1;
+    }
+
+    /**
+     * Method that finds the last position of an element between fromIndex (inclusive) and toIndex (exclusive)
+     * @param obj the element to search for
+     * @param fromIndex low endpoint (inclusive) of the range
+     * @param toIndex high endpoint (exclusive) of the range
+     * @return the last position of obj inside the range, -1 if obj isn't inside the range
+     */
+    int lastIndexOf(Object obj, int fromIndex, int toIndex){
+        ensureIndex();
+        Positions positions = index.get(obj);
+        if(positions == null) return -1;
+        int i = positions.search(toIndex) - 1;
+        if(i >= 0 && positions.data[i] >= fromIndex) return positions.data[i];
+        return -1;
+    }
+
+    /**
+     * Method that calculates the size of the list
+     * @return the size of the list
+     */
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    /**
+     * Method for inspecting the element in a specified position in the list
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element in that position
+     */
+    @Override
+    public Object get(int index) {
+        checkIndex(index);
+        return list.elementAt(index);
+    }
+
+    /**
+     * Method for replacing an element in a specified position with a new one. The index is updated in place.
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element that has been replaced
+     */
+    @Override
+    public Object set(int index, Object element) {
+        checkIndex(index);
+        Object toReturn = list.elementAt(index);
+        list.setElementAt(element, index);
+        if(indexValid){
+            indexRemove(toReturn, index);
+            indexInsert(element, index);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Method for inserting an element in a specified position. The index is updated in place: the positions of the
+     * following elements are shifted.
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     */
+    @Override
+    public void add(int index, Object element) {
+        checkPositionIndex(index);
+        if(index == list.size()){
+            list.addElement(element);
+            if(indexValid) indexAppend(element, index);
+        }else{
+            list.insertElementAt(element, index);
+            if(indexValid){
+                indexShift(index, 1);
+                indexInsert(element, index);
+            }
+        }
+        modCount++;
+    }
+
+    /**
+     * Method for inserting all the elements of a specified collection in a specific position. The index is updated in
+     * place: the positions of the following elements are shifted once.
+     * @param index index at which to insert first element from the specified collection.
+     * @param coll elements to be inserted into this list.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(int index, HCollection coll) {
+        checkPositionIndex(index);
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        if(elements.length == 0) return false;
+        int size = list.size();
+        list.insertElementsAt(elements, index);
+        modCount++;
+        if(!indexValid) return true;
+        if(index == size){
+            for(int i = 0; i < elements.length; i++){
+                indexAppend(elements[i], size + i);
+            }
+        }else{
+            indexShift(index, elements.length);
+            for(int i = 0; i < elements.length; i++){
+                indexInsert(elements[i], index + i);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method for removing an element specified by his index. The index is updated in place: the positions of the
+     * following elements are shifted.
+     * @param index the index of the element to removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the object that has been removed
+     */
+    @Override
+    public Object remove(int index) {
+        checkIndex(index);
+        Object toReturn = list.elementAt(index);
+        list.removeElementAt(index);
+        modCount++;
+        if(indexValid){
+            indexRemove(toReturn, index);
+            indexShift(index + 1, -1);
+        }
+        return toReturn;
+    }
+
+    /**
+     * Method for removing all the elements whose index is between fromIndex (inclusive) and toIndex (exclusive). The index
+     * is updated in place: the positions of the following elements are shifted once.
+     * @param fromIndex index of first element to be removed.
+     * @param toIndex index after last element to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        if(fromIndex == 0 && toIndex == list.size()){
+            index.clear();
+            indexValid = true;
+        }else if(indexValid){
+            for(int i = toIndex - 1; i >= fromIndex; i--){
+                indexRemove(list.elementAt(i), i);
+            }
+        }
+        list.removeRange(fromIndex, toIndex);
+        modCount++;
+        if(indexValid) indexShift(toIndex, fromIndex - toIndex);
+    }
+
+    /**
+     * Method for the removal of all the elements contained in the specified collection. The list is compacted with a single
+     * pass and the index is rebuilt by the next lookup.
+     * @param coll collection that defines which elements will be removed from this list.
+     * @throws NullPointerException if coll == null
+     * @return true if there was a deletion, false otherwise
+     */
+    @Override
+    public boolean removeAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        return batchRemove(new ListAdapter.Membership(coll), false);
+    }
+
+    /**
+     * Method for the removal of all the elements which aren't contained in the specified collection. The list is compacted
+     * with a single pass and the index is rebuilt by the next lookup.
+     * @param coll collection that defines which elements this list will retain.
+     * @throws NullPointerException if coll == null
+     * @return true if at least one element is removed, false otherwise
+     */
+    @Override
+    public boolean retainAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        return batchRemove(new ListAdapter.Membership(coll), true);
+    }
+
+    /**
+     * Method that removes from the list all the elements contained (or not contained) in the specified membership,
+     * compacting the Vector with a single pass. The membership is a snapshot of the collection, so it may be this list or
+     * one of its views.
+     * @param membership the elements to test
+     * @param retain if true the elements contained in membership are kept, otherwise they are removed
+     * @return true if at least one element is removed, false otherwise
+     */
+    private boolean batchRemove(ListAdapter.Membership membership, boolean retain){
+        int size = list.size();
+        int write = 0;
+        for(int read = 0; read < size; read++){
+            Object current = list.elementAt(read);
+            if(membership.contains(current) == retain){
+                if(write != read) list.setElementAt(current, write);
+                write++;
+            }
+        }
+        if(write == size) return false;
+        list.removeRange(write, size);
+        modCount++;
+        indexValid = false;
+        return true;
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element through the index
+     * @param obj element to search for.
+     * @return the index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int indexOf(Object obj) {
+        ensureIndex();
+        Positions positions = index.get(obj);
+        return positions == null ? -1 : positions.data[0];
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified element through the index
+     * @param obj element to search for.
+     * @return the last index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int lastIndexOf(Object obj) {
+        ensureIndex();
+        Positions positions = index.get(obj);
+        return positions == null ? -1 : positions.data[positions.count - 1];
+    }
+
+    /**
+     * Method that searches in the list the specified element through the index
+     * @param obj element whose presence in this list is to be tested.
+     * @return true if obj is present at least one time, false otherwise
+     */
+    @Override
+    public boolean contains(Object obj) {
+        ensureIndex();
+        return index.containsKey(obj);
+    }
+
+    /**
+     * Method that creates a Spliterator which reads the elements directly from the Vector and splits without copying.
+     * @return a Spliterator over the elements of the list, which reports SIZED, SUBSIZED and ORDERED
+     */
+    @Override
+    public Spliterator spliterator() {
+        return new VectorSpliterator(list, 0, list.size());
+    }
+
+    /**
+     * Method that performs an action for each element of the list, with a single loop over the Vector.
+     * The action must not change the list.
+     * @param action the action to perform for each element
+     * @throws NullPointerException if action == null
+     */
+    @Override
+    public void forEach(Consumer action) {
+        if(action == null) throw new NullPointerException();
+        list.forEach(0, list.size(), action);
+    }
+
+    /**
+     * Method that returns an Object[] which contains all the elements of the list.
+     * @return a new Object[] that contains a copy of all the elements of the list
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] toReturn = new Object[list.size()];
+        list.copyInto(toReturn);
+        return toReturn;
+    }
+
+    /**
+     * Method that sorts the list in place with a stable sort. The index is rebuilt by the next lookup.
+     * @param c the comparator used to compare the elements, null to use their natural ordering
+     * @throws ClassCastException if the elements can't be compared with each other
+     */
+    @Override
+    public void sort(Comparator c) {
+        list.sort(0, list.size(), c);
+        indexValid = false;
+    }
+
+    /**
+     * Method for creating a view of a portion of this list, whose lookups use the index of this list
+     * @param fromIndex low endpoint (inclusive) of the subList.
+     * @param toIndex   high endpoint (exclusive) of the subList.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     * @return a view of the specified range within this list
+     */
+    @Override
+    public HList subList(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        return new IndexedSubList(this, null, fromIndex, toIndex);
+    }
+
+    /**
+     * Sorted positions of an element inside the list
+     */
+    private static class Positions {
+        private int[] data = new int[1];
+        private int count;
+
+        /**
+         * It finds the first position which is greater or equal to the specified one
+         * @param position the position to search for
+         * @return the index inside data of the first position >= position, count if there isn't
+         */
+        int search(int position){
+            int low = 0, high = count;
+            while(low < high){
+                int middle = (low + high) >>> 1;
+                if(data[middle] < position) low = middle + 1;
+                else high = middle;
+            }
+            return low;
+        }
+
+        /**
+         * It adds a position greater than all the others
+         * @param position the position to add
+         */
+        void append(int position){
+            if(count == data.length){
+                int[] larger = new int[count * 2];
+                System.arraycopy(data, 0, larger, 0, count);
+                data = larger;
+            }
+            data[count++] = position;
+        }
+
+        /**
+         * It adds a position keeping the positions sorted
+         * @param position the position to add
+         */
+        void insert(int position){
+            int i = search(position);
+            append(position);
+            System.arraycopy(data, i, data, i + 1, count - 1 - i);
+            data[i] = position;
+        }
+
+        /**
+         * It adds a delta to all the positions greater than or equal to the specified one
+         * @param position the first position to shift
+         * @param delta the value to add
+         */
+        void shift(int position, int delta){
+            for(int i = search(position); i < count; i++){
+                data[i] += delta;
+            }
+        }
+
+        /**
+         * It removes a position
+         * @param position the position to remove, it must be present
+         */
+        void remove(int position){
+            int i = search(position);
+            System.arraycopy(data, i + 1, data, i, count - 1 - i);
+            count--;
+        }
+    }
+
+    /**
+     * View of a portion of an IndexedListAdapter. The operations are forwarded to the root list, and the lookups are
+     * binary searches in the positions stored in the index of the root list. The sizes of the enclosing views are updated
+     * by the structural changes made through the view; if the root list is structurally changed in another way, every
+     * following use of the view throws ConcurrentModificationException.
+     */
+    private static class IndexedSubList extends AbstractHList {
+        private final IndexedListAdapter root;
+        private final IndexedSubList parent;
+        private final int offset;
+        private int size;
+        private int expectedModCount;
+
+        /**
+         * It creates a new view of the specified range of root
+         * @param root the list which contains the elements of the view
+         * @param parent the view from which this view has been created, null if it has been created from root
+         * @param fromIndex low endpoint (inclusive) of the view, as an index of root
+         * @param toIndex high endpoint (exclusive) of the view, as an index of root
+         */
+        public IndexedSubList(IndexedListAdapter root, IndexedSubList parent, int fromIndex, int toIndex){
+            this.root = root;
+            this.parent = parent;
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.expectedModCount = root.modCount;
+        }
+
+        /**
+         * It checks that the root list has been structurally changed only through this view or its views
+         * @throws ConcurrentModificationException if the root list has been changed in another way
+         */
+        private void checkForComodification(){
+            if(root.modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+
+        /**
+         * It updates the size and the expected modCount of this view and of the enclosing views, after a structural
+         * change made through this view
+         * @param delta the change of the size
+         */
+        private void resize(int delta){
+            for(IndexedSubList view = this; view != null; view = view.parent){
+                view.size += delta;
+                view.expectedModCount = root.modCount;
+            }
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public Object get(int index) {
+            checkIndex(index);
+            return root.list.elementAt(offset + index);
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            checkIndex(index);
+            return root.set(offset + index, element);
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            checkPositionIndex(index);
+            root.add(offset + index, element);
+            resize(1);
+        }
+
+        @Override
+        public Object remove(int index) {
+            checkIndex(index);
+            Object toReturn = root.remove(offset + index);
+            resize(-1);
+            return toReturn;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            checkForComodification();
+            if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+            root.removeRange(offset + fromIndex, offset + toIndex);
+            resize(fromIndex - toIndex);
+        }
+
+        @Override
+        public int indexOf(Object obj) {
+            checkForComodification();
+            int index = root.indexOf(obj, offset, offset + size);
+            return index < 0 ? -1 : index - offset;
+        }
+
+        @Override
+        public int lastIndexOf(Object obj) {
+            checkForComodification();
+            int index = root.lastIndexOf(obj, offset, offset + size);
+            return index < 0 ? -1 : index - offset;
+        }
+
+        @Override
+        public HList subList(int fromIndex, int toIndex) {
+            checkForComodification();
+            if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+            return new IndexedSubList(root, this, offset + fromIndex, offset + toIndex);
+        }
+
+        @Override
+        public void sort(Comparator c) {
+            checkForComodification();
+            root.list.sort(offset, offset + size, c);
+            root.indexValid = false;
+        }
+    }
+}
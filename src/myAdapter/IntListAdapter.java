@@ -0,0 +1,337 @@
+package myAdapter;
+
+
+import java.util.NoSuchElementException;
+
+/**
+ * List of {@code int} values stored in a {@code int[]}, without boxing.
+ * <br><br>
+ * The values are read and written by the allocation-free methods getInt(), setInt(), addInt() and removeInt(), and they
+ * are traversed by the primitive iterator returned by intIterator().
+ * <br><br>
+ * IntListAdapter implements HList too, so it can be used by the existing callers: the methods of HList box the values
+ * in {@link Integer} objects. The elements passed to the methods of HList must be instances of {@link Integer}, otherwise a
+ * ClassCastException (or a NullPointerException for null) is thrown. The searching methods simply don't find elements of
+ * other types.
+ * <br><br>
+ * subList() returns a view that uses the boxing methods of HList.
+ *
+ * @see myAdapter.HList
+ * @see myAdapter.HIntIterator
+ * @author Andrea Stocco
+ */
+public class IntListAdapter extends AbstractHList {
+
+    /**
+     * Array which contains the values of the list. Only the first size slots are valid.
+     */
+    private int[] elements;
+    /**
+     * Number of values inside the list
+     */
+    private int size;
+
+    /**
+     * Void Constructor (no arguments).
+     * It creates an empty IntListAdapter.
+     */
+    public IntListAdapter() {
+        this(10);
+    }
+
+    /**
+     * Constructor which creates an empty IntListAdapter able to contain initialCapacity values without growing
+     * @param initialCapacity the initial capacity of the list
+     * @throws IllegalArgumentException if initialCapacity < 0
+     */
+    public IntListAdapter(int initialCapacity) {
+        if(initialCapacity < 0) throw new IllegalArgumentException();
+        elements = new int[initialCapacity];
+    }
+
+    /**
+     * Constructor which creates a new IntListAdapter with the same elements as its argument
+     * @param coll collection from which to take elements, they must be instances of Integer
+     * @throws NullPointerException if coll == null or if it contains null
+     * @throws ClassCastException if coll contains an element which isn't a Integer
+     */
+    public IntListAdapter(HCollection coll) {
+        this(coll.size());
+        addAll(coll);
+    }
+
+    /**
+     * Method that enlarges the array of the values, if it is necessary, to contain at least minCapacity values
+     * @param minCapacity the desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if(minCapacity <= elements.length) return;
+        int[] newElements = new int[Math.max(minCapacity, 2 * elements.length)];
+        System.arraycopy(elements, 0, newElements, 0, size);
+        elements = newElements;
+    }
+
+    /**
+     * Method that reduces the capacity of the list to its size
+     */
+    public void trimToSize() {
+        if(size < elements.length){
+            int[] newElements = new int[size];
+            System.arraycopy(elements, 0, newElements, 0, size);
+            elements = newElements;
+        }
+    }
+
+    /**
+     * Method that calculates the size of the list
+     * @return the size of the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method for inspecting the value in a specified position in the list
+     * @param index index of the value to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the value in that position
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Method for replacing the value in a specified position with a new one
+     * @param index index of the value to replace.
+     * @param value value to be stored at the specified position.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the value that has been replaced
+     */
+    public int setInt(int index, int value) {
+        checkIndex(index);
+        int toReturn = elements[index];
+        elements[index] = value;
+        return toReturn;
+    }
+
+    /**
+     * Method for adding a value at the end of the list
+     * @param value value to be appended to this list.
+     * @return always true
+     */
+    public boolean addInt(int value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Method for inserting a value in a specified position
+     * @param index index at which the specified value is to be inserted.
+     * @param value value to be inserted.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     */
+    public void addInt(int index, int value) {
+        checkPositionIndex(index);
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Method for removing the value in a specified position
+     * @param index the index of the value to be removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the value that has been removed
+     */
+    public int removeInt(int index) {
+        checkIndex(index);
+        int toReturn = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        modCount++;
+        return toReturn;
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified value
+     * @param value value to search for.
+     * @return the index of value in the list or -1 if the value isn't inside the list
+     */
+    public int indexOfInt(int value) {
+        for(int i = 0; i < size; i++){
+            if(elements[i] == value) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified value
+     * @param value value to search for.
+     * @return the last index of value in the list or -1 if the value isn't inside the list
+     */
+    public int lastIndexOfInt(int value) {
+        for(int i = size - 1; i >= 0; i--){
+            if(elements[i] == value) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that searches in the list the specified value
+     * @param value value whose presence in this list is to be tested.
+     * @return true if value is present at least one time, false otherwise
+     */
+    public boolean containsInt(int value) {
+        return indexOfInt(value) >= 0;
+    }
+
+    /**
+     * Method that returns a int[] which contains all the values of the list.
+     * @return a new int[] that contains a copy of all the values of the list
+     */
+    public int[] toIntArray() {
+        int[] toReturn = new int[size];
+        System.arraycopy(elements, 0, toReturn, 0, size);
+        return toReturn;
+    }
+
+    /**
+     * Method that returns a new iterator which returns the values of the list without boxing them
+     * @return a new instance of HIntIterator
+     */
+    public HIntIterator intIterator() {
+        return new IntListIterator();
+    }
+
+    /**
+     * Method that returns a new iterator over the values of the list
+     * @return a new instance of HIntIterator
+     */
+    @Override
+    public HIterator iterator() {
+        return intIterator();
+    }
+
+    /**
+     * Method for inspecting the element in a specified position in the list
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the value in that position, boxed in a Integer
+     */
+    @Override
+    public Object get(int index) {
+        return Integer.valueOf(getInt(index));
+    }
+
+    /**
+     * Method for replacing an element in a specified position with a new one
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position, it must be a Integer.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @throws ClassCastException if element isn't a Integer
+     * @throws NullPointerException if element == null
+     * @return the value that has been replaced, boxed in a Integer
+     */
+    @Override
+    public Object set(int index, Object element) {
+        return Integer.valueOf(setInt(index, (Integer) element));
+    }
+
+    /**
+     * Method for inserting an element in a specified position
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted, it must be a Integer.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @throws ClassCastException if element isn't a Integer
+     * @throws NullPointerException if element == null
+     */
+    @Override
+    public void add(int index, Object element) {
+        addInt(index, (Integer) element);
+    }
+
+    /**
+     * Method for removing an element specified by his index
+     * @param index the index of the element to removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the value that has been removed, boxed in a Integer
+     */
+    @Override
+    public Object remove(int index) {
+        return Integer.valueOf(removeInt(index));
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element
+     * @param obj element to search for.
+     * @return the index of obj in the list or -1 if obj isn't a Integer inside the list
+     */
+    @Override
+    public int indexOf(Object obj) {
+        return obj instanceof Integer ? indexOfInt((Integer) obj) : -1;
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified element
+     * @param obj element to search for.
+     * @return the last index of obj in the list or -1 if obj isn't a Integer inside the list
+     */
+    @Override
+    public int lastIndexOf(Object obj) {
+        return obj instanceof Integer ? lastIndexOfInt((Integer) obj) : -1;
+    }
+
+    /**
+     * Method for removing all the values whose index is between fromIndex (inclusive) and toIndex (exclusive)
+     * with a single shift of the following values.
+     * @param fromIndex index of first value to be removed.
+     * @param toIndex index after last value to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    /**
+     * Iterator which returns the values of the list in order without boxing them.
+     */
+    private class IntListIterator implements HIntIterator {
+        private int cursor;
+        private int lastReturned = -1;
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if(cursor >= size) throw new NoSuchElementException();
+            lastReturned = cursor;
+            return elements[cursor++];
+        }
+
+        @Override
+        public Object next() {
+            return Integer.valueOf(nextInt());
+        }
+
+        @Override
+        public void remove() {
+            if(lastReturned < 0) throw new IllegalStateException();
+            removeInt(lastReturned);
+            cursor = lastReturned;
+            lastReturned = -1;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package myAdapter;
+
+
+import java.util.Iterator;
+
+/**
+ * Adapter which presents an {@link HIterator} as a java.util.Iterator, used to create the default spliterators of
+ * {@link HCollection} and {@link HList}.
+ *
+ * @see myAdapter.HCollection#spliterator()
+ * @author Andrea Stocco
+ */
+class IteratorAdapter implements Iterator {
+
+    private final HIterator iter;
+
+    /**
+     * Constructor which wraps the specified iterator
+     * @param iter the iterator to adapt
+     */
+    IteratorAdapter(HIterator iter) {
+        this.iter = iter;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return iter.hasNext();
+    }
+
+    @Override
+    public Object next() {
+        return iter.next();
+    }
+
+    @Override
+    public void remove() {
+        iter.remove();
+    }
+}
@@ -1,7 +1,15 @@
 package myAdapter;
 
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * This class allows to use classes which implement List interface (J2SE 1.4.2) in Java Micro Edition environment (CLDC 1.1).
@@ -14,6 +22,16 @@ import java.util.NoSuchElementException;
  * ListAdapter allows to duplicate elements, and it doesn't give any restriction on the type of the element that will be inserted (null is a valid value).
  * <br><br>
  * ListAdapter also manages sublist. In this case when a sublist has a structural change the father list has the same change.
+ * A sublist doesn't keep a reference to its father: all the lists built on the same Vector share it, and every list only
+ * stores how many elements of the Vector are before and after it. A structural change inside a sublist changes the size of
+ * the Vector but not the elements outside the sublist, so all its ancestors see the change without being updated and every
+ * change costs the same at any nesting depth.
+ * <br>
+ * The other sublists (for example the siblings, or a sublist when its father changes) are reconciled lazily: every
+ * structural change is recorded in a log shared by all the lists built on the same Vector, and a sublist applies the
+ * changes made since its last use before using its bounds. A change before the sublist moves it, a change after it or
+ * inside it doesn't move it. If a change crosses a bound of the sublist its bounds can't be reconciled and the sublist
+ * throws ConcurrentModificationException.
  * <br><br>
  * ListAdapter provides ListIterator which will be described before the declaration of ListIterator subclass.
  *
@@ -23,25 +41,43 @@ import java.util.NoSuchElementException;
  */
 public class ListAdapter implements HList{
 
+    /**
+     * Size of a collection beyond which its elements are copied in a hash set for the membership tests of
+     * removeAll() and retainAll(). For smaller collections a linear scan of their elements is faster.
+     */
+    private static final int HASH_THRESHOLD = 16;
+
     /**
      * Variable identifying the first valid index for a sublist. If the list isn't a sublist
      * this variable is set to 0.
      */
-    private final int from;
+    private int from;
     /**
-     * Variable identifying the last index (exclusive) of a sublist. If the list isn't a sublist
-     * this variable is set to size().
+     * Variable identifying the number of elements of the Vector after the last element of a sublist.
+     * If the list isn't a sublist this variable is set to 0.
      */
-    private int to;
+    private int tail;
     /**
      * Vector which contains the element of the list
      */
     private final Vector list;
     /**
-     * Reference to the father list of a sublist. If the list isn't a sublist
-     * this variable is set to null.
+     * Log of the structural changes, shared by all the lists built on the same Vector. It is null until the first
+     * sublist is created.
+     */
+    private ChangeLog changes;
+    /**
+     * Number of changes of the log already applied to the bounds of a sublist, -1 if a change has crossed its bounds
+     */
+    private int appliedChanges;
+    /**
+     * Identifier of the list inside the log of the changes
+     */
+    private int id;
+    /**
+     * True if the list is a sublist. A list which isn't a sublist contains all the Vector, so it never moves.
      */
-    private final ListAdapter father;
+    private final boolean isSubList;
 
     /**
      * Void Constructor (no arguments).
@@ -49,9 +85,26 @@ public class ListAdapter implements HList{
      */
     public ListAdapter() {
         from = 0;
-        to = 0;
+        tail = 0;
         list = new Vector();
-        father = null;
+        isSubList = false;
+    }
+
+    /**
+     * Constructor which creates a ListAdapter that uses the specified vector as adaptee.
+     * The elements already inside the vector become the elements of the list.
+     * <br><br>
+     * It allows to choose the storage of the list, for example {@code new ListAdapter(new GapVector())}
+     * keeps the free space at the last edit point.
+     * @param vector the vector which will contain the elements of the list
+     * @throws NullPointerException if vector == null
+     */
+    public ListAdapter(Vector vector){
+        if(vector == null) throw new NullPointerException();
+        from = 0;
+        tail = 0;
+        list = vector;
+        isSubList = false;
     }
 
     /**
@@ -61,15 +114,22 @@ public class ListAdapter implements HList{
      * Example: {@code
      * ListAdapter subList = list.subList(0, list.size() - 1);
      * }
-     * @param from starting index of the sublist
-     * @param to final index of the sublist
+     * @param from starting index of the sublist inside the Vector
+     * @param to final index (exclusive) of the sublist inside the Vector
      * @param listAdapter reference of father list
      */
     private ListAdapter(int from, int to, ListAdapter listAdapter){
         this.from = from;
-        this.to = to;
+        this.tail = listAdapter.list.size() - to;
         this.list = listAdapter.list;
-        this.father = listAdapter;
+        this.isSubList = true;
+        if(listAdapter.changes == null){
+            listAdapter.changes = new ChangeLog();
+            listAdapter.id = listAdapter.changes.newId();
+        }
+        this.changes = listAdapter.changes;
+        this.appliedChanges = changes.count;
+        this.id = changes.register(this);
     }
 
     /**
@@ -78,8 +138,7 @@ public class ListAdapter implements HList{
      */
     public ListAdapter(HCollection coll){
         this();
-        HIterator iter = coll.iterator();
-        while(iter.hasNext()) add(iter.next());
+        addAll(coll);
     }
 
     /**
@@ -88,7 +147,20 @@ public class ListAdapter implements HList{
      */
     @Override
     public int size() {
-        return to - from;
+        if(isSubList && appliedChanges != changes.count) changes.reconcile(this);
+        return list.size() - tail - from;
+    }
+
+    /**
+     * Method that records a structural change of the Vector made by this list, after it has been made
+     * @param index index of the Vector where the change starts
+     * @param removed number of elements removed from index
+     * @param inserted number of elements inserted at index
+     */
+    private void recordChange(int index, int removed, int inserted){
+        if(changes == null) return;
+        changes.record(id, from, tail, list.size() + removed - inserted, index, index + removed, inserted - removed);
+        if(isSubList) appliedChanges = changes.count;
     }
 
     /**
@@ -97,7 +169,7 @@ public class ListAdapter implements HList{
      */
     @Override
     public boolean isEmpty() {
-        return to == from;
+        return size() == 0;
     }
 
     /**
@@ -138,12 +210,7 @@ public class ListAdapter implements HList{
     @Override
     public Object[] toArray() {
         Object[] toReturn = new Object[size()];
-        HListIterator iter = listIterator();
-        int i = 0;
-        while (iter.hasNext()){
-            toReturn[i] = iter.next();
-            i++;
-        }
+        list.copyInto(from, toReturn, 0, size());
         return toReturn;
     }
 
@@ -163,30 +230,14 @@ public class ListAdapter implements HList{
         if(arrayTarget.length < size()){
             return toArray();
         }else{
-            HListIterator iter = listIterator();
-            int i = 0;
-            while (iter.hasNext()){
-                arrayTarget[i] = iter.next();
-                i++;
-            }
-            for(; i < arrayTarget.length; i++){
+            list.copyInto(from, arrayTarget, 0, size());
+            for(int i = size(); i < arrayTarget.length; i++){
                 arrayTarget[i] = null;
             }
             return arrayTarget;
         }
     }
 
-    /**
-     * Recursive method for updating the value of "to" as a consequence of any structural change in the sublist.
-     * <br><br>
-     * All ancestors of the current sublist must update their size following a structural change.
-     * @param n can be +1 (there was an insertion) or -1 (there was a removal)
-     */
-    private void refreshIndexes(int n){
-        to += n;
-        if(father != null) father.refreshIndexes(n);
-    }
-
     /**
      * Method for adding an element at the end of the list
      * @param obj element to be appended to this list.
@@ -249,17 +300,14 @@ public class ListAdapter implements HList{
      */
     @Override
     public boolean addAll(HCollection coll) {
-        if(coll == null) throw new NullPointerException();
-        HIterator iterator = coll.iterator();
-        HListIterator iter = listIterator(size());
-        while(iterator.hasNext()){
-            iter.add(iterator.next());
-        }
-        return true;
+        return addAll(size(), coll);
     }
 
     /**
-     * Method for inserting all the elements of a specified collection in a specific position
+     * Method for inserting all the elements of a specified collection in a specific position.
+     * <br><br>
+     * The elements are copied from coll.toArray() (a direct array copy if coll is a ListAdapter) and inserted
+     * with a single shift of the following elements.
      * @param index index at which to insert first element from the specified
      *              collection.
      * @param coll elements to be inserted into this list.
@@ -271,17 +319,18 @@ public class ListAdapter implements HList{
     public boolean addAll(int index, HCollection coll) {
         if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
         if(coll == null) throw new NullPointerException();
-        HIterator iterator = coll.iterator();
-        HListIterator iter = listIterator(index);
-        while(iterator.hasNext()){
-            iter.add(iterator.next());
-        }
+        Object[] elements = coll.toArray();
+        list.insertElementsAt(elements, index + from);
+        recordChange(index + from, 0, elements.length);
         return true;
     }
 
     /**
      * Method for the removal of all the elements contained in the specified collection.
      * If an element has more occurrence inside the list, all the occurrence are removed.
+     * <br><br>
+     * The list is compacted in a single pass: every element which must be kept is moved to the first free position,
+     * then the remaining positions are removed all together.
      * @param coll collection that defines which elements will be removed from this
      *          list.
      * @throws NullPointerException if coll == null
@@ -290,20 +339,39 @@ public class ListAdapter implements HList{
     @Override
     public boolean removeAll(HCollection coll) {
         if(coll == null) throw new NullPointerException();
-        boolean isChanged = false;
-        HIterator iterator = coll.iterator();
-        while(iterator.hasNext()){
-            Object current = iterator.next();
-            while(remove(current)){
-                isChanged = true;
+        return batchRemove(new Membership(coll), false);
+    }
+
+    /**
+     * Method that removes from the list all the elements contained (or not contained) in the specified membership,
+     * compacting the backing range [from, to) of the Vector with a single pass
+     * @param membership the elements to test
+     * @param retain if true the elements contained in membership are kept, otherwise they are removed
+     * @return true if at least one element is removed, false otherwise
+     */
+    private boolean batchRemove(Membership membership, boolean retain){
+        int to = size() + from;
+        int write = from;
+        for(int read = from; read < to; read++){
+            Object current = list.elementAt(read);
+            if(membership.contains(current) == retain){
+                if(write != read) list.setElementAt(current, write);
+                write++;
             }
         }
-        return isChanged;
+        int removed = to - write;
+        if(removed == 0) return false;
+        list.removeRange(write, to);
+        recordChange(write, removed, 0);
+        return true;
     }
 
     /**
      * Method for the removal of all the elements which aren't contained in the specified
      * collection.
+     * <br><br>
+     * The elements of coll are copied once (in a hash set if coll is large), then the list is compacted in a single pass
+     * like in removeAll().
      * @param coll collection that defines which elements this set will retain.
      * @throws NullPointerException if coll == null
      * @return true if at least one element is removed, false otherwise
@@ -311,15 +379,7 @@ public class ListAdapter implements HList{
     @Override
     public boolean retainAll(HCollection coll) {
         if(coll == null) throw new NullPointerException();
-        boolean isChanged = false;
-        HListIterator iterator = listIterator();
-        while(iterator.hasNext()){
-            if(!coll.contains(iterator.next())){
-                isChanged = true;
-                iterator.remove();
-            }
-        }
-        return isChanged;
+        return batchRemove(new Membership(coll), true);
     }
 
     /**
@@ -328,24 +388,40 @@ public class ListAdapter implements HList{
      */
     @Override
     public void clear() {
-        retainAll(new ListAdapter());
+        removeRange(0, size());
+    }
+
+    /**
+     * Method for removing all the elements whose index is between fromIndex (inclusive) and toIndex (exclusive).
+     * The following elements are shifted only once.
+     * <br><br>
+     * It is the same method as removeRange() of AbstractList (J2SE 1.4.2); it is used by clear() on lists and sublists.
+     * @param fromIndex index of first element to be removed.
+     * @param toIndex index after last element to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    protected void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        if(fromIndex == toIndex) return;
+        list.removeRange(fromIndex + from, toIndex + from);
+        recordChange(fromIndex + from, toIndex - fromIndex, 0);
     }
 
     /**
      * Method for comparing the list with a generic Object
      * @param obj the object to be compared for equality with this list.
-     * @return true if obj and the list contain the same elements in the same order, false otherwise
+     * @return true if obj is an HList (of any class) which contains equal elements in the same order, false otherwise
      */
     @Override
     public boolean equals(Object obj){
-        if(! (obj instanceof ListAdapter)) return false;
-        ListAdapter other = (ListAdapter) obj;
+        if(obj == this) return true;
+        if(! (obj instanceof HList)) return false;
+        HList other = (HList) obj;
         if(this.size() != other.size()) return false;
-        HListIterator iter = listIterator();
-        int i = 0;
+        HIterator iter = iterator(), otherIter = other.iterator();
         while (iter.hasNext()){
-            if(iter.next() != other.get(i)) return false;
-            i++;
+            Object current = iter.next(), otherCurrent = otherIter.next();
+            if(current == null ? otherCurrent != null : !current.equals(otherCurrent)) return false;
         }
         return true;
     }
@@ -403,7 +479,7 @@ public class ListAdapter implements HList{
     public void add(int index, Object element) {
         if(index < 0 || index > size()) throw new IndexOutOfBoundsException();
         list.insertElementAt(element, index + from);
-        refreshIndexes(1);
+        recordChange(index + from, 0, 1);
     }
 
     /**
@@ -417,7 +493,7 @@ public class ListAdapter implements HList{
         if(index < 0 || index >= size()) throw new IndexOutOfBoundsException();
         Object toRemove = get(index);
         list.removeElementAt(index + from);
-        refreshIndexes(-1);
+        recordChange(index + from, 1, 0);
         return toRemove;
     }
 
@@ -484,6 +560,358 @@ public class ListAdapter implements HList{
         return new ListAdapter(fromIndex + from, toIndex + from, this);
     }
 
+    /**
+     * Method that creates a Spliterator over the backing range of the Vector. It splits the range in halves without copying
+     * the elements, so a subList can be the source of a parallel stream. It reports SIZED, SUBSIZED and ORDERED.
+     * @return a Spliterator over the elements of the list
+     */
+    @Override
+    public Spliterator spliterator() {
+        int size = size();
+        return new VectorSpliterator(list, from, from + size);
+    }
+
+    /**
+     * Method that performs an action for each element of the list, with a single loop over the backing range of the Vector:
+     * the bounds are checked once per call instead of once per element. The action must not change the list.
+     * @param action the action to perform for each element
+     * @throws NullPointerException if action == null
+     */
+    @Override
+    public void forEach(Consumer action) {
+        if(action == null) throw new NullPointerException();
+        int size = size();
+        list.forEach(from, from + size, action);
+    }
+
+    /**
+     * Method that sorts the list with a stable sort. The backing range of the Vector is sorted in place, so sorting a
+     * subList sorts that range of the father list.
+     * @param c the comparator used to compare the elements, null to use their natural ordering
+     * @throws ClassCastException if the elements can't be compared with each other
+     */
+    @Override
+    public void sort(Comparator c) {
+        int size = size();
+        list.sort(from, from + size, c);
+    }
+
+    /**
+     * Method that sorts the list with a stable parallel merge sort executed by the common ForkJoinPool
+     * @param c the comparator used to compare the elements, null to use their natural ordering
+     * @throws ClassCastException if the elements can't be compared with each other
+     * @see #parallelSort(Comparator, ForkJoinPool, int)
+     */
+    public void parallelSort(Comparator c) {
+        parallelSort(c, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Method that sorts the list with a stable parallel merge sort executed by the specified pool. Ranges of at most 8192
+     * elements are sorted sequentially.
+     * @param c the comparator used to compare the elements, null to use their natural ordering
+     * @param pool the pool which executes the sort
+     * @throws NullPointerException if pool == null
+     * @throws ClassCastException if the elements can't be compared with each other
+     * @see #parallelSort(Comparator, ForkJoinPool, int)
+     */
+    public void parallelSort(Comparator c, ForkJoinPool pool) {
+        parallelSort(c, pool, ParallelMergeSort.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Method that sorts the list with a stable parallel merge sort executed by the specified pool.
+     * <br><br>
+     * The backing range of the Vector is split in halves until the pieces contain at most threshold elements, which are
+     * sorted by the threads of the pool; then the pieces are merged, in parallel too. A list with at most threshold elements
+     * is sorted sequentially, like with sort(). The result is the same as the one of sort().
+     * @param c the comparator used to compare the elements, null to use their natural ordering
+     * @param pool the pool which executes the sort
+     * @param threshold number of elements below which a piece is sorted sequentially
+     * @throws NullPointerException if pool == null
+     * @throws IllegalArgumentException if threshold < 1
+     * @throws ClassCastException if the elements can't be compared with each other
+     */
+    public void parallelSort(Comparator c, ForkJoinPool pool, int threshold) {
+        if(pool == null) throw new NullPointerException();
+        if(threshold < 1) throw new IllegalArgumentException("Illegal threshold: " + threshold);
+        int size = size();
+        list.parallelSort(from, from + size, c, pool, threshold);
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element with a parallel search executed by the common ForkJoinPool
+     * @param obj element to search for.
+     * @return the index of obj in the list or -1 if the element isn't inside the list
+     * @see #parallelIndexOf(Object, ForkJoinPool, int)
+     */
+    public int parallelIndexOf(Object obj) {
+        return parallelIndexOf(obj, ForkJoinPool.commonPool(), ParallelSearch.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element with a parallel search executed by the specified pool.
+     * <br><br>
+     * The backing range of the Vector is split in pieces of at most threshold elements, which are scanned by the threads of
+     * the pool. When an occurrence is found, the pieces on its right are abandoned, so the result is the same as the one of
+     * indexOf(). A list with at most threshold elements is scanned sequentially by the calling thread.
+     * @param obj element to search for.
+     * @param pool the pool which executes the search
+     * @param threshold number of elements below which a piece is scanned sequentially
+     * @return the index of obj in the list or -1 if the element isn't inside the list
+     * @throws NullPointerException if pool == null
+     * @throws IllegalArgumentException if threshold < 1
+     */
+    public int parallelIndexOf(Object obj, ForkJoinPool pool, int threshold) {
+        if(pool == null) throw new NullPointerException();
+        if(threshold < 1) throw new IllegalArgumentException("Illegal threshold: " + threshold);
+        if(size() <= threshold) return indexOf(obj);
+        int index = ParallelSearch.indexOf(list, from, from + size(), obj, pool, threshold);
+        return index < 0 ? -1 : index - from;
+    }
+
+    /**
+     * Method that searches in the list the specified element with a parallel search executed by the common ForkJoinPool
+     * @param obj element whose presence in this list is to be tested.
+     * @return true if obj is present at least one time, false otherwise
+     * @see #parallelIndexOf(Object, ForkJoinPool, int)
+     */
+    public boolean parallelContains(Object obj) {
+        return parallelIndexOf(obj) >= 0;
+    }
+
+    /**
+     * Method that searches in the list the specified element with a parallel search executed by the specified pool
+     * @param obj element whose presence in this list is to be tested.
+     * @param pool the pool which executes the search
+     * @param threshold number of elements below which a piece is scanned sequentially
+     * @return true if obj is present at least one time, false otherwise
+     * @throws NullPointerException if pool == null
+     * @throws IllegalArgumentException if threshold < 1
+     * @see #parallelIndexOf(Object, ForkJoinPool, int)
+     */
+    public boolean parallelContains(Object obj, ForkJoinPool pool, int threshold) {
+        return parallelIndexOf(obj, pool, threshold) >= 0;
+    }
+
+    /**
+     * Method for checking in parallel, with the common ForkJoinPool, if the elements of a collection are contained in the list
+     * @param coll collection to be checked for containment in this list.
+     * @throws NullPointerException if coll == null
+     * @return true if all the elements of coll are contained in the list, false otherwise
+     * @see #parallelContainsAll(HCollection, ForkJoinPool, int)
+     */
+    public boolean parallelContainsAll(HCollection coll) {
+        return parallelContainsAll(coll, ForkJoinPool.commonPool(), ParallelSearch.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Method for checking in parallel, with the specified pool, if the elements of a collection are contained in the list.
+     * <br><br>
+     * Every element of a small collection is searched with parallelIndexOf(). Otherwise the elements of the list are copied
+     * once in a hash set and the elements of coll are checked against it by the threads of the pool, in pieces of at most
+     * threshold elements. The first missing element stops all the pieces.
+     * @param coll collection to be checked for containment in this list.
+     * @param pool the pool which executes the search
+     * @param threshold number of elements below which a piece is checked sequentially
+     * @throws NullPointerException if coll == null || pool == null
+     * @throws IllegalArgumentException if threshold < 1
+     * @return true if all the elements of coll are contained in the list, false otherwise
+     */
+    public boolean parallelContainsAll(HCollection coll, ForkJoinPool pool, int threshold) {
+        if(coll == null || pool == null) throw new NullPointerException();
+        if(threshold < 1) throw new IllegalArgumentException("Illegal threshold: " + threshold);
+        Object[] elements = coll.toArray();
+        if(elements.length <= HASH_THRESHOLD){
+            for (Object element : elements) {
+                if(parallelIndexOf(element, pool, threshold) < 0) return false;
+            }
+            return true;
+        }
+        Membership membership = new Membership(this);
+        return ParallelSearch.allMatch(elements, membership::contains, pool, threshold);
+    }
+
+    /**
+     * Snapshot of the elements of a collection used for membership tests.
+     * <br><br>
+     * The elements are copied once with toArray(), so the collection can be modified (or be the list itself)
+     * while the test is running. Small collections are scanned linearly, large collections are copied in a hash set.
+     * It is used by the other lists of the package too.
+     */
+    static class Membership {
+        private final Object[] elements;
+        private final HashSet<Object> set;
+
+        /**
+         * It creates a new snapshot of the specified collection
+         * @param coll the collection to copy
+         */
+        public Membership(HCollection coll){
+            elements = coll.toArray();
+            if(elements.length > HASH_THRESHOLD){
+                set = new HashSet<>(elements.length * 2);
+                for (Object element : elements) {
+                    set.add(element);
+                }
+            }else{
+                set = null;
+            }
+        }
+
+        /**
+         * Method that checks if the snapshot contains an element
+         * @param obj element to search
+         * @return true if an element e of the snapshot satisfies (obj==null ? e==null : obj.equals(e))
+         */
+        public boolean contains(Object obj){
+            if(set != null) return set.contains(obj);
+            for (Object element : elements) {
+                if(obj == null ? element == null : obj.equals(element)) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Log of the structural changes of a Vector shared by a list and its sublists, used to reconcile the bounds of the
+     * sublists lazily. Recording a change and applying it to a sublist take amortized O(1) time, at any nesting depth.
+     * <br><br>
+     * Every entry describes a range [start, end) of the Vector, in the positions before the change, which has been
+     * replaced by end - start + delta elements, and the bounds of the list which made the change. A change made by the same
+     * list inside the elements which replaced the range of the last entry is merged in it while no other sublist has read
+     * the log, so a loop of insertions at the same place fills a single entry.
+     * <br><br>
+     * The log keeps weak references to the sublists: when it is full, its entries are applied to the bounds of all the
+     * sublists which are still reachable and then dropped. A sublist crossed by one of those entries can't be used anymore.
+     */
+    private static class ChangeLog {
+        private static final int CAPACITY = 64;
+
+        private final int[] owners = new int[CAPACITY];
+        private final int[] sizes = new int[CAPACITY];
+        private final int[] starts = new int[CAPACITY];
+        private final int[] ends = new int[CAPACITY];
+        private final int[] deltas = new int[CAPACITY];
+        private final int[] ownerFroms = new int[CAPACITY];
+        private final int[] ownerTos = new int[CAPACITY];
+        private final ArrayList<WeakReference<ListAdapter>> subLists = new ArrayList<>();
+        /**
+         * Number of entries dropped since the creation of the log: the entry i is stored in the position i - first
+         */
+        private int first;
+        /**
+         * Number of entries recorded since the creation of the log
+         */
+        private int count;
+        /**
+         * True if a sublist has applied the last entry (or has been created after it), which then can't be extended
+         */
+        private boolean sealed;
+        private int lastId;
+
+        /**
+         * Method that returns a new identifier for a list which isn't a sublist
+         * @return the identifier
+         */
+        int newId(){
+            return ++lastId;
+        }
+
+        /**
+         * Method that registers a new sublist, which has applied all the entries recorded until now
+         * @param subList the sublist
+         * @return the identifier of the sublist
+         */
+        int register(ListAdapter subList){
+            subLists.add(new WeakReference<>(subList));
+            sealed = true;
+            return newId();
+        }
+
+        /**
+         * Method that records a structural change
+         * @param owner the identifier of the list which made the change
+         * @param ownerFrom the number of elements of the Vector before the list which made the change
+         * @param ownerTail the number of elements of the Vector after the list which made the change
+         * @param size size of the Vector before the change
+         * @param start first changed position of the Vector, before the change
+         * @param end position after the last removed element, before the change
+         * @param delta number of inserted elements minus number of removed elements
+         */
+        void record(int owner, int ownerFrom, int ownerTail, int size, int start, int end, int delta){
+            int last = count - 1 - first;
+            if(last >= 0 && !sealed && owners[last] == owner && start >= starts[last] && end <= ends[last] + deltas[last]){
+                deltas[last] += delta;
+                return;
+            }
+            if(count - first == CAPACITY) flush();
+            int entry = count - first;
+            owners[entry] = owner;
+            sizes[entry] = size;
+            starts[entry] = start;
+            ends[entry] = end;
+            deltas[entry] = delta;
+            ownerFroms[entry] = ownerFrom;
+            ownerTos[entry] = size - ownerTail;
+            count++;
+            sealed = false;
+        }
+
+        /**
+         * Method that applies all the entries to the reachable sublists and drops them
+         */
+        private void flush(){
+            for(int i = subLists.size() - 1; i >= 0; i--){
+                ListAdapter subList = subLists.get(i).get();
+                if(subList == null){
+                    subLists.set(i, subLists.get(subLists.size() - 1));
+                    subLists.remove(subLists.size() - 1);
+                }else if(subList.appliedChanges >= 0){
+                    try{
+                        apply(subList);
+                    }catch(ConcurrentModificationException e){
+                        subList.appliedChanges = -1;
+                    }
+                }
+            }
+            first = count;
+        }
+
+        /**
+         * Method that applies to the bounds of a sublist the entries recorded since its last use
+         * @param subList the sublist to reconcile
+         * @throws ConcurrentModificationException if an entry crosses a bound of the sublist
+         */
+        void reconcile(ListAdapter subList){
+            if(subList.appliedChanges < 0) throw new ConcurrentModificationException();
+            apply(subList);
+            if(owners[count - 1 - first] != subList.id) sealed = true;
+        }
+
+        /**
+         * Method that applies to the bounds of a sublist the entries recorded since its last use, without sealing the log
+         * @param subList the sublist to reconcile
+         * @throws ConcurrentModificationException if an entry crosses a bound of the sublist
+         */
+        private void apply(ListAdapter subList){
+            for(int i = subList.appliedChanges; i < count; i++){
+                int entry = i - first;
+                int start = starts[entry], end = ends[entry], delta = deltas[entry];
+                int from = subList.from, to = sizes[entry] - subList.tail;
+                boolean contained = ownerFroms[entry] >= from && ownerTos[entry] <= to;
+                if(end <= from && !(contained && start == from)){
+                    subList.from += delta;
+                }else if(start >= to && !(contained && end == to)){
+                    subList.tail += delta;
+                }else if(start < from || end > to){
+                    throw new ConcurrentModificationException();
+                }
+                subList.appliedChanges = i + 1;
+            }
+        }
+    }
+
     /**
      * ListIterator allows the programmer to traverse the ListAdapter in either direction.
      * <br><br>
@@ -585,6 +1013,23 @@ public class ListAdapter implements HList{
             return previous;
         }
 
+        /**
+         * Method that performs an action for each remaining element, with a single loop over the backing range of the
+         * Vector, and moves the iterator to the end of the list. The action must not change the list.
+         * @param action the action to perform for each element
+         * @throws NullPointerException if action == null
+         */
+        @Override
+        public void forEachRemaining(Consumer action) {
+            if(action == null) throw new NullPointerException();
+            int size = size();
+            if(next >= size) return;
+            list.forEach(from + next, from + size, action);
+            next = size;
+            previous = next - 1;
+            lastCall = 1;
+        }
+
         /**
          * Method for removing the element previously visited
          * @throws IllegalStateException if there wasn't a call to previous() or next() before calling
@@ -0,0 +1,438 @@
+package myAdapter;
+
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persistent list whose elements are stored in memory-mapped files.
+ * <br><br>
+ * The list uses two files: the data file, which contains the records of the elements, and the index file (the name of the data
+ * file followed by ".index"), which contains the position of the record of every element.
+ * <br>
+ * Data file: a header (magic number, version, end of the data) followed by the records. Every record is the length of the
+ * element encoded by an {@link ElementCodec} (an int, -1 for null) followed by the encoded bytes.
+ * <br>
+ * Index file: a header (magic number, version, number of elements) followed by the position of every record (a long),
+ * in the order of the list.
+ * <br><br>
+ * Opening an existing list only maps the two files, so it takes the same time whatever the size of the list. get() reads the
+ * position of the record from the index mapping and decodes the record directly from the data mapping.
+ * <br><br>
+ * Records are never moved: add() and set() append a new record to the data file, remove() only updates the index.
+ * Positional insertions and removals shift the positions inside the index file (8 bytes for every following element).
+ * The records which aren't referenced anymore are deleted by compact(), which writes a new data file and a new index file
+ * (the names of the files followed by ".compact") and replaces the old files only when both are complete. If the process
+ * stops between the two replacements, the new index file is moved in its place the next time the list is opened.
+ * <br><br>
+ * The changes are written to the files by the operating system; force() writes them to the storage device immediately.
+ * Every mapping is limited to Integer.MAX_VALUE bytes. An I/O error while the files are enlarged is thrown as
+ * UncheckedIOException. A MappedListAdapter must not be used by more than one thread, or by more than one instance,
+ * at the same time.
+ *
+ * @see myAdapter.ElementCodec
+ * @see myAdapter.HList
+ * @author Andrea Stocco
+ */
+public class MappedListAdapter extends AbstractHList implements AutoCloseable {
+
+    private static final int DATA_MAGIC = 0x484c5344; // "HLSD"
+    private static final int INDEX_MAGIC = 0x484c5349; // "HLSI"
+    private static final int VERSION = 1;
+    /**
+     * Size of the header of both files: magic number (int), version (int), end of the data or number of elements (long)
+     */
+    private static final int HEADER = 16;
+    private static final int INITIAL_DATA_CAPACITY = 4096;
+    private static final int INITIAL_INDEX_CAPACITY = HEADER + 8 * 64;
+
+    private final ElementCodec codec;
+    private final Path dataPath;
+    private final Path indexPath;
+    private FileChannel dataChannel;
+    private FileChannel indexChannel;
+    private MappedByteBuffer data;
+    private MappedByteBuffer index;
+    /**
+     * Number of elements of the list
+     */
+    private int size;
+    /**
+     * Position of the data file after the last record
+     */
+    private int dataEnd;
+
+    /**
+     * Constructor which opens the list stored in the specified file, or creates an empty list if the file doesn't exist.
+     * @param path path of the data file, the index file has the same path followed by ".index"
+     * @param codec the codec of the elements
+     * @throws IOException if the files can't be opened or they don't contain a list
+     * @throws NullPointerException if path == null || codec == null
+     */
+    public MappedListAdapter(Path path, ElementCodec codec) throws IOException {
+        if(path == null || codec == null) throw new NullPointerException();
+        this.codec = codec;
+        this.dataPath = path;
+        this.indexPath = path.resolveSibling(path.getFileName() + ".index");
+        recoverCompaction();
+        boolean exists = Files.exists(dataPath) && Files.size(dataPath) >= HEADER;
+        dataChannel = FileChannel.open(dataPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        indexChannel = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if(exists){
+            data = dataChannel.map(FileChannel.MapMode.READ_WRITE, 0, dataChannel.size());
+            index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexChannel.size());
+            if(data.getInt(0) != DATA_MAGIC || index.capacity() < HEADER || index.getInt(0) != INDEX_MAGIC
+                    || data.getInt(4) != VERSION || index.getInt(4) != VERSION){
+                close();
+                throw new IOException("Not a list file: " + dataPath);
+            }
+            long storedEnd = data.getLong(8), storedSize = index.getLong(8);
+            if(storedEnd < HEADER || storedEnd > data.capacity() || storedSize < 0
+                    || storedSize > (index.capacity() - HEADER) / 8){
+                close();
+                throw new IOException("Not a list file: " + dataPath);
+            }
+            dataEnd = (int) storedEnd;
+            size = (int) storedSize;
+        }else{
+            data = dataChannel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_DATA_CAPACITY);
+            index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_INDEX_CAPACITY);
+            data.putInt(0, DATA_MAGIC).putInt(4, VERSION);
+            index.putInt(0, INDEX_MAGIC).putInt(4, VERSION);
+            dataEnd = HEADER;
+            size = 0;
+            writeHeaders();
+        }
+    }
+
+    /**
+     * Method that finds the path of the temporary file which replaces a file at the end of compact()
+     * @param path the path of the file
+     * @return the path of the temporary file
+     */
+    private static Path compactPath(Path path){
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+
+    /**
+     * Method that completes or undoes a compaction which has been interrupted. If both the temporary files exist the data
+     * file hasn't been replaced yet, so they are deleted; if only the temporary index file exists the data file has been
+     * replaced, so the index file is replaced too.
+     * @throws IOException if a temporary file can't be deleted or moved
+     */
+    private void recoverCompaction() throws IOException {
+        Path dataTemporary = compactPath(dataPath), indexTemporary = compactPath(indexPath);
+        if(Files.exists(indexTemporary) && !Files.exists(dataTemporary)){
+            Files.move(indexTemporary, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }else{
+            Files.deleteIfExists(dataTemporary);
+            Files.deleteIfExists(indexTemporary);
+        }
+    }
+
+    /**
+     * Method that checks if the list has been closed
+     * @throws IllegalStateException if close() has been called
+     */
+    private void checkOpen(){
+        if(data == null) throw new IllegalStateException("The list has been closed");
+    }
+
+    /**
+     * Method that writes the end of the data and the number of elements in the headers of the files
+     */
+    private void writeHeaders(){
+        data.putLong(8, dataEnd);
+        index.putLong(8, size);
+    }
+
+    /**
+     * Method that enlarges a file and its mapping to contain at least the specified number of bytes
+     * @param channel the channel of the file
+     * @param mapping the current mapping of the file
+     * @param minCapacity the desired minimum size of the mapping
+     * @return the new mapping, or the current one if it is big enough
+     */
+    private static MappedByteBuffer grow(FileChannel channel, MappedByteBuffer mapping, long minCapacity){
+        if(minCapacity <= mapping.capacity()) return mapping;
+        if(minCapacity > Integer.MAX_VALUE) throw new IllegalStateException("The file is too large to be mapped");
+        long newCapacity = Math.min(Integer.MAX_VALUE, Math.max(minCapacity, 2L * mapping.capacity()));
+        try {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Method that appends the record of an element to the data file
+     * @param element the element to store
+     * @return the position of the new record
+     */
+    private int appendRecord(Object element){
+        byte[] bytes = element == null ? null : codec.encode(element);
+        int length = bytes == null ? 0 : bytes.length;
+        data = grow(dataChannel, data, (long) dataEnd + 4 + length);
+        int position = dataEnd;
+        data.putInt(position, bytes == null ? -1 : length);
+        if(bytes != null){
+            data.position(position + 4);
+            data.put(bytes);
+        }
+        dataEnd = position + 4 + length;
+        return position;
+    }
+
+    /**
+     * Method that reads the position of the record of an element from the index
+     * @param i index of the element
+     * @return the position of the record inside the data file
+     */
+    private int recordPosition(int i){
+        return (int) index.getLong(HEADER + 8 * i);
+    }
+
+    /**
+     * Method that decodes the record which starts at the specified position
+     * @param position position of the record inside the data file
+     * @return the element stored in the record
+     */
+    private Object readRecord(int position){
+        int length = data.getInt(position);
+        if(length < 0) return null;
+        data.position(position + 4);
+        return codec.decode(data, length);
+    }
+
+    /**
+     * Method that moves count positions of the index from the element src to the element dst. The ranges may overlap.
+     * @param src index of the first position to move
+     * @param dst index where the first position is moved
+     * @param count number of positions to move
+     */
+    private void moveIndex(int src, int dst, int count){
+        if(dst > src){
+            for(int i = count - 1; i >= 0; i--) index.putLong(HEADER + 8 * (dst + i), index.getLong(HEADER + 8 * (src + i)));
+        }else{
+            for(int i = 0; i < count; i++) index.putLong(HEADER + 8 * (dst + i), index.getLong(HEADER + 8 * (src + i)));
+        }
+    }
+
+    /**
+     * Method that calculates the size of the list
+     * @return the size of the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method for inspecting the element in a specified position in the list. The element is decoded directly from the mapping.
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @throws IllegalStateException if the list has been closed
+     * @return the element in that position
+     */
+    @Override
+    public Object get(int index) {
+        checkOpen();
+        checkIndex(index);
+        return readRecord(recordPosition(index));
+    }
+
+    /**
+     * Method for replacing an element in a specified position with a new one. The new element is appended to the data file.
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @throws IllegalStateException if the list has been closed
+     * @return the element that has been replaced
+     */
+    @Override
+    public Object set(int index, Object element) {
+        Object toReturn = get(index);
+        int position = appendRecord(element);
+        this.index.putLong(HEADER + 8 * index, position);
+        writeHeaders();
+        return toReturn;
+    }
+
+    /**
+     * Method for inserting an element in a specified position. The element is appended to the data file and its position
+     * is inserted in the index.
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @throws IllegalStateException if the list has been closed
+     */
+    @Override
+    public void add(int index, Object element) {
+        checkOpen();
+        checkPositionIndex(index);
+        this.index = grow(indexChannel, this.index, HEADER + 8L * (size + 1));
+        int position = appendRecord(element);
+        moveIndex(index, index + 1, size - index);
+        this.index.putLong(HEADER + 8 * index, position);
+        size++;
+        modCount++;
+        writeHeaders();
+    }
+
+    /**
+     * Method for removing an element specified by his index. Only the index is updated.
+     * @param index the index of the element to removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @throws IllegalStateException if the list has been closed
+     * @return the object that has been removed
+     */
+    @Override
+    public Object remove(int index) {
+        Object toReturn = get(index);
+        moveIndex(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        writeHeaders();
+        return toReturn;
+    }
+
+    /**
+     * Method for removing all the elements whose index is between fromIndex (inclusive) and toIndex (exclusive),
+     * shifting the index only once.
+     * @param fromIndex index of first element to be removed.
+     * @param toIndex index after last element to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     * @throws IllegalStateException if the list has been closed
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        checkOpen();
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        moveIndex(toIndex, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+        writeHeaders();
+    }
+
+    /**
+     * Method that rewrites the data file keeping only the records of the elements of the list, in the order of the list.
+     * <br><br>
+     * The compacted records and their positions are written in two temporary files, which are forced to the storage
+     * device. Then the data file is replaced, and after it the index file. The list isn't changed until the data file has
+     * been replaced: if an I/O operation fails before, the list and its files are the same as before the call.
+     * @throws IOException if the files can't be rewritten
+     * @throws IllegalStateException if the list has been closed
+     */
+    public void compact() throws IOException {
+        checkOpen();
+        Path dataTemporary = compactPath(dataPath), indexTemporary = compactPath(indexPath);
+        if(Files.exists(indexTemporary) && !Files.exists(dataTemporary)){
+            // the index file of the previous compaction hasn't been replaced yet, and it is the open one
+            replaceFile(indexTemporary, indexPath);
+        }
+        long liveBytes = HEADER;
+        for(int i = 0; i < size; i++){
+            liveBytes += 4 + Math.max(0, data.getInt(recordPosition(i)));
+        }
+        if(liveBytes > Integer.MAX_VALUE) throw new IllegalStateException("The file is too large to be mapped");
+        FileChannel newDataChannel = null, newIndexChannel = null;
+        boolean replaced = false;
+        try {
+            newDataChannel = FileChannel.open(dataTemporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            newIndexChannel = FileChannel.open(indexTemporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer newData = newDataChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(liveBytes, INITIAL_DATA_CAPACITY));
+            MappedByteBuffer newIndex = newIndexChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    Math.max(HEADER + 8L * size, INITIAL_INDEX_CAPACITY));
+            newData.putInt(0, DATA_MAGIC).putInt(4, VERSION).putLong(8, liveBytes);
+            newIndex.putInt(0, INDEX_MAGIC).putInt(4, VERSION).putLong(8, size);
+            newData.position(HEADER);
+            for(int i = 0; i < size; i++){
+                int position = recordPosition(i);
+                int length = 4 + Math.max(0, data.getInt(position));
+                newIndex.putLong(HEADER + 8 * i, newData.position());
+                data.limit(position + length).position(position);
+                newData.put(data);
+                data.clear();
+            }
+            newData.force();
+            newIndex.force();
+            replaceFile(dataTemporary, dataPath);
+            replaced = true;
+            FileChannel oldDataChannel = dataChannel, oldIndexChannel = indexChannel;
+            dataChannel = newDataChannel;
+            indexChannel = newIndexChannel;
+            data = newData;
+            index = newIndex;
+            dataEnd = (int) liveBytes;
+            try {
+                replaceFile(indexTemporary, indexPath);
+            } finally {
+                try {
+                    oldDataChannel.close();
+                } finally {
+                    oldIndexChannel.close();
+                }
+            }
+        } finally {
+            if(!replaced){
+                try {
+                    if(newDataChannel != null) newDataChannel.close();
+                    if(newIndexChannel != null) newIndexChannel.close();
+                } finally {
+                    Files.deleteIfExists(dataTemporary);
+                    Files.deleteIfExists(indexTemporary);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method used by compact() to replace a file with a temporary file, with an atomic move.
+     * <br><br>
+     * It can be overridden to observe or to make fail the replacements.
+     * @param source the temporary file
+     * @param target the file to replace
+     * @throws IOException if the file can't be moved
+     */
+    protected void replaceFile(Path source, Path target) throws IOException {
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Method that writes all the changes of the list to the storage device
+     * @throws IllegalStateException if the list has been closed
+     */
+    public void force() {
+        checkOpen();
+        data.force();
+        index.force();
+    }
+
+    /**
+     * Method that writes all the changes to the storage device and closes the files. After this call the list can't be
+     * used anymore. Calling close() more than once has no effect.
+     * @throws IOException if the files can't be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if(data == null) return;
+        data.force();
+        index.force();
+        data = null;
+        index = null;
+        try {
+            dataChannel.close();
+        } finally {
+            indexChannel.close();
+        }
+    }
+}
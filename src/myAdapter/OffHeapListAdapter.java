@@ -0,0 +1,371 @@
+package myAdapter;
+
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * List whose elements are stored outside the Java heap, as records of a fixed number of bytes inside direct ByteBuffers.
+ * <br><br>
+ * The elements are converted into records by a {@link FixedWidthCodec}. The records are stored in segments: every segment
+ * is a direct ByteBuffer which contains the same number of records (a power of two), so the record of index i is found
+ * with a shift and a mask. The segments are allocated when they are needed, so the size of the list isn't limited by the
+ * capacity of a single ByteBuffer, and the garbage collector only sees a few ByteBuffer objects whatever the size of the list.
+ * <br><br>
+ * get() reads the record with the absolute methods of ByteBuffer and the list doesn't allocate anything; the only object
+ * created by a read is the one returned by the codec. getInt(), getLong() and getDouble() read a single field of a record
+ * without creating any object.
+ * <br><br>
+ * Positional insertions and removals move the following records, like ListAdapter does.
+ * <br><br>
+ * The memory of the segments is released by free(). After that, every method which accesses the elements throws
+ * IllegalStateException.
+ *
+ * @see myAdapter.FixedWidthCodec
+ * @see myAdapter.HList
+ * @author Andrea Stocco
+ */
+public class OffHeapListAdapter extends AbstractHList {
+
+    /**
+     * Default number of records of a segment
+     */
+    private static final int DEFAULT_SEGMENT_RECORDS = 1 << 16;
+    /**
+     * Maximum number of bytes moved with a single copy
+     */
+    private static final int SCRATCH_BYTES = 1 << 16;
+    /**
+     * Method invokeCleaner(ByteBuffer) of sun.misc.Unsafe and the instance on which it is invoked,
+     * null if they aren't available
+     */
+    private static final Method INVOKE_CLEANER;
+    private static final Object UNSAFE;
+
+    static {
+        Method method = null;
+        Object unsafe = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            method = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            method = null;
+        }
+        INVOKE_CLEANER = method;
+        UNSAFE = unsafe;
+    }
+
+    private final FixedWidthCodec codec;
+    /**
+     * Number of bytes of a record
+     */
+    private final int width;
+    /**
+     * log2 of the number of records of a segment
+     */
+    private final int shift;
+    /**
+     * Number of records of a segment minus one
+     */
+    private final int mask;
+    /**
+     * Segments of the list, null after free()
+     */
+    private ByteBuffer[] segments;
+    /**
+     * Number of allocated segments
+     */
+    private int allocated;
+    /**
+     * Number of elements of the list
+     */
+    private int size;
+    /**
+     * Buffer used to move records, created when it is needed for the first time
+     */
+    private byte[] scratch;
+
+    /**
+     * Constructor which creates an empty list whose elements are converted by the specified codec
+     * @param codec the codec of the elements
+     * @throws NullPointerException if codec == null
+     */
+    public OffHeapListAdapter(FixedWidthCodec codec) {
+        this(codec, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    /**
+     * Constructor which creates an empty list whose elements are converted by the specified codec
+     * @param codec the codec of the elements
+     * @param segmentRecords number of records of a segment, rounded up to a power of two
+     * @throws NullPointerException if codec == null
+     * @throws IllegalArgumentException if segmentRecords <= 0, if codec.width() <= 0 or if a segment would be larger
+     * than Integer.MAX_VALUE bytes
+     */
+    public OffHeapListAdapter(FixedWidthCodec codec, int segmentRecords) {
+        if(codec == null) throw new NullPointerException();
+        if(segmentRecords <= 0 || codec.width() <= 0) throw new IllegalArgumentException();
+        int newShift = 32 - Integer.numberOfLeadingZeros(segmentRecords - 1);
+        if(((long) codec.width() << newShift) > Integer.MAX_VALUE) throw new IllegalArgumentException();
+        this.codec = codec;
+        this.width = codec.width();
+        this.shift = newShift;
+        this.mask = (1 << newShift) - 1;
+        this.segments = new ByteBuffer[0];
+    }
+
+    /**
+     * Method that checks if the memory of the list has been released
+     * @throws IllegalStateException if free() has been called
+     */
+    private void checkOpen(){
+        if(segments == null) throw new IllegalStateException("The list has been freed");
+    }
+
+    /**
+     * Method that allocates the segments needed to contain the specified number of records
+     * @param minCapacity the desired minimum number of records
+     */
+    public void ensureCapacity(int minCapacity) {
+        checkOpen();
+        int needed = (int) ((minCapacity + (long) mask) >>> shift);
+        if(needed <= allocated) return;
+        if(needed > segments.length){
+            ByteBuffer[] newSegments = new ByteBuffer[Math.max(needed, 2 * segments.length)];
+            System.arraycopy(segments, 0, newSegments, 0, allocated);
+            segments = newSegments;
+        }
+        for(; allocated < needed; allocated++){
+            segments[allocated] = ByteBuffer.allocateDirect(width << shift);
+        }
+    }
+
+    /**
+     * Method that releases the memory of all the segments. After this call the list can't be used anymore.
+     * <br><br>
+     * The memory is released immediately if the JVM allows it, otherwise it is released when the segments are
+     * garbage collected. Calling free() more than once has no effect.
+     */
+    public void free() {
+        if(segments == null) return;
+        for(int i = 0; i < allocated; i++){
+            release(segments[i]);
+        }
+        segments = null;
+        allocated = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Method that releases the memory of a direct ByteBuffer
+     * @param buffer the buffer to release
+     */
+    private static void release(ByteBuffer buffer){
+        if(INVOKE_CLEANER == null) return;
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // the memory will be released by the garbage collector
+        }
+    }
+
+    /**
+     * Method that calculates the size of the list
+     * @return the size of the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method for inspecting the element in a specified position in the list
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @throws IllegalStateException if the list has been freed
+     * @return the element decoded by the codec
+     */
+    @Override
+    public Object get(int index) {
+        checkOpen();
+        checkIndex(index);
+        return codec.read(segments[index >>> shift], (index & mask) * width);
+    }
+
+    /**
+     * Method for reading an int field of a record without decoding the whole element
+     * @param index index of the record.
+     * @param fieldOffset position of the field inside the record.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size() or if the field isn't inside the record
+     * @throws IllegalStateException if the list has been freed
+     * @return the value of the field
+     */
+    public int getInt(int index, int fieldOffset) {
+        int position = fieldPosition(index, fieldOffset, Integer.BYTES);
+        return segments[index >>> shift].getInt(position);
+    }
+
+    /**
+     * Method for reading a long field of a record without decoding the whole element
+     * @param index index of the record.
+     * @param fieldOffset position of the field inside the record.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size() or if the field isn't inside the record
+     * @throws IllegalStateException if the list has been freed
+     * @return the value of the field
+     */
+    public long getLong(int index, int fieldOffset) {
+        int position = fieldPosition(index, fieldOffset, Long.BYTES);
+        return segments[index >>> shift].getLong(position);
+    }
+
+    /**
+     * Method for reading a double field of a record without decoding the whole element
+     * @param index index of the record.
+     * @param fieldOffset position of the field inside the record.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size() or if the field isn't inside the record
+     * @throws IllegalStateException if the list has been freed
+     * @return the value of the field
+     */
+    public double getDouble(int index, int fieldOffset) {
+        int position = fieldPosition(index, fieldOffset, Double.BYTES);
+        return segments[index >>> shift].getDouble(position);
+    }
+
+    /**
+     * Method that calculates the position of a field inside its segment
+     * @param index index of the record
+     * @param fieldOffset position of the field inside the record
+     * @param fieldWidth number of bytes of the field
+     * @return the position of the field inside the segment of the record
+     */
+    private int fieldPosition(int index, int fieldOffset, int fieldWidth){
+        checkOpen();
+        checkIndex(index);
+        if(fieldOffset < 0 || fieldOffset + fieldWidth > width) throw new IndexOutOfBoundsException("Field offset: " + fieldOffset);
+        return (index & mask) * width + fieldOffset;
+    }
+
+    /**
+     * Method for replacing an element in a specified position with a new one
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @throws IllegalStateException if the list has been freed
+     * @return the element that has been replaced
+     */
+    @Override
+    public Object set(int index, Object element) {
+        Object toReturn = get(index);
+        codec.write(segments[index >>> shift], (index & mask) * width, element);
+        return toReturn;
+    }
+
+    /**
+     * Method for inserting an element in a specified position. The following records are moved forward.
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @throws IllegalStateException if the list has been freed
+     */
+    @Override
+    public void add(int index, Object element) {
+        checkOpen();
+        checkPositionIndex(index);
+        ensureCapacity(size + 1);
+        moveRecords(index, index + 1, size - index);
+        try {
+            codec.write(segments[index >>> shift], (index & mask) * width, element);
+        } catch (RuntimeException e) {
+            moveRecords(index + 1, index, size - index);
+            throw e;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Method for removing an element specified by his index. The following records are moved backward.
+     * @param index the index of the element to removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @throws IllegalStateException if the list has been freed
+     * @return the object that has been removed
+     */
+    @Override
+    public Object remove(int index) {
+        Object toReturn = get(index);
+        moveRecords(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        return toReturn;
+    }
+
+    /**
+     * Method for removing all the elements whose index is between fromIndex (inclusive) and toIndex (exclusive),
+     * moving the following records only once.
+     * @param fromIndex index of first element to be removed.
+     * @param toIndex index after last element to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     * @throws IllegalStateException if the list has been freed
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        checkOpen();
+        if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        moveRecords(toIndex, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    /**
+     * Method that copies count records from the index src to the index dst. The ranges may overlap.
+     * The records are copied in pieces which don't cross the end of a segment, through the scratch buffer.
+     * @param src index of the first record to copy
+     * @param dst index where the first record is copied
+     * @param count number of records to copy
+     */
+    private void moveRecords(int src, int dst, int count){
+        if(count <= 0 || src == dst) return;
+        if(scratch == null) scratch = new byte[Math.max(width, Math.min(SCRATCH_BYTES, width << shift) / width * width)];
+        int scratchRecords = scratch.length / width;
+        if(dst > src){
+            // the records are copied from the last one, so they aren't overwritten before being copied
+            while(count > 0){
+                int srcEnd = src + count, dstEnd = dst + count;
+                int length = Math.min(Math.min(count, scratchRecords),
+                        Math.min(((srcEnd - 1) & mask) + 1, ((dstEnd - 1) & mask) + 1));
+                copyRecords(srcEnd - length, dstEnd - length, length);
+                count -= length;
+            }
+        }else{
+            while(count > 0){
+                int length = Math.min(Math.min(count, scratchRecords),
+                        Math.min(mask + 1 - (src & mask), mask + 1 - (dst & mask)));
+                copyRecords(src, dst, length);
+                src += length;
+                dst += length;
+                count -= length;
+            }
+        }
+    }
+
+    /**
+     * Method that copies records which are inside a single segment to a single segment, through the scratch buffer
+     * @param src index of the first record to copy
+     * @param dst index where the first record is copied
+     * @param count number of records to copy
+     */
+    private void copyRecords(int src, int dst, int count){
+        ByteBuffer source = segments[src >>> shift].duplicate();
+        source.position((src & mask) * width);
+        source.get(scratch, 0, count * width);
+        ByteBuffer target = segments[dst >>> shift].duplicate();
+        target.position((dst & mask) * width);
+        target.put(scratch, 0, count * width);
+    }
+}
@@ -0,0 +1,204 @@
+package myAdapter;
+
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Stable parallel merge sort of a range of an Object[], executed by a ForkJoinPool.
+ * <br><br>
+ * The range is split in halves until the pieces contain at most threshold elements, which are sorted with Arrays.sort().
+ * The sorted halves are merged alternating between the array and a workspace as long as the range, so the elements are
+ * never copied back after a merge. The element i of the range is stored in the position i - fromIndex of the workspace.
+ * Also the merges are split: the middle element of the longer run is searched with a binary search in the other run, and
+ * the two parts of the merge are executed in parallel.
+ * <br><br>
+ * Equal elements keep their order: when they are in both runs the ones of the left run are written first.
+ *
+ * @see myAdapter.ListAdapter#parallelSort(Comparator, ForkJoinPool, int)
+ * @author Andrea Stocco
+ */
+class ParallelMergeSort {
+
+    /**
+     * Default number of elements below which a range is sorted sequentially
+     */
+    static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    private ParallelMergeSort() {
+    }
+
+    /**
+     * Method that sorts the elements of an array between fromIndex (inclusive) and toIndex (exclusive)
+     * @param a the array to sort
+     * @param fromIndex index of the first element to sort
+     * @param toIndex index after the last element to sort
+     * @param c the comparator of the elements, null for their natural ordering
+     * @param pool the pool which executes the tasks
+     * @param threshold number of elements below which a range is sorted sequentially
+     */
+    static void sort(Object[] a, int fromIndex, int toIndex, Comparator c, ForkJoinPool pool, int threshold){
+        if(toIndex - fromIndex <= threshold){
+            Arrays.sort(a, fromIndex, toIndex, c);
+            return;
+        }
+        if(c == null) c = NATURAL;
+        Object[] workspace = new Object[toIndex - fromIndex];
+        pool.invoke(new Sorter(a, workspace, fromIndex, fromIndex, toIndex, false, c, threshold));
+    }
+
+    /**
+     * Comparator of the natural ordering
+     */
+    private static final Comparator NATURAL = (first, second) -> ((Comparable) first).compareTo(second);
+
+    /**
+     * Task that sorts a range and leaves the result in the array or in the workspace
+     */
+    private static class Sorter extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] a, workspace;
+        private final int base, fromIndex, toIndex, threshold;
+        private final boolean toWorkspace;
+        private final Comparator c;
+
+        /**
+         * It creates a task which sorts the range of a
+         * @param a the array which contains the elements
+         * @param workspace the array used by the merges
+         * @param base index of a which is stored in the position 0 of the workspace
+         * @param fromIndex index of the first element to sort
+         * @param toIndex index after the last element to sort
+         * @param toWorkspace true if the sorted range must be left in the workspace, false if it must be left in a
+         * @param c the comparator of the elements
+         * @param threshold number of elements below which the range is sorted sequentially
+         */
+        Sorter(Object[] a, Object[] workspace, int base, int fromIndex, int toIndex, boolean toWorkspace, Comparator c,
+               int threshold){
+            this.a = a;
+            this.workspace = workspace;
+            this.base = base;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.toWorkspace = toWorkspace;
+            this.c = c;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if(toIndex - fromIndex <= threshold){
+                Arrays.sort(a, fromIndex, toIndex, c);
+                if(toWorkspace) System.arraycopy(a, fromIndex, workspace, fromIndex - base, toIndex - fromIndex);
+                return;
+            }
+            int middle = (fromIndex + toIndex) >>> 1;
+            invokeAll(new Sorter(a, workspace, base, fromIndex, middle, !toWorkspace, c, threshold),
+                    new Sorter(a, workspace, base, middle, toIndex, !toWorkspace, c, threshold));
+            Object[] source = toWorkspace ? a : workspace, target = toWorkspace ? workspace : a;
+            int sourceBase = toWorkspace ? 0 : base, targetBase = toWorkspace ? base : 0;
+            new Merger(source, target, sourceBase, targetBase, fromIndex, middle, middle, toIndex, fromIndex, c, threshold)
+                    .compute();
+        }
+    }
+
+    /**
+     * Task that merges two sorted runs of an array into another array. The indexes are the ones of the sorted array: the
+     * index i is stored in the position i - sourceBase of source and i - targetBase of target.
+     */
+    private static class Merger extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] source, target;
+        private final int sourceBase, targetBase;
+        private final int leftFrom, leftTo, rightFrom, rightTo, targetFrom, threshold;
+        private final Comparator c;
+
+        /**
+         * It creates a task which merges source[leftFrom, leftTo) and source[rightFrom, rightTo) into target, from targetFrom
+         * @param source the array which contains the runs
+         * @param target the array where the merged elements are written
+         * @param sourceBase index stored in the position 0 of source
+         * @param targetBase index stored in the position 0 of target
+         * @param leftFrom index of the first element of the left run
+         * @param leftTo index after the last element of the left run
+         * @param rightFrom index of the first element of the right run
+         * @param rightTo index after the last element of the right run
+         * @param targetFrom index of target where the first merged element is written
+         * @param c the comparator of the elements
+         * @param threshold number of elements below which the runs are merged sequentially
+         */
+        Merger(Object[] source, Object[] target, int sourceBase, int targetBase, int leftFrom, int leftTo, int rightFrom,
+               int rightTo, int targetFrom, Comparator c, int threshold){
+            this.source = source;
+            this.target = target;
+            this.sourceBase = sourceBase;
+            this.targetBase = targetBase;
+            this.leftFrom = leftFrom;
+            this.leftTo = leftTo;
+            this.rightFrom = rightFrom;
+            this.rightTo = rightTo;
+            this.targetFrom = targetFrom;
+            this.c = c;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftTo - leftFrom, rightLength = rightTo - rightFrom;
+            if(leftLength + rightLength <= threshold || leftLength == 0 || rightLength == 0){
+                merge();
+                return;
+            }
+            int leftSplit, rightSplit;
+            if(leftLength >= rightLength){
+                leftSplit = (leftFrom + leftTo) >>> 1;
+                rightSplit = search(source[leftSplit - sourceBase], rightFrom, rightTo, true);
+            }else{
+                rightSplit = (rightFrom + rightTo) >>> 1;
+                leftSplit = search(source[rightSplit - sourceBase], leftFrom, leftTo, false);
+            }
+            int targetSplit = targetFrom + (leftSplit - leftFrom) + (rightSplit - rightFrom);
+            invokeAll(new Merger(source, target, sourceBase, targetBase, leftFrom, leftSplit, rightFrom, rightSplit, targetFrom,
+                            c, threshold),
+                    new Merger(source, target, sourceBase, targetBase, leftSplit, leftTo, rightSplit, rightTo, targetSplit,
+                            c, threshold));
+        }
+
+        /**
+         * It finds with a binary search the first element of a run which is greater than (or, if inclusive is true,
+         * greater than or equal to) the specified one
+         * @param key the element to search for
+         * @param from index of the first element of the run
+         * @param to index after the last element of the run
+         * @param inclusive true to find the first element >= key, false to find the first element > key
+         * @return an index between from and to
+         */
+        private int search(Object key, int from, int to, boolean inclusive){
+            while(from < to){
+                int middle = (from + to) >>> 1;
+                int comparison = c.compare(source[middle - sourceBase], key);
+                if(comparison < 0 || (!inclusive && comparison == 0)) from = middle + 1;
+                else to = middle;
+            }
+            return from;
+        }
+
+        /**
+         * It merges the two runs sequentially, taking the element of the left run when two elements are equal
+         */
+        private void merge(){
+            int i = leftFrom - sourceBase, j = rightFrom - sourceBase, k = targetFrom - targetBase;
+            int leftEnd = leftTo - sourceBase, rightEnd = rightTo - sourceBase;
+            while(i < leftEnd && j < rightEnd){
+                if(c.compare(source[j], source[i]) < 0) target[k++] = source[j++];
+                else target[k++] = source[i++];
+            }
+            System.arraycopy(source, i, target, k, leftEnd - i);
+            System.arraycopy(source, j, target, k + leftEnd - i, rightEnd - j);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package myAdapter;
+
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Parallel searches over a range of a Vector or of an array, executed by a ForkJoinPool.
+ * <br><br>
+ * The range is split in halves until the pieces contain at most threshold elements. The tasks share the result found so
+ * far, so that the tasks which can't improve it stop without scanning their piece:
+ * <br>
+ * indexOf() keeps the lowest matching index in an AtomicInteger. A piece which starts after that index is skipped, and
+ * a piece being scanned stops when it passes it, so the result is always the leftmost match.
+ * <br>
+ * allMatch() keeps a flag which is set by the first element that doesn't match, and all the pieces stop.
+ * <br><br>
+ * The scanned pieces check the shared result every 1024 elements.
+ *
+ * @see myAdapter.ListAdapter#parallelIndexOf(Object, ForkJoinPool, int)
+ * @author Andrea Stocco
+ */
+class ParallelSearch {
+
+    /**
+     * Default number of elements below which a range is scanned sequentially
+     */
+    static final int DEFAULT_THRESHOLD = 1 << 14;
+    /**
+     * Number of elements scanned between two checks of the shared result
+     */
+    private static final int BLOCK = 1024;
+
+    private ParallelSearch() {
+    }
+
+    /**
+     * Method that finds the first occurrence of an element between fromIndex (inclusive) and toIndex (exclusive) of a vector
+     * @param list the vector to search
+     * @param fromIndex index of the first element to search
+     * @param toIndex index after the last element to search
+     * @param obj the element to search for
+     * @param pool the pool which executes the search
+     * @param threshold number of elements below which a range is scanned sequentially
+     * @return the index of the first occurrence of obj inside the range, -1 if obj isn't inside the range
+     */
+    static int indexOf(Vector list, int fromIndex, int toIndex, Object obj, ForkJoinPool pool, int threshold){
+        AtomicInteger best = new AtomicInteger(Integer.MAX_VALUE);
+        pool.invoke(new IndexOfTask(list, fromIndex, toIndex, obj, best, threshold));
+        return best.get() == Integer.MAX_VALUE ? -1 : best.get();
+    }
+
+    /**
+     * Method that checks if all the elements of an array satisfy a predicate
+     * @param elements the elements to check
+     * @param test the predicate, which must be safe to be called by more threads at the same time
+     * @param pool the pool which executes the checks
+     * @param threshold number of elements below which a range is checked sequentially
+     * @return true if test is true for every element, false otherwise
+     */
+    static boolean allMatch(Object[] elements, Predicate<Object> test, ForkJoinPool pool, int threshold){
+        AtomicBoolean failed = new AtomicBoolean();
+        pool.invoke(new AllMatchTask(elements, 0, elements.length, test, failed, threshold));
+        return !failed.get();
+    }
+
+    /**
+     * Task that searches an element in a range of a vector
+     */
+    private static class IndexOfTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Vector list;
+        private final int fromIndex, toIndex, threshold;
+        private final Object obj;
+        private final AtomicInteger best;
+
+        /**
+         * It creates a task which searches obj between fromIndex and toIndex
+         * @param list the vector to search
+         * @param fromIndex index of the first element to search
+         * @param toIndex index after the last element to search
+         * @param obj the element to search for
+         * @param best the lowest index of obj found so far, Integer.MAX_VALUE if obj hasn't been found
+         * @param threshold number of elements below which the range is scanned sequentially
+         */
+        IndexOfTask(Vector list, int fromIndex, int toIndex, Object obj, AtomicInteger best, int threshold){
+            this.list = list;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.obj = obj;
+            this.best = best;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if(fromIndex >= best.get()) return;
+            if(toIndex - fromIndex <= threshold){
+                scan();
+                return;
+            }
+            int middle = (fromIndex + toIndex) >>> 1;
+            IndexOfTask right = new IndexOfTask(list, middle, toIndex, obj, best, threshold);
+            right.fork();
+            new IndexOfTask(list, fromIndex, middle, obj, best, threshold).compute();
+            right.join();
+        }
+
+        /**
+         * It scans the range sequentially and publishes the first occurrence of obj, if it is lower than the best one
+         */
+        private void scan(){
+            for(int block = fromIndex; block < toIndex; block += BLOCK){
+                if(block >= best.get()) return;
+                int end = Math.min(toIndex, block + BLOCK);
+                for(int i = block; i < end; i++){
+                    Object current = list.elementAt(i);
+                    if(obj == null ? current == null : obj.equals(current)){
+                        best.accumulateAndGet(i, Math::min);
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Task that checks a predicate on a range of an array
+     */
+    private static class AllMatchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] elements;
+        private final int fromIndex, toIndex, threshold;
+        private final Predicate<Object> test;
+        private final AtomicBoolean failed;
+
+        /**
+         * It creates a task which checks the elements between fromIndex and toIndex
+         * @param elements the elements to check
+         * @param fromIndex index of the first element to check
+         * @param toIndex index after the last element to check
+         * @param test the predicate
+         * @param failed flag set when an element doesn't satisfy the predicate
+         * @param threshold number of elements below which the range is checked sequentially
+         */
+        AllMatchTask(Object[] elements, int fromIndex, int toIndex, Predicate<Object> test, AtomicBoolean failed, int threshold){
+            this.elements = elements;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+            this.test = test;
+            this.failed = failed;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if(failed.get()) return;
+            if(toIndex - fromIndex <= threshold){
+                for(int block = fromIndex; block < toIndex && !failed.get(); block += BLOCK){
+                    int end = Math.min(toIndex, block + BLOCK);
+                    for(int i = block; i < end; i++){
+                        if(!test.test(elements[i])){
+                            failed.set(true);
+                            return;
+                        }
+                    }
+                }
+                return;
+            }
+            int middle = (fromIndex + toIndex) >>> 1;
+            invokeAll(new AllMatchTask(elements, fromIndex, middle, test, failed, threshold),
+                    new AllMatchTask(elements, middle, toIndex, test, failed, threshold));
+        }
+    }
+}
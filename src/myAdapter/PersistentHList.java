@@ -0,0 +1,602 @@
+package myAdapter;
+
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable list whose changes return a new version of the list, which shares most of its structure with the old one.
+ * <br><br>
+ * The elements are stored in a tree with branching factor 32, like the relaxed radix balanced trees: the leaves contain up
+ * to 32 elements, and every internal node contains up to 32 children and a table with the cumulative sizes of its children,
+ * which is used to find the child that contains an index. All the leaves are at the same depth and every node except the
+ * root contains at least 16 slots, so the depth of a tree with n elements is O(log32 n).
+ * <br><br>
+ * with(), plus(), insert() and without() copy only the nodes on the path from the root to the changed leaf (and at most
+ * one sibling for every level, when a node is split or merged), so they take O(log32 n) time and memory. concat() joins
+ * the shorter tree to the border of the taller one, copying O(log32 n) nodes too.
+ * <br><br>
+ * The methods of HList which change the list throw UnsupportedOperationException; the list, its iterators and its views
+ * can be shared by any number of threads without synchronization.
+ *
+ * @see myAdapter.HList
+ * @author Andrea Stocco
+ */
+public final class PersistentHList extends AbstractHList {
+
+    /**
+     * Maximum number of slots (elements or children) of a node
+     */
+    static final int BRANCHING = 32;
+    /**
+     * Minimum number of slots of a node which isn't the root
+     */
+    static final int MIN_SLOTS = BRANCHING / 2;
+
+    private static final PersistentHList EMPTY = new PersistentHList(new Object[0], 0, 0);
+
+    /**
+     * The root of the tree: an Object[] of elements if height == 0, a Node otherwise
+     */
+    private final Object root;
+    private final int height;
+    private final int size;
+
+    /**
+     * Internal node of the tree. sizes[i] is the number of elements contained in children[0..i].
+     */
+    private static final class Node {
+        final Object[] children;
+        final int[] sizes;
+
+        Node(Object[] children, int[] sizes){
+            this.children = children;
+            this.sizes = sizes;
+        }
+    }
+
+    private PersistentHList(Object root, int height, int size) {
+        this.root = root;
+        this.height = height;
+        this.size = size;
+    }
+
+    /**
+     * Method that returns the empty persistent list
+     * @return a list without elements
+     */
+    public static PersistentHList empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Method that creates a persistent list with the elements of the specified collection, in the order of its iterator.
+     * The tree is built bottom-up with full nodes, in O(n) time.
+     * @param coll the collection whose elements are copied in the list
+     * @throws NullPointerException if coll == null
+     * @return a new persistent list
+     */
+    public static PersistentHList of(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        Object[] elements = coll.toArray();
+        if(elements.length == 0) return EMPTY;
+        Object[] level = group(elements, 0);
+        int h = 0;
+        while(level.length > 1){
+            h++;
+            level = group(level, h);
+        }
+        return new PersistentHList(level[0], h, elements.length);
+    }
+
+    /**
+     * Method that groups the slots of a level of the tree in nodes of BRANCHING slots. The last two nodes share their slots
+     * if the last one would contain less than MIN_SLOTS slots.
+     * @param slots the elements (if h == 0) or the nodes of the level
+     * @param h the height of the nodes to create
+     * @return the nodes of the level above
+     */
+    private static Object[] group(Object[] slots, int h){
+        int count = (slots.length + BRANCHING - 1) / BRANCHING;
+        Object[] nodes = new Object[count];
+        for(int i = 0; i < count; i++){
+            int from = i * BRANCHING, to = Math.min(slots.length, from + BRANCHING);
+            if(count > 1 && i == count - 2 && slots.length - to < MIN_SLOTS){
+                to = (from + slots.length + 1) >>> 1;
+                nodes[i] = make(Arrays.copyOfRange(slots, from, to), h);
+                nodes[i + 1] = make(Arrays.copyOfRange(slots, to, slots.length), h);
+                break;
+            }
+            nodes[i] = make(Arrays.copyOfRange(slots, from, to), h);
+        }
+        return nodes;
+    }
+
+    /**
+     * Method that creates a node from its slots
+     * @param slots the elements (if h == 0) or the children of the node
+     * @param h the height of the node
+     * @return the slots themselves if h == 0, a Node with its table of sizes otherwise
+     */
+    private static Object make(Object[] slots, int h){
+        if(h == 0) return slots;
+        int[] sizes = new int[slots.length];
+        int total = 0;
+        for(int i = 0; i < slots.length; i++){
+            total += count(slots[i], h - 1);
+            sizes[i] = total;
+        }
+        return new Node(slots, sizes);
+    }
+
+    /**
+     * Method that returns the slots of a node
+     * @param node the node
+     * @param h the height of the node
+     * @return the elements if h == 0, the children otherwise
+     */
+    private static Object[] slots(Object node, int h){
+        return h == 0 ? (Object[]) node : ((Node) node).children;
+    }
+
+    /**
+     * Method that counts the elements contained in a node
+     * @param node the node
+     * @param h the height of the node
+     * @return the number of elements of the subtree
+     */
+    private static int count(Object node, int h){
+        if(h == 0) return ((Object[]) node).length;
+        int[] sizes = ((Node) node).sizes;
+        return sizes[sizes.length - 1];
+    }
+
+    /**
+     * Method that finds the child of a node which contains an index
+     * @param sizes the table of sizes of the node
+     * @param index index inside the node
+     * @return the first slot whose cumulative size is greater than index
+     */
+    private static int slot(int[] sizes, int index){
+        int low = 0, high = sizes.length - 1;
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            if(sizes[middle] <= index) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Method that creates one node from slots, or two nodes with half of the slots each if they are more than BRANCHING
+     * @param slots the slots, at most 2 * BRANCHING
+     * @param h the height of the nodes
+     * @return an array with one or two nodes
+     */
+    private static Object[] rebalance(Object[] slots, int h){
+        if(slots.length <= BRANCHING) return new Object[]{make(slots, h)};
+        int half = slots.length >>> 1;
+        return new Object[]{make(Arrays.copyOfRange(slots, 0, half), h), make(Arrays.copyOfRange(slots, half, slots.length), h)};
+    }
+
+    /**
+     * Method that replaces the slots between fromIndex and toIndex of an array with other slots
+     * @param slots the original slots
+     * @param fromIndex index of the first slot to replace
+     * @param toIndex index after the last slot to replace
+     * @param replacement the new slots
+     * @return a new array
+     */
+    private static Object[] splice(Object[] slots, int fromIndex, int toIndex, Object[] replacement){
+        Object[] result = new Object[slots.length - (toIndex - fromIndex) + replacement.length];
+        System.arraycopy(slots, 0, result, 0, fromIndex);
+        System.arraycopy(replacement, 0, result, fromIndex, replacement.length);
+        System.arraycopy(slots, toIndex, result, fromIndex + replacement.length, slots.length - toIndex);
+        return result;
+    }
+
+    /**
+     * Method that concatenates two arrays of slots
+     * @param first the first slots
+     * @param second the second slots
+     * @return a new array
+     */
+    private static Object[] join(Object[] first, Object[] second){
+        Object[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /**
+     * Method that creates a list from the nodes returned by an operation on the root
+     * @param nodes one or two nodes of height h
+     * @param h the height of the nodes
+     * @param size the number of elements
+     * @return a new list, whose root is a new node if there are two nodes, or the only child of the node if it has one
+     */
+    private static PersistentHList tree(Object[] nodes, int h, int size){
+        if(size == 0) return EMPTY;
+        Object top = nodes.length == 1 ? nodes[0] : make(nodes, ++h);
+        while(h > 0 && ((Node) top).children.length == 1){
+            top = ((Node) top).children[0];
+            h--;
+        }
+        return new PersistentHList(top, h, size);
+    }
+
+    /**
+     * Method that calculates the size of the list
+     * @return the number of elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Method for inspecting the element in a specified position, in O(log32 n) time
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element in that position
+     */
+    @Override
+    public Object get(int index) {
+        checkIndex(index);
+        Object node = root;
+        for(int h = height; h > 0; h--){
+            Node current = (Node) node;
+            int slot = slot(current.sizes, index);
+            if(slot > 0) index -= current.sizes[slot - 1];
+            node = current.children[slot];
+        }
+        return ((Object[]) node)[index];
+    }
+
+    /**
+     * Method that returns a new version of the list with an element replaced
+     * @param index index of element to replace.
+     * @param element element to be stored at the specified position.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return a new list, which shares all the nodes with this list except the ones on the path to index
+     */
+    public PersistentHList with(int index, Object element) {
+        checkIndex(index);
+        return new PersistentHList(with(root, height, index, element), height, size);
+    }
+
+    private static Object with(Object node, int h, int index, Object element){
+        if(h == 0){
+            Object[] leaf = ((Object[]) node).clone();
+            leaf[index] = element;
+            return leaf;
+        }
+        Node current = (Node) node;
+        int slot = slot(current.sizes, index);
+        Object[] children = current.children.clone();
+        children[slot] = with(children[slot], h - 1, slot > 0 ? index - current.sizes[slot - 1] : index, element);
+        return new Node(children, current.sizes);
+    }
+
+    /**
+     * Method that returns a new version of the list with an element appended
+     * @param element element to be appended.
+     * @return a new list
+     */
+    public PersistentHList plus(Object element) {
+        return insert(size, element);
+    }
+
+    /**
+     * Method that returns a new version of the list with an element inserted in a specified position
+     * @param index index at which the specified element is to be inserted.
+     * @param element element to be inserted.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @return a new list
+     */
+    public PersistentHList insert(int index, Object element) {
+        checkPositionIndex(index);
+        return tree(insert(root, height, index, element), height, size + 1);
+    }
+
+    /**
+     * Method that inserts an element in a subtree
+     * @return the new node, or two nodes if it has been split
+     */
+    private static Object[] insert(Object node, int h, int index, Object element){
+        if(h == 0) return rebalance(splice((Object[]) node, index, index, new Object[]{element}), 0);
+        Node current = (Node) node;
+        int slot = slot(current.sizes, index);
+        int childIndex = slot > 0 ? index - current.sizes[slot - 1] : index;
+        Object[] replacement = insert(current.children[slot], h - 1, childIndex, element);
+        return rebalance(splice(current.children, slot, slot + 1, replacement), h);
+    }
+
+    /**
+     * Method that returns a new version of the list without the element in a specified position
+     * @param index the index of the element to remove.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return a new list
+     */
+    public PersistentHList without(int index) {
+        checkIndex(index);
+        return tree(new Object[]{without(root, height, index)}, height, size - 1);
+    }
+
+    /**
+     * Method that removes an element from a subtree. A child which has less than MIN_SLOTS slots is merged with a sibling.
+     * @return the new node, which can have less than MIN_SLOTS slots
+     */
+    private static Object without(Object node, int h, int index){
+        if(h == 0) return splice((Object[]) node, index, index + 1, new Object[0]);
+        Node current = (Node) node;
+        int slot = slot(current.sizes, index);
+        Object child = without(current.children[slot], h - 1, slot > 0 ? index - current.sizes[slot - 1] : index);
+        Object[] childSlots = slots(child, h - 1);
+        if(childSlots.length >= MIN_SLOTS || current.children.length == 1){
+            Object[] children = current.children.clone();
+            children[slot] = child;
+            return make(children, h);
+        }
+        int first = slot > 0 ? slot - 1 : slot;
+        Object[] merged = first < slot ? join(slots(current.children[first], h - 1), childSlots)
+                : join(childSlots, slots(current.children[slot + 1], h - 1));
+        return make(splice(current.children, first, first + 2, rebalance(merged, h - 1)), h);
+    }
+
+    /**
+     * Method that returns the concatenation of this list and another one, in O(log32 n) time
+     * @param other the list whose elements follow the ones of this list
+     * @throws NullPointerException if other == null
+     * @return a new list, which shares most of the nodes of the two lists
+     */
+    public PersistentHList concat(PersistentHList other) {
+        if(other == null) throw new NullPointerException();
+        if(other.size == 0) return this;
+        if(size == 0) return other;
+        int h = Math.max(height, other.height);
+        Object[] nodes;
+        if(height == other.height) nodes = rebalance(join(slots(root, h), slots(other.root, h)), h);
+        else if(height > other.height) nodes = appendRight(root, height, other.root, other.height);
+        else nodes = prependLeft(other.root, other.height, root, height);
+        return tree(nodes, h, size + other.size);
+    }
+
+    /**
+     * Method that joins a shorter tree to the right border of a taller one
+     * @param node the taller tree
+     * @param h the height of node, greater than rightHeight
+     * @param right the shorter tree
+     * @param rightHeight the height of right
+     * @return the new node, or two nodes if it has been split
+     */
+    private static Object[] appendRight(Object node, int h, Object right, int rightHeight){
+        Object[] children = ((Node) node).children;
+        int last = children.length - 1;
+        Object[] replacement = h == rightHeight + 1
+                ? rebalance(join(slots(children[last], rightHeight), slots(right, rightHeight)), rightHeight)
+                : appendRight(children[last], h - 1, right, rightHeight);
+        return rebalance(splice(children, last, last + 1, replacement), h);
+    }
+
+    /**
+     * Method that joins a shorter tree to the left border of a taller one
+     * @param node the taller tree
+     * @param h the height of node, greater than leftHeight
+     * @param left the shorter tree
+     * @param leftHeight the height of left
+     * @return the new node, or two nodes if it has been split
+     */
+    private static Object[] prependLeft(Object node, int h, Object left, int leftHeight){
+        Object[] children = ((Node) node).children;
+        Object[] replacement = h == leftHeight + 1
+                ? rebalance(join(slots(left, leftHeight), slots(children[0], leftHeight)), leftHeight)
+                : prependLeft(children[0], h - 1, left, leftHeight);
+        return rebalance(splice(children, 0, 1, replacement), h);
+    }
+
+    /**
+     * Method that returns an Object[] which contains all the elements of the list, copying whole leaves.
+     * @return a new Object[] that contains a copy of all the elements of the list
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        copy(root, height, result, 0);
+        return result;
+    }
+
+    private static int copy(Object node, int h, Object[] target, int offset){
+        if(h == 0){
+            Object[] leaf = (Object[]) node;
+            System.arraycopy(leaf, 0, target, offset, leaf.length);
+            return offset + leaf.length;
+        }
+        for (Object child : ((Node) node).children) {
+            offset = copy(child, h - 1, target, offset);
+        }
+        return offset;
+    }
+
+    /**
+     * Method that returns an iterator which reads one leaf at a time
+     * @return a new instance of HIterator, which doesn't support remove()
+     */
+    @Override
+    public HIterator iterator() {
+        return new LeafIterator(0);
+    }
+
+    /**
+     * Method that returns a list iterator which reads one leaf at a time, pointing to the specified position
+     * @param index index of first element to be returned from the list iterator (by a call to the next method).
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @return a new instance of HListIterator, which doesn't support remove(), set() and add()
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        checkPositionIndex(index);
+        return new LeafIterator(index);
+    }
+
+    /**
+     * Operation not supported, the list is immutable: use plus()
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean add(Object obj) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list is immutable
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean remove(Object obj) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list is immutable: use concat()
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addAll(HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list is immutable
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean addAll(int index, HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list is immutable
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean removeAll(HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list is immutable
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean retainAll(HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list is immutable
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Operation not supported, the list is immutable
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * List iterator which keeps the current leaf, so that it descends the tree only when it moves to another leaf.
+     */
+    private class LeafIterator implements HListIterator {
+        private int cursor;
+        private Object[] leaf;
+        private int leafStart;
+
+        public LeafIterator(int index){
+            cursor = index;
+        }
+
+        /**
+         * It loads the leaf which contains an index
+         * @param index index of an element of the list
+         */
+        private void load(int index){
+            Object node = root;
+            int start = 0, offset = index;
+            for(int h = height; h > 0; h--){
+                Node current = (Node) node;
+                int slot = slot(current.sizes, offset);
+                if(slot > 0){
+                    offset -= current.sizes[slot - 1];
+                    start += current.sizes[slot - 1];
+                }
+                node = current.children[slot];
+            }
+            leaf = (Object[]) node;
+            leafStart = start;
+        }
+
+        /**
+         * It returns an element, loading its leaf if it isn't the current one
+         * @param index index of the element
+         * @return the element
+         */
+        private Object element(int index){
+            if(leaf == null || index < leafStart || index >= leafStart + leaf.length) load(index);
+            return leaf[index - leafStart];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public Object next() {
+            if(!hasNext()) throw new NoSuchElementException();
+            return element(cursor++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public Object previous() {
+            if(!hasPrevious()) throw new NoSuchElementException();
+            return element(--cursor);
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(Object obj) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(Object obj) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
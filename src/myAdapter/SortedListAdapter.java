@@ -0,0 +1,372 @@
+package myAdapter;
+
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * List which keeps its elements sorted according to a Comparator, or to their natural ordering if no Comparator is given.
+ * <br><br>
+ * The elements are stored in a {@link Vector}. add() inserts every element at the position found with a binary search,
+ * after the elements which are equal to it according to the Comparator, so equal elements keep their insertion order.
+ * contains(), indexOf() and lastIndexOf() find with a binary search the range of the elements equal to the searched one
+ * according to the Comparator, then they look inside that range for an element which is equal according to equals().
+ * <br><br>
+ * add(int, Object), addAll(int, HCollection), set() and sort() would break the order, so they throw
+ * UnsupportedOperationException. The elements can be removed by index, by value or through the views.
+ * <br><br>
+ * floor() and ceiling() return the nearest elements to a value, while headList(), tailList() and range() return
+ * the views (like subList()) which contain the elements of a range of values. Adding elements through a view isn't supported,
+ * and a view throws ConcurrentModificationException if the list has been structurally changed except through the view.
+ * <br><br>
+ * The searching methods return -1 (or false) if the searched element can't be compared with the elements of the list.
+ *
+ * @see myAdapter.HList
+ * @see java.util.Comparator
+ * @author Andrea Stocco
+ */
+public class SortedListAdapter extends AbstractHList {
+
+    private final Vector list = new Vector();
+    private final Comparator comparator;
+
+    /**
+     * Void constructor (no arguments), it creates an empty list sorted by the natural ordering of its elements,
+     * which must implement Comparable.
+     */
+    public SortedListAdapter() {
+        this((Comparator) null);
+    }
+
+    /**
+     * Constructor which creates an empty list sorted by the specified comparator
+     * @param comparator the comparator of the elements, null for the natural ordering
+     */
+    public SortedListAdapter(Comparator comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Constructor which creates a list sorted by the natural ordering, which contains the elements of the specified collection
+     * @param coll the collection whose elements are added to the list
+     * @throws NullPointerException if coll == null or it contains null
+     * @throws ClassCastException if the elements of coll can't be compared with each other
+     */
+    public SortedListAdapter(HCollection coll) {
+        this((Comparator) null);
+        addAll(coll);
+    }
+
+    /**
+     * Method that returns the comparator of the list
+     * @return the comparator used to sort the list, null if the list uses the natural ordering
+     */
+    public Comparator comparator() {
+        return comparator;
+    }
+
+    /**
+     * Method that compares two elements with the comparator or with their natural ordering
+     * @param first the first element
+     * @param second the second element
+     * @return a negative number, zero, or a positive number as the first element is less than, equal to, or greater than the second
+     */
+    private int compare(Object first, Object second){
+        if(comparator != null) return comparator.compare(first, second);
+        return ((Comparable) first).compareTo(second);
+    }
+
+    /**
+     * Method that finds with a binary search the first position whose element isn't less than (or, if inclusive is false,
+     * greater than) the specified one
+     * @param obj the element to search for
+     * @param inclusive true to find the first element >= obj, false to find the first element > obj
+     * @return a position between 0 and size()
+     */
+    private int search(Object obj, boolean inclusive){
+        int low = 0, high = list.size();
+        while(low < high){
+            int middle = (low + high) >>> 1;
+            int comparison = compare(list.elementAt(middle), obj);
+            if(comparison < 0 || (!inclusive && comparison == 0)) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Method that calculates the size of the list
+     * @return the size of the list
+     */
+    @Override
+    public int size() {
+        return list.size();
+    }
+
+    /**
+     * Method for inspecting the element in a specified position in the list
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element in that position
+     */
+    @Override
+    public Object get(int index) {
+        checkIndex(index);
+        return list.elementAt(index);
+    }
+
+    /**
+     * Method for adding an element at the position which keeps the list sorted, after the elements equal to it
+     * @param obj element to be added to this list.
+     * @return always true
+     * @throws ClassCastException if obj can't be compared with the elements of the list
+     * @throws NullPointerException if obj is null and the comparator doesn't accept null
+     */
+    @Override
+    public boolean add(Object obj) {
+        if(comparator == null && obj == null) throw new NullPointerException();
+        list.insertElementAt(obj, search(obj, false));
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Method for adding all the elements of a collection. The elements are sorted and their positions are found with a
+     * binary search each, then they are merged in place from the end of the list: only the elements after the first
+     * insertion point are moved, once. An element which can't be compared is found before the list is changed.
+     * @param coll collection whose elements are to be added to this list.
+     * @throws NullPointerException if coll == null
+     * @throws ClassCastException if the elements of coll can't be compared with the elements of the list
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(HCollection coll) {
+        if(coll == null) throw new NullPointerException();
+        Object[] added = coll.toArray();
+        if(added.length == 0) return false;
+        if(comparator == null){
+            for (Object element : added) {
+                if(element == null) throw new NullPointerException();
+            }
+        }
+        Arrays.sort(added, comparator);
+        int[] positions = new int[added.length];
+        for(int i = 0; i < added.length; i++){
+            positions[i] = search(added[i], false);
+        }
+        int read = list.size(), write = read + added.length;
+        list.setSize(write);
+        for(int i = added.length - 1; i >= 0; i--){
+            while(read > positions[i]){
+                list.setElementAt(list.elementAt(--read), --write);
+            }
+            list.setElementAt(added[i], --write);
+        }
+        modCount++;
+        return true;
+    }
+
+    /**
+     * This method isn't supported, because the position of the elements is decided by their order.
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void add(int index, Object element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This method isn't supported, because the position of the elements is decided by their order.
+     * @param index index at which to insert first element from the specified collection.
+     * @param coll elements to be inserted into this list.
+     * @throws UnsupportedOperationException always
+     * @return never
+     */
+    @Override
+    public boolean addAll(int index, HCollection coll) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This method isn't supported, because the position of the elements is decided by their order.
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position.
+     * @throws UnsupportedOperationException always
+     * @return never
+     */
+    @Override
+    public Object set(int index, Object element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This method isn't supported, because the list is always sorted by its own comparator.
+     * @param c the comparator used to compare the elements
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void sort(Comparator c) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Method for removing an element specified by his index.
+     * @param index the index of the element to removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the object that has been removed
+     */
+    @Override
+    public Object remove(int index) {
+        checkIndex(index);
+        Object toReturn = list.elementAt(index);
+        list.removeElementAt(index);
+        modCount++;
+        return toReturn;
+    }
+
+    /**
+     * Method for removing all the elements whose index is between fromIndex (inclusive) and toIndex (exclusive).
+     * @param fromIndex index of first element to be removed.
+     * @param toIndex index after last element to be removed.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if(fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+        list.removeRange(fromIndex, toIndex);
+        modCount++;
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element with a binary search
+     * @param obj element to search for.
+     * @return the index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int indexOf(Object obj) {
+        int from, to;
+        try {
+            from = search(obj, true);
+            to = search(obj, false);
+        } catch (ClassCastException | NullPointerException e) {
+            return -1;
+        }
+        for(int i = from; i < to; i++){
+            Object current = list.elementAt(i);
+            if(obj == null ? current == null : obj.equals(current)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified element with a binary search
+     * @param obj element to search for.
+     * @return the last index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int lastIndexOf(Object obj) {
+        int from, to;
+        try {
+            from = search(obj, true);
+            to = search(obj, false);
+        } catch (ClassCastException | NullPointerException e) {
+            return -1;
+        }
+        for(int i = to - 1; i >= from; i--){
+            Object current = list.elementAt(i);
+            if(obj == null ? current == null : obj.equals(current)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Method that creates a Spliterator which reads the elements directly from the Vector and splits without copying.
+     * @return a Spliterator over the elements of the list, which reports SIZED, SUBSIZED and ORDERED
+     */
+    @Override
+    public Spliterator spliterator() {
+        return new VectorSpliterator(list, 0, list.size());
+    }
+
+    /**
+     * Method that performs an action for each element of the list, with a single loop over the Vector.
+     * The action must not change the list.
+     * @param action the action to perform for each element
+     * @throws NullPointerException if action == null
+     */
+    @Override
+    public void forEach(Consumer action) {
+        if(action == null) throw new NullPointerException();
+        list.forEach(0, list.size(), action);
+    }
+
+    /**
+     * Method that returns an Object[] which contains all the elements of the list.
+     * @return a new Object[] that contains a copy of all the elements of the list, in order
+     */
+    @Override
+    public Object[] toArray() {
+        Object[] toReturn = new Object[list.size()];
+        list.copyInto(toReturn);
+        return toReturn;
+    }
+
+    /**
+     * Method that returns the greatest element less than or equal to the specified one
+     * @param obj the value to search for
+     * @return the greatest element <= obj, null if there isn't
+     * @throws ClassCastException if obj can't be compared with the elements of the list
+     */
+    public Object floor(Object obj) {
+        int index = search(obj, false) - 1;
+        return index < 0 ? null : list.elementAt(index);
+    }
+
+    /**
+     * Method that returns the least element greater than or equal to the specified one
+     * @param obj the value to search for
+     * @return the least element >= obj, null if there isn't
+     * @throws ClassCastException if obj can't be compared with the elements of the list
+     */
+    public Object ceiling(Object obj) {
+        int index = search(obj, true);
+        return index == list.size() ? null : list.elementAt(index);
+    }
+
+    /**
+     * Method that returns a view of the elements less than the specified one
+     * @param toElement high endpoint (exclusive) of the values of the view
+     * @return a view (like subList()) of the elements < toElement
+     * @throws ClassCastException if toElement can't be compared with the elements of the list
+     */
+    public HList headList(Object toElement) {
+        return subList(0, search(toElement, true));
+    }
+
+    /**
+     * Method that returns a view of the elements greater than or equal to the specified one
+     * @param fromElement low endpoint (inclusive) of the values of the view
+     * @return a view (like subList()) of the elements >= fromElement
+     * @throws ClassCastException if fromElement can't be compared with the elements of the list
+     */
+    public HList tailList(Object fromElement) {
+        return subList(search(fromElement, true), list.size());
+    }
+
+    /**
+     * Method that returns a view of the elements between two values
+     * @param fromElement low endpoint (inclusive) of the values of the view
+     * @param toElement high endpoint (exclusive) of the values of the view
+     * @return a view (like subList()) of the elements >= fromElement and < toElement
+     * @throws ClassCastException if the values can't be compared with the elements of the list
+     * @throws IllegalArgumentException if fromElement is greater than toElement
+     */
+    public HList range(Object fromElement, Object toElement) {
+        if(compare(fromElement, toElement) > 0) throw new IllegalArgumentException("fromElement > toElement");
+        return subList(search(fromElement, true), search(toElement, true));
+    }
+}
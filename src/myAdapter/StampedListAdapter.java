@@ -0,0 +1,767 @@
+package myAdapter;
+
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe decorator of any HList, protected by a StampedLock, for lists which are read much more often than they are
+ * changed.
+ * <br><br>
+ * get(), size(), isEmpty() and contains() read the wrapped list optimistically, without taking any lock, and then validate
+ * the stamp. If a writer has changed the list in the meantime, the result is discarded and the read is repeated with the
+ * read lock. A read which overlaps a writer can see the wrapped list in an inconsistent state, so any RuntimeException
+ * thrown by an invalid read is discarded too; the wrapped list must be a list whose reads have no side effects and always
+ * terminate, like a {@link ListAdapter} which isn't a subList (the sublists of ListAdapter update their bounds when they
+ * are read).
+ * <br>
+ * All the other reads take the read lock and all the changes take the write lock. The collections passed to the bulk
+ * operations are copied before taking the lock, so they can be other StampedListAdapters.
+ * <br><br>
+ * iterator() and listIterator() traverse a copy of the list made under the read lock, so they can be used without any
+ * care, but they don't support remove(), set() and add(). To traverse the list without copying it, readScope() returns a
+ * {@link ReadScope} which holds the read lock until it is closed:
+ * <pre>
+ *     try (StampedListAdapter.ReadScope scope = list.readScope()) {
+ *         HIterator iterator = scope.iterator();
+ *         ...
+ *     }
+ * </pre>
+ * The views returned by subList() share the same lock. They are ranges of the wrapped list kept by the decorator, so their
+ * reads have no side effects either, and they are fail-fast: if the list is structurally changed except through a view,
+ * every following use of the view throws ConcurrentModificationException.
+ *
+ * @see myAdapter.HList
+ * @see java.util.concurrent.locks.StampedLock
+ * @author Andrea Stocco
+ */
+public class StampedListAdapter implements HList {
+
+    private final HList list;
+    private final StampedLock lock;
+    /**
+     * Number of structural changes of the wrapped list, changed only with the write lock and checked by the views
+     */
+    private int structuralChanges;
+    private final boolean isView;
+
+    /**
+     * Constructor which wraps the specified list. The list must not be used directly after it has been wrapped.
+     * @param list the list to protect
+     * @throws NullPointerException if list == null
+     */
+    public StampedListAdapter(HList list) {
+        this(list, new StampedLock(), false);
+    }
+
+    /**
+     * Constructor used by the views, which share the lock of their father list
+     * @param list the list to protect
+     * @param lock the lock which protects the list
+     * @param isView true if list is a view of another StampedListAdapter
+     */
+    private StampedListAdapter(HList list, StampedLock lock, boolean isView) {
+        if(list == null) throw new NullPointerException();
+        this.list = list;
+        this.lock = lock;
+        this.isView = isView;
+    }
+
+    /**
+     * Method that calculates the size of the list with an optimistic read
+     * @return the size of the wrapped list
+     */
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        if(stamp != 0){
+            try {
+                int size = list.size();
+                if(lock.validate(stamp)) return size;
+            } catch (RuntimeException e) {
+                // inconsistent read, it is repeated with the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return list.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that checks if the list contains elements, with an optimistic read
+     * @return true if the list is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Method that searches in the list the specified element, with an optimistic read
+     * @param obj element whose presence in this list is to be tested.
+     * @return true if obj is inside the list, false otherwise
+     */
+    @Override
+    public boolean contains(Object obj) {
+        long stamp = lock.tryOptimisticRead();
+        if(stamp != 0){
+            try {
+                boolean found = list.contains(obj);
+                if(lock.validate(stamp)) return found;
+            } catch (RuntimeException e) {
+                // inconsistent read, it is repeated with the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return list.contains(obj);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method for inspecting the element in a specified position, with an optimistic read
+     * @param index index of element to return.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element in that position
+     */
+    @Override
+    public Object get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        if(stamp != 0){
+            try {
+                Object element = list.get(index);
+                if(lock.validate(stamp)) return element;
+            } catch (RuntimeException e) {
+                if(lock.validate(stamp)) throw e;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return list.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that returns a copy of a collection, made before taking the lock of this list
+     * @param coll the collection to copy
+     * @throws NullPointerException if coll == null
+     * @return a new ListAdapter with the elements of coll
+     */
+    private static HCollection snapshot(HCollection coll){
+        if(coll == null) throw new NullPointerException();
+        return new ListAdapter(coll);
+    }
+
+    /**
+     * Method that checks if the list contains all the elements of the specified collection, with the read lock
+     * @param coll collection to be checked for containment in this list.
+     * @throws NullPointerException if coll == null
+     * @return true if every element of coll is inside the list, false otherwise
+     */
+    @Override
+    public boolean containsAll(HCollection coll) {
+        HCollection elements = snapshot(coll);
+        long stamp = lock.readLock();
+        try {
+            return list.containsAll(elements);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that finds the first occurrence of a specified element, with the read lock
+     * @param obj element to search for.
+     * @return the index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int indexOf(Object obj) {
+        long stamp = lock.readLock();
+        try {
+            return list.indexOf(obj);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that finds the last occurrence of a specified element, with the read lock
+     * @param obj element to search for.
+     * @return the last index of obj in the list or -1 if the element isn't inside the list
+     */
+    @Override
+    public int lastIndexOf(Object obj) {
+        long stamp = lock.readLock();
+        try {
+            return list.lastIndexOf(obj);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that returns an Object[] which contains all the elements of the list, copied with the read lock
+     * @return a new Object[] that contains a copy of all the elements of the list
+     */
+    @Override
+    public Object[] toArray() {
+        long stamp = lock.readLock();
+        try {
+            return list.toArray();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that copies all the elements of the list inside a specified array, with the read lock
+     * @param arrayTarget the array into which the elements of this list are to be
+     *                    stored, if it is big enough (nulls are added for filling the remaining space);
+     *                    otherwise, a new array of the same size is allocated for this purpose.
+     * @throws NullPointerException if arrayTarget == null;
+     * @return a new array if arrayTarget.length < size(), arrayTarget otherwise
+     */
+    @Override
+    public Object[] toArray(Object[] arrayTarget) {
+        long stamp = lock.readLock();
+        try {
+            return list.toArray(arrayTarget);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that appends an element to the list, with the write lock
+     * @param obj element whose presence in this collection is to be ensured.
+     * @return true if the list changed
+     */
+    @Override
+    public boolean add(Object obj) {
+        long stamp = lock.writeLock();
+        try {
+            boolean changed = list.add(obj);
+            if(changed) structuralChanges++;
+            return changed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for removing the first occurrence of the specified element, with the write lock
+     * @param obj element to be removed from this list, if present.
+     * @return true if an element is removed, false otherwise
+     */
+    @Override
+    public boolean remove(Object obj) {
+        long stamp = lock.writeLock();
+        try {
+            boolean changed = list.remove(obj);
+            if(changed) structuralChanges++;
+            return changed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for appending an entire collection to the list, with the write lock
+     * @param coll collection whose elements are to be added to this list.
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(HCollection coll) {
+        HCollection elements = snapshot(coll);
+        long stamp = lock.writeLock();
+        try {
+            boolean changed = list.addAll(elements);
+            if(changed) structuralChanges++;
+            return changed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for inserting all the elements of a specified collection in a specific position, with the write lock
+     * @param index index at which to insert first element from the specified collection.
+     * @param coll elements to be inserted into this list.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @throws NullPointerException if coll == null
+     * @return true if the list changed
+     */
+    @Override
+    public boolean addAll(int index, HCollection coll) {
+        HCollection elements = snapshot(coll);
+        long stamp = lock.writeLock();
+        try {
+            boolean changed = list.addAll(index, elements);
+            if(changed) structuralChanges++;
+            return changed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for the removal of all the elements contained in the specified collection, with the write lock
+     * @param coll collection that defines which elements will be removed from this list.
+     * @throws NullPointerException if coll == null
+     * @return true if there was a deletion, false otherwise
+     */
+    @Override
+    public boolean removeAll(HCollection coll) {
+        HCollection elements = snapshot(coll);
+        long stamp = lock.writeLock();
+        try {
+            boolean changed = list.removeAll(elements);
+            if(changed) structuralChanges++;
+            return changed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for the removal of all the elements which aren't contained in the specified collection, with the write lock
+     * @param coll collection that defines which elements this list will retain.
+     * @throws NullPointerException if coll == null
+     * @return true if at least one element is removed, false otherwise
+     */
+    @Override
+    public boolean retainAll(HCollection coll) {
+        HCollection elements = snapshot(coll);
+        long stamp = lock.writeLock();
+        try {
+            boolean changed = list.retainAll(elements);
+            if(changed) structuralChanges++;
+            return changed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method that removes all the elements inside the list, with the write lock
+     */
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            list.clear();
+            structuralChanges++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for replacing an element in a specified position with a new one, with the write lock
+     * @param index   index of element to replace.
+     * @param element element to be stored at the specified position.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the element that has been replaced
+     */
+    @Override
+    public Object set(int index, Object element) {
+        long stamp = lock.writeLock();
+        try {
+            return list.set(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for inserting an element in a specified position, with the write lock
+     * @param index   index at which the specified element is to be inserted.
+     * @param element element to be inserted.
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     */
+    @Override
+    public void add(int index, Object element) {
+        long stamp = lock.writeLock();
+        try {
+            list.add(index, element);
+            structuralChanges++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method for removing an element specified by his index, with the write lock
+     * @param index the index of the element to removed.
+     * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+     * @return the object that has been removed
+     */
+    @Override
+    public Object remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            Object toReturn = list.remove(index);
+            structuralChanges++;
+            return toReturn;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method that sorts the wrapped list with the write lock
+     * @param c the comparator of the elements, null for their natural ordering
+     */
+    @Override
+    public void sort(Comparator c) {
+        long stamp = lock.writeLock();
+        try {
+            list.sort(c);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Method that compares the specified object with the list, with the read lock
+     * @param obj the object to be compared for equality with this list.
+     * @return true if obj is an HList with the same elements in the same order
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if(obj == this) return true;
+        Object other = obj instanceof HList ? snapshot((HList) obj) : obj;
+        long stamp = lock.readLock();
+        try {
+            return list.equals(other);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that calculates the hash code of the list, with the read lock
+     * @return the hash code of the wrapped list
+     */
+    @Override
+    public int hashCode() {
+        long stamp = lock.readLock();
+        try {
+            return list.hashCode();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that returns a string representation of the list, with the read lock
+     * @return the string representation of the wrapped list
+     */
+    @Override
+    public String toString() {
+        long stamp = lock.readLock();
+        try {
+            return list.toString();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Method that returns an iterator over a copy of the list
+     * @return a new instance of HIterator, which doesn't support remove()
+     */
+    @Override
+    public HIterator iterator() {
+        return new CopyOnWriteListAdapter.SnapshotIterator(toArray(), 0);
+    }
+
+    /**
+     * Method that returns a list iterator over a copy of the list
+     * @return a new instance of HListIterator, which doesn't support remove(), set() and add()
+     */
+    @Override
+    public HListIterator listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Method that returns a list iterator over a copy of the list, pointing to the specified position
+     * @param index index of first element to be returned from the list iterator (by a call to the next method).
+     * @throws IndexOutOfBoundsException if index < 0 || index > size()
+     * @return a new instance of HListIterator, which doesn't support remove(), set() and add()
+     */
+    @Override
+    public HListIterator listIterator(int index) {
+        Object[] snapshot = toArray();
+        if(index < 0 || index > snapshot.length) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + snapshot.length);
+        return new CopyOnWriteListAdapter.SnapshotIterator(snapshot, index);
+    }
+
+    /**
+     * Method that creates a Spliterator over a copy of the list
+     * @return a Spliterator which reports SIZED, SUBSIZED, ORDERED and IMMUTABLE
+     */
+    @Override
+    public Spliterator spliterator() {
+        return Spliterators.spliterator(toArray(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Method for creating a view of a portion of this list, protected by the same lock
+     * @param fromIndex low endpoint (inclusive) of the subList.
+     * @param toIndex   high endpoint (exclusive) of the subList.
+     * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     * @return a StampedListAdapter which wraps a fail-fast view of the range of the wrapped list
+     */
+    @Override
+    public HList subList(int fromIndex, int toIndex) {
+        long stamp = lock.readLock();
+        try {
+            HList view = isView ? list.subList(fromIndex, toIndex) : new RangeView(fromIndex, toIndex);
+            return new StampedListAdapter(view, lock, true);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * View of a range of the wrapped list, whose reads only read its fields and the wrapped list. Its structural changes
+     * are counted in structuralChanges like the ones of the list, and every operation checks that the list hasn't been
+     * structurally changed in another way. The views of a view are the ones of {@link AbstractHList}.
+     */
+    private class RangeView extends AbstractHList {
+        private final int offset;
+        private int size;
+        private int expectedChanges;
+
+        /**
+         * It creates a new view of the specified range of the wrapped list
+         * @param fromIndex low endpoint (inclusive) of the view
+         * @param toIndex high endpoint (exclusive) of the view
+         * @throws IndexOutOfBoundsException if fromIndex < 0 || toIndex > list.size() || fromIndex > toIndex
+         */
+        RangeView(int fromIndex, int toIndex){
+            if(fromIndex < 0 || toIndex > list.size() || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+            this.offset = fromIndex;
+            this.size = toIndex - fromIndex;
+            this.expectedChanges = structuralChanges;
+        }
+
+        /**
+         * It checks that the wrapped list has been structurally changed only through this view
+         * @throws ConcurrentModificationException if the list has been changed in another way
+         */
+        private void checkForComodification(){
+            if(structuralChanges != expectedChanges) throw new ConcurrentModificationException();
+        }
+
+        /**
+         * It records a structural change made through this view
+         * @param delta the change of the size
+         */
+        private void changed(int delta){
+            size += delta;
+            expectedChanges = ++structuralChanges;
+            modCount++;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public Object get(int index) {
+            checkIndex(index);
+            return list.get(offset + index);
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            checkIndex(index);
+            return list.set(offset + index, element);
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            checkPositionIndex(index);
+            list.add(offset + index, element);
+            changed(1);
+        }
+
+        @Override
+        public Object remove(int index) {
+            checkIndex(index);
+            Object toReturn = list.remove(offset + index);
+            changed(-1);
+            return toReturn;
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex) {
+            checkForComodification();
+            if(fromIndex < 0 || toIndex > size || fromIndex > toIndex) throw new IndexOutOfBoundsException();
+            list.subList(offset + fromIndex, offset + toIndex).clear();
+            changed(fromIndex - toIndex);
+        }
+    }
+
+    /**
+     * Method that takes the read lock and returns a scope in which the list can be traversed without copying it. The
+     * writers are blocked until the scope is closed, and the thread which owns the scope must not change the list.
+     * @return a new ReadScope, which must be closed
+     */
+    public ReadScope readScope() {
+        return new ReadScope();
+    }
+
+    /**
+     * Scope which holds the read lock of the list, from its creation until close() is called. It must be used by a
+     * single thread, preferably in a try-with-resources statement; its iterators read the wrapped list directly and throw
+     * IllegalStateException after the scope has been closed.
+     */
+    public final class ReadScope implements AutoCloseable {
+        private final long stamp;
+        private boolean open;
+
+        private ReadScope() {
+            stamp = lock.readLock();
+            open = true;
+        }
+
+        /**
+         * It checks that the scope is open
+         * @throws IllegalStateException if the scope has been closed
+         */
+        private void checkOpen(){
+            if(!open) throw new IllegalStateException("Read scope closed");
+        }
+
+        /**
+         * It returns the size of the list
+         * @return the size of the wrapped list
+         */
+        public int size() {
+            checkOpen();
+            return list.size();
+        }
+
+        /**
+         * It returns the element in a specified position
+         * @param index index of element to return.
+         * @throws IndexOutOfBoundsException if index < 0 || index >= size()
+         * @return the element in that position
+         */
+        public Object get(int index) {
+            checkOpen();
+            return list.get(index);
+        }
+
+        /**
+         * It returns an iterator over the wrapped list
+         * @return a new instance of HIterator, which doesn't support remove()
+         */
+        public HIterator iterator() {
+            return listIterator(0);
+        }
+
+        /**
+         * It returns a list iterator over the wrapped list, pointing to the specified position
+         * @param index index of first element to be returned from the list iterator (by a call to the next method).
+         * @throws IndexOutOfBoundsException if index < 0 || index > size()
+         * @return a new instance of HListIterator, which doesn't support remove(), set() and add()
+         */
+        public HListIterator listIterator(int index) {
+            checkOpen();
+            return new ScopedIterator(list.listIterator(index));
+        }
+
+        /**
+         * It releases the read lock. The following calls do nothing.
+         */
+        @Override
+        public void close() {
+            if(!open) return;
+            open = false;
+            lock.unlockRead(stamp);
+        }
+
+        /**
+         * Read-only list iterator, which can be used only while the scope is open.
+         */
+        private class ScopedIterator implements HListIterator {
+            private final HListIterator iterator;
+
+            ScopedIterator(HListIterator iterator){
+                this.iterator = iterator;
+            }
+
+            @Override
+            public boolean hasNext() {
+                checkOpen();
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                checkOpen();
+                if(!iterator.hasNext()) throw new NoSuchElementException();
+                return iterator.next();
+            }
+
+            @Override
+            public boolean hasPrevious() {
+                checkOpen();
+                return iterator.hasPrevious();
+            }
+
+            @Override
+            public Object previous() {
+                checkOpen();
+                if(!iterator.hasPrevious()) throw new NoSuchElementException();
+                return iterator.previous();
+            }
+
+            @Override
+            public int nextIndex() {
+                checkOpen();
+                return iterator.nextIndex();
+            }
+
+            @Override
+            public int previousIndex() {
+                checkOpen();
+                return iterator.previousIndex();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void set(Object obj) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void add(Object obj) {
+                throw new UnsupportedOperationException();
+            }
+        }
+    }
+}
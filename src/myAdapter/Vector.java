@@ -1,8 +1,12 @@
 package myAdapter;
 
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Enumeration;
-import java.util.Objects;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 
 /**
  * Class Vector of Java Micro Edition, CLDC1.1<br>
@@ -11,127 +15,334 @@ import java.util.Objects;
  * The object {@link myAdapter.Vector} is used to save e manage data, the porpouse of this class is only to
  * filter the methods of vector in order to use only methods from CLDC1.1
  *
+ * <p>
+ * The elements are stored in an array owned by this class. Unlike {@link java.util.Vector} no method is
+ * synchronized: a Vector must not be used by more than one thread at the same time without external synchronization.
+ *
  * @see java.util.Vector
  * @author Andrea Stocco
  */
 public class Vector {
 
-    java.util.Vector vector;
+    /**
+     * Array which contains the elements of the vector. Only the first elementCount slots are valid,
+     * the remaining ones are always null.
+     */
+    protected Object[] elementData;
+    /**
+     * Number of valid elements inside elementData
+     */
+    protected int elementCount;
+    /**
+     * Amount by which the capacity is increased when the vector is full. If it is less than or equal to 0
+     * the capacity is doubled.
+     */
+    protected int capacityIncrement;
 
     public Vector() {
-        vector = new java.util.Vector();
+        this(10);
     }
 
     public Vector(int initialCapacity) {
-        vector = new java.util.Vector(initialCapacity);
+        this(initialCapacity, 0);
     }
 
     public Vector(int initialCapacity, int capacityIncrement) {
-        vector = new java.util.Vector(initialCapacity, capacityIncrement);
+        if(initialCapacity < 0) throw new IllegalArgumentException();
+        this.elementData = new Object[initialCapacity];
+        this.capacityIncrement = capacityIncrement;
+    }
+
+    public void addElement(Object obj){
+        ensureCapacity(elementCount + 1);
+        elementData[elementCount++] = obj;
     }
 
     public void addElement(Object obj, Object o){
-        vector.addElement(obj);
+        addElement(obj);
     }
 
     public int capacity(){
-        return vector.capacity();
+        return elementData.length;
     }
 
     public boolean contains(Object elem){
-        return vector.contains(elem);
+        return indexOf(elem, 0) >= 0;
     }
 
     public void copyInto(Object[] anArray){
-        vector.copyInto(anArray);
+        System.arraycopy(elementData, 0, anArray, 0, elementCount);
+    }
+
+    /**
+     * Method that copies a range of elements of the vector into an array
+     * @param index index of the first element to copy
+     * @param anArray the array into which the elements are copied
+     * @param offset position of anArray where the first element is copied
+     * @param length number of elements to copy
+     * @throws ArrayIndexOutOfBoundsException if the range is not inside the vector
+     */
+    public void copyInto(int index, Object[] anArray, int offset, int length){
+        if(index < 0 || length < 0 || index + length > elementCount) throw new ArrayIndexOutOfBoundsException(index + length);
+        System.arraycopy(elementData, index, anArray, offset, length);
     }
 
     public Object elementAt(int index){
-        return vector.elementAt(index);
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        return elementData[index];
     }
 
     public Enumeration elements(){
-        return vector.elements();
+        return new Enumeration() {
+            private int count = 0;
+
+            @Override
+            public boolean hasMoreElements() {
+                return count < size();
+            }
+
+            @Override
+            public Object nextElement() {
+                if(count >= size()) throw new NoSuchElementException();
+                return elementAt(count++);
+            }
+        };
     }
 
     public void ensureCapacity(int minCapacity){
-        vector.ensureCapacity(minCapacity);
+        if(minCapacity <= elementData.length) return;
+        Object[] newData = new Object[grownCapacity(minCapacity)];
+        System.arraycopy(elementData, 0, newData, 0, elementCount);
+        elementData = newData;
+    }
+
+    /**
+     * Method that calculates the capacity to use when elementData must be enlarged
+     * @param minCapacity the desired minimum capacity
+     * @return the old capacity incremented by capacityIncrement (or doubled), but at least minCapacity
+     */
+    protected int grownCapacity(int minCapacity){
+        int oldCapacity = elementData.length;
+        int newCapacity = capacityIncrement > 0 ? oldCapacity + capacityIncrement : oldCapacity * 2;
+        return Math.max(newCapacity, minCapacity);
     }
 
     public Object firstElement(){
-        return vector.firstElement();
+        if(isEmpty()) throw new NoSuchElementException();
+        return elementAt(0);
     }
 
     public int indexOf(Object elem){
-        return vector.indexOf(elem);
+        return indexOf(elem, 0);
     }
 
     public int indexOf(Object elem, int index){
-        return vector.indexOf(elem, index);
+        if(index < 0) throw new ArrayIndexOutOfBoundsException(index);
+        if(elem == null){
+            for(int i = index; i < elementCount; i++){
+                if(elementData[i] == null) return i;
+            }
+        }else{
+            for(int i = index; i < elementCount; i++){
+                if(elem.equals(elementData[i])) return i;
+            }
+        }
+        return -1;
     }
 
     public void insertElementAt(Object obj, int index){
-        vector.insertElementAt(obj, index);
+        if(index < 0 || index > elementCount) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        ensureCapacity(elementCount + 1);
+        System.arraycopy(elementData, index, elementData, index + 1, elementCount - index);
+        elementData[index] = obj;
+        elementCount++;
+    }
+
+    /**
+     * Method that inserts all the elements of an array at the specified index, shifting the following elements only once
+     * @param anArray the elements to insert
+     * @param index position of the first inserted element
+     * @throws ArrayIndexOutOfBoundsException if index < 0 || index > size()
+     */
+    public void insertElementsAt(Object[] anArray, int index){
+        if(index < 0 || index > elementCount) throw new ArrayIndexOutOfBoundsException(index + " > " + elementCount);
+        int length = anArray.length;
+        ensureCapacity(elementCount + length);
+        System.arraycopy(elementData, index, elementData, index + length, elementCount - index);
+        System.arraycopy(anArray, 0, elementData, index, length);
+        elementCount += length;
     }
 
     public boolean isEmpty(){
-        return vector.isEmpty();
+        return size() == 0;
     }
 
     public Object lastElement(){
-        return vector.lastElement();
+        if(isEmpty()) throw new NoSuchElementException();
+        return elementAt(size() - 1);
     }
 
     public int lastIndexOf(Object elem){
-        return vector.lastIndexOf(elem);
+        return lastIndexOf(elem, size() - 1);
     }
 
     public int lastIndexOf(Object elem, int index){
-        return vector.lastIndexOf(elem, index);
+        if(index >= elementCount) throw new IndexOutOfBoundsException(index + " >= " + elementCount);
+        if(elem == null){
+            for(int i = index; i >= 0; i--){
+                if(elementData[i] == null) return i;
+            }
+        }else{
+            for(int i = index; i >= 0; i--){
+                if(elem.equals(elementData[i])) return i;
+            }
+        }
+        return -1;
     }
 
     public void removeAllElements(){
-        vector.removeAllElements();
+        for(int i = 0; i < elementCount; i++){
+            elementData[i] = null;
+        }
+        elementCount = 0;
     }
 
     public boolean removeElement(Object obj){
-        return vector.removeElement(obj);
+        int index = indexOf(obj, 0);
+        if(index < 0) return false;
+        removeElementAt(index);
+        return true;
+    }
+
+    /**
+     * Method that removes the elements between fromIndex (inclusive) and toIndex (exclusive) with a single shift of the
+     * following elements. The freed slots are set to null.
+     * @param fromIndex index of the first element to remove
+     * @param toIndex index after the last element to remove
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    public void removeRange(int fromIndex, int toIndex){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        System.arraycopy(elementData, toIndex, elementData, fromIndex, elementCount - toIndex);
+        int newCount = elementCount - (toIndex - fromIndex);
+        for(int i = newCount; i < elementCount; i++){
+            elementData[i] = null;
+        }
+        elementCount = newCount;
+    }
+
+    /**
+     * Method that sorts the elements between fromIndex (inclusive) and toIndex (exclusive) directly inside elementData.
+     * The sort is stable.
+     * @param fromIndex index of the first element to sort
+     * @param toIndex index after the last element to sort
+     * @param c the comparator of the elements, null for their natural ordering
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     * @throws ClassCastException if the elements can't be compared with each other
+     */
+    public void sort(int fromIndex, int toIndex, Comparator c){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        Arrays.sort(elementData, fromIndex, toIndex, c);
+    }
+
+    /**
+     * Method that sorts the elements between fromIndex (inclusive) and toIndex (exclusive) directly inside elementData,
+     * with a stable merge sort whose pieces are sorted and merged in parallel by the specified pool.
+     * @param fromIndex index of the first element to sort
+     * @param toIndex index after the last element to sort
+     * @param c the comparator of the elements, null for their natural ordering
+     * @param pool the pool which executes the sort
+     * @param threshold number of elements below which a piece is sorted sequentially
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     * @throws ClassCastException if the elements can't be compared with each other
+     */
+    public void parallelSort(int fromIndex, int toIndex, Comparator c, ForkJoinPool pool, int threshold){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        ParallelMergeSort.sort(elementData, fromIndex, toIndex, c, pool, threshold);
+    }
+
+    /**
+     * Method that performs an action for each element between fromIndex (inclusive) and toIndex (exclusive), with a single
+     * loop over elementData. The action must not change the vector.
+     * @param fromIndex index of the first element
+     * @param toIndex index after the last element
+     * @param action the action to perform for each element
+     * @throws ArrayIndexOutOfBoundsException if fromIndex < 0 || toIndex > size() || fromIndex > toIndex
+     */
+    public void forEach(int fromIndex, int toIndex, Consumer action){
+        if(fromIndex < 0 || toIndex > elementCount || fromIndex > toIndex) throw new ArrayIndexOutOfBoundsException(fromIndex);
+        Object[] data = elementData;
+        for(int i = fromIndex; i < toIndex; i++){
+            action.accept(data[i]);
+        }
     }
 
     public void removeElementAt(int index){
-        vector.removeElementAt(index);
+        if(index < 0 || index >= elementCount) throw new ArrayIndexOutOfBoundsException(index);
+        int moved = elementCount - index - 1;
+        if(moved > 0) System.arraycopy(elementData, index + 1, elementData, index, moved);
+        elementData[--elementCount] = null;
     }
 
     public void setElementAt(Object obj, int index){
-        vector.setElementAt(obj, index);
+        if(index >= elementCount) throw new ArrayIndexOutOfBoundsException(index + " >= " + elementCount);
+        elementData[index] = obj;
     }
 
     public void setSize(int newSize){
-        vector.setSize(newSize);
+        if(newSize < 0) throw new ArrayIndexOutOfBoundsException(newSize);
+        if(newSize > elementCount){
+            ensureCapacity(newSize);
+        }else{
+            for(int i = newSize; i < elementCount; i++){
+                elementData[i] = null;
+            }
+        }
+        elementCount = newSize;
     }
 
     public int size(){
-        return vector.size();
+        return elementCount;
     }
 
     public String toString(){
-        return vector.toString();
+        StringBuilder builder = new StringBuilder("[");
+        for(int i = 0; i < size(); i++){
+            if(i > 0) builder.append(", ");
+            Object current = elementAt(i);
+            builder.append(current == this ? "(this Vector)" : String.valueOf(current));
+        }
+        return builder.append(']').toString();
     }
 
     public void trimToSize(){
-        vector.trimToSize();
+        if(elementCount < elementData.length){
+            Object[] newData = new Object[elementCount];
+            System.arraycopy(elementData, 0, newData, 0, elementCount);
+            elementData = newData;
+        }
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
-        Vector vector1 = (Vector) o;
-        return Objects.equals(vector, vector1.vector);
+        Vector other = (Vector) o;
+        if (size() != other.size()) return false;
+        for (int i = 0; i < size(); i++) {
+            Object current = elementAt(i);
+            if (current == null ? other.elementAt(i) != null : !current.equals(other.elementAt(i))) return false;
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(vector);
+        int hash = 1;
+        for (int i = 0; i < size(); i++) {
+            Object current = elementAt(i);
+            hash = 31 * hash + (current == null ? 0 : current.hashCode());
+        }
+        return hash;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package myAdapter;
+
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a range of a {@link Vector}, used by the lists backed by a Vector to create their streams.
+ * <br><br>
+ * The spliterator reads the elements directly from the Vector with elementAt(), and trySplit() divides the range in two
+ * halves without copying any element, so a parallel stream works on the storage of the list. It reports SIZED, SUBSIZED
+ * and ORDERED.
+ * <br><br>
+ * The range is fixed when the spliterator is created: the list must not be structurally modified while the spliterator
+ * is used.
+ *
+ * @see myAdapter.ListAdapter#spliterator()
+ * @author Andrea Stocco
+ */
+class VectorSpliterator implements Spliterator {
+
+    private final Vector list;
+    private int fromIndex;
+    private final int toIndex;
+
+    /**
+     * Constructor which creates a spliterator over the elements between fromIndex (inclusive) and toIndex (exclusive)
+     * @param list the vector which contains the elements
+     * @param fromIndex index of the first element
+     * @param toIndex index after the last element
+     */
+    VectorSpliterator(Vector list, int fromIndex, int toIndex) {
+        this.list = list;
+        this.fromIndex = fromIndex;
+        this.toIndex = toIndex;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer action) {
+        if(action == null) throw new NullPointerException();
+        if(fromIndex >= toIndex) return false;
+        action.accept(list.elementAt(fromIndex++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer action) {
+        if(action == null) throw new NullPointerException();
+        int to = toIndex;
+        for(int i = fromIndex; i < to; i++){
+            action.accept(list.elementAt(i));
+        }
+        fromIndex = to;
+    }
+
+    @Override
+    public Spliterator trySplit() {
+        int middle = (fromIndex + toIndex) >>> 1;
+        if(middle <= fromIndex) return null;
+        Spliterator prefix = new VectorSpliterator(list, fromIndex, middle);
+        fromIndex = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return toIndex - fromIndex;
+    }
+
+    @Override
+    public int characteristics() {
+        return SIZED | SUBSIZED | ORDERED;
+    }
+}
@@ -0,0 +1,155 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.AppendOnlyListAdapter}.
+ * <br><br>
+ * The first test cases check the list with a single thread, the last one starts more threads which append and read at the
+ * same time.
+ * <br><br>
+ * Execution variable:
+ * <br>
+ * AppendOnlyListAdapter teamList - list on which the methods are tested, it contains "Inter", "Milan", "Juventus".
+ *
+ * @see myAdapter.AppendOnlyListAdapter
+ * @author Andrea Stocco
+ */
+public class AppendOnlyListAdapterTest
+{
+    AppendOnlyListAdapter teamList;
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: "Inter", "Milan", "Juventus" are appended.
+     */
+    @Before
+    public void setup() {
+        teamList = new AppendOnlyListAdapter();
+        teamList.add("Inter");
+        teamList.add("Milan");
+        teamList.add("Juventus");
+    }
+
+    /**
+     * Test of the appends of {@link AppendOnlyListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the elements are appended in order across many segments.
+     * <br><br>
+     * <strong>Description</strong>: 5000 numbers and null are appended with add() and addAll(), then the list is read with
+     * get(), toArray() and the iterators.
+     * <br><br>
+     * <strong>Preconditions</strong>: teamList = {"Inter", "Milan", "Juventus"}
+     * <br><br>
+     * <strong>Expected result</strong>: the list must contain the teams followed by the appended elements, in order; null
+     * must be read as null.
+     */
+    @Test
+    public void testAppend(){
+        HList expected = new ListAdapter(teamList);
+        for(int i = 0; i < 3000; i++){
+            teamList.add(i);
+            expected.add(i);
+        }
+        teamList.add(null);
+        expected.add(null);
+        HList batch = PersistentHListTest.numbers(3000, 5000);
+        assertTrue(teamList.addAll(batch));
+        expected.addAll(batch);
+        assertFalse(teamList.addAll(new ListAdapter()));
+        assertEquals(expected.size(), teamList.size());
+        assertEquals("Milan", teamList.get(1));
+        assertNull(teamList.get(3003));
+        assertEquals(4999, teamList.get(5003));
+        assertArrayEquals(expected.toArray(), teamList.toArray());
+        assertArrayEquals(expected.toArray(), teamList.toArray(new Object[5004]));
+        assertEquals(teamList, expected);
+        assertEquals(3003, teamList.indexOf(null));
+        assertArrayEquals(expected.subList(1000, 1100).toArray(), teamList.subList(1000, 1100).toArray());
+        assertEquals(expected.toArray().length, new AppendOnlyListAdapter(expected).size());
+        assertThrows(IndexOutOfBoundsException.class, () -> teamList.get(5004));
+        assertThrows(IndexOutOfBoundsException.class, () -> teamList.get(-1));
+    }
+
+    /**
+     * Test of the methods of {@link AppendOnlyListAdapter} which don't append
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the list allows only appends.
+     * <br><br>
+     * <strong>Preconditions</strong>: teamList = {"Inter", "Milan", "Juventus"}
+     * <br><br>
+     * <strong>Postconditions</strong>: teamList = {"Inter", "Milan", "Juventus"}
+     * <br><br>
+     * <strong>Expected result</strong>: the insertions in a position, the replacements and the removals must throw
+     * UnsupportedOperationException.
+     */
+    @Test
+    public void testRejectedOperations(){
+        assertThrows(UnsupportedOperationException.class, () -> teamList.add(0, "Roma"));
+        assertThrows(UnsupportedOperationException.class, () -> teamList.addAll(0, new ListAdapter(teamList)));
+        assertThrows(UnsupportedOperationException.class, () -> teamList.set(0, "Roma"));
+        assertThrows(UnsupportedOperationException.class, () -> teamList.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> teamList.remove("Inter"));
+        assertThrows(UnsupportedOperationException.class, () -> teamList.removeAll(teamList));
+        assertThrows(UnsupportedOperationException.class, () -> teamList.retainAll(teamList));
+        assertThrows(UnsupportedOperationException.class, teamList::clear);
+        HIterator iterator = teamList.iterator();
+        iterator.next();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+        assertArrayEquals(new Object[]{"Inter", "Milan", "Juventus"}, teamList.toArray());
+    }
+
+    /**
+     * Test of {@link AppendOnlyListAdapter} used by more threads
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that concurrent appends don't lose elements and that the readers see
+     * only written elements.
+     * <br><br>
+     * <strong>Description</strong>: 6 threads append 20000 elements each (single elements and batches of 10), which encode the
+     * number of the thread and a sequence number; 2 threads read the list at the same time.
+     * <br><br>
+     * <strong>Expected result</strong>: the readers must never see a size which decreases or an element which is null; at
+     * the end the list must contain 120003 elements, and the elements of each thread must be in the order of its sequence
+     * numbers.
+     * @throws Throwable if a thread fails
+     */
+    @Test
+    public void testConcurrentAppends() throws Throwable {
+        int writers = 6, appends = 20000;
+        ConcurrentListAdapterTest.runThreads(writers + 2, thread -> {
+            if(thread < writers){
+                for(int i = 0; i < appends; i += 10){
+                    if(i % 20 == 0){
+                        for(int j = i; j < i + 10; j++){
+                            teamList.add(thread * appends + j);
+                        }
+                    }else{
+                        teamList.addAll(PersistentHListTest.numbers(thread * appends + i, thread * appends + i + 10));
+                    }
+                }
+            }else{
+                int previous = 0;
+                for(int i = 0; i < 2000; i++){
+                    int size = teamList.size();
+                    if(size < previous) throw new AssertionError("Size decreased");
+                    previous = size;
+                    for(int j = Math.max(0, size - 50); j < size; j++){
+                        if(teamList.get(j) == null) throw new AssertionError("Unwritten slot at " + j);
+                    }
+                }
+            }
+        });
+        assertEquals(3 + writers * appends, teamList.size());
+        int[] next = new int[writers];
+        Object[] elements = teamList.toArray();
+        for(int i = 3; i < elements.length; i++){
+            int value = (Integer) elements[i];
+            int thread = value / appends;
+            assertEquals(next[thread], value % appends);
+            next[thread]++;
+        }
+    }
+}
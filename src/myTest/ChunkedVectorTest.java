@@ -0,0 +1,64 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class executes all the test cases of {@link VectorTest} on a {@link myAdapter.ChunkedVector}, and it checks the
+ * behaviour of a ListAdapter (and of its subLists) which uses a ChunkedVector as adaptee.
+ *
+ * @see myAdapter.ChunkedVector
+ * @author Andrea Stocco
+ */
+public class ChunkedVectorTest extends VectorTest
+{
+    @Override
+    protected Vector newVector(){
+        return new ChunkedVector(2);
+    }
+
+    /**
+     * Test of {@link ListAdapter#ListAdapter(Vector)} with a ChunkedVector
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the positional insertions and removals on a list backed by chunks.
+     * <br><br>
+     * <strong>Design</strong>: enough elements are inserted to fill many chunks and to force the growth of the chunks.
+     * <br><br>
+     * <strong>Description</strong>: a ListAdapter is created on a ChunkedVector and 1000 numbers are inserted always in the middle
+     * of a subList. Then the elements of the first half are removed.
+     * <br><br>
+     * <strong>Expected result</strong>: the list must contain the same elements in the same order as an array where the same
+     * operations have been made.
+     */
+    @Test
+    public void testListAdapterWithChunkedVector(){
+        HList list = new ListAdapter(new ChunkedVector());
+        list.add("Milan");
+        list.add("Ajax");
+        HList sub = list.subList(1, 1);
+        Object[] expected = new Object[1002];
+        int size = 0;
+        for(int i = 0; i < 1000; i++){
+            int index = sub.size() / 2;
+            sub.add(index, i);
+            System.arraycopy(expected, index, expected, index + 1, size - index);
+            expected[index] = i;
+            size++;
+        }
+        assertEquals(1002, list.size());
+        assertEquals("Milan", list.get(0));
+        assertEquals("Ajax", list.get(list.size() - 1));
+        for(int i = 0; i < size; i++){
+            assertEquals(expected[i], sub.get(i));
+        }
+        while(sub.size() > 500){
+            sub.remove(0);
+        }
+        for(int i = 0; i < 500; i++){
+            assertEquals(expected[500 + i], list.get(i + 1));
+        }
+        assertEquals(502, list.size());
+    }
+}
@@ -0,0 +1,211 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.ConcurrentListAdapter}.
+ * <br><br>
+ * The first test case checks the list with a single thread, comparing it with a ListAdapter. The other test cases start
+ * more threads on the same list; every error thrown by a thread is saved and thrown again by the test case.
+ * <br><br>
+ * Execution variable:
+ * <br>
+ * ConcurrentListAdapter numberList - list on which the methods are tested, it has 4 stripes.
+ *
+ * @see myAdapter.ConcurrentListAdapter
+ * @author Andrea Stocco
+ */
+public class ConcurrentListAdapterTest
+{
+    ConcurrentListAdapter numberList;
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: an empty list with 4 stripes is created.
+     */
+    @Before
+    public void setup() {
+        numberList = new ConcurrentListAdapter(4);
+    }
+
+    /**
+     * Method that executes the same task with more threads, started at the same time
+     * @param threads number of threads
+     * @param task the task, which receives the number of the thread
+     * @throws Throwable the first error thrown by a thread
+     */
+    static void runThreads(int threads, java.util.function.IntConsumer task) throws Throwable {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread[] workers = new Thread[threads];
+        for(int t = 0; t < threads; t++){
+            int number = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    task.accept(number);
+                } catch (Throwable e) {
+                    error.compareAndSet(null, e);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if(error.get() != null) throw error.get();
+    }
+
+    /**
+     * Test of the operations of {@link ConcurrentListAdapter} executed by a single thread
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the list behaves like a ListAdapter.
+     * <br><br>
+     * <strong>Description</strong>: 3000 random insertions, removals, replacements, searches and bulk operations are made on
+     * numberList and on a ListAdapter, so that the elements cross many segments.
+     * <br><br>
+     * <strong>Expected result</strong>: the two lists must always contain the same elements.
+     */
+    @Test
+    public void testSingleThread(){
+        HList expected = new ListAdapter();
+        Random random = new Random(42);
+        for(int i = 0; i < 3000; i++){
+            int operation = random.nextInt(10);
+            Integer value = random.nextInt(200);
+            int size = expected.size();
+            if(operation < 5 || size == 0){
+                int index = random.nextInt(size + 1);
+                numberList.add(index, value);
+                expected.add(index, value);
+            }else if(operation < 7){
+                int index = random.nextInt(size);
+                assertEquals(expected.remove(index), numberList.remove(index));
+            }else if(operation < 8){
+                int index = random.nextInt(size);
+                assertEquals(expected.set(index, value), numberList.set(index, value));
+            }else if(operation < 9){
+                assertEquals(expected.indexOf(value), numberList.indexOf(value));
+                assertEquals(expected.lastIndexOf(value), numberList.lastIndexOf(value));
+                assertEquals(expected.remove(value), numberList.remove(value));
+            }else{
+                int from = random.nextInt(size);
+                int to = Math.min(size, from + random.nextInt(100));
+                numberList.subList(from, to).clear();
+                expected.subList(from, to).clear();
+            }
+            assertEquals(expected.size(), numberList.size());
+        }
+        assertArrayEquals(expected.toArray(), numberList.toArray());
+        HList odd = new ListAdapter();
+        for(int i = 1; i < 200; i += 2){
+            odd.add(i);
+        }
+        numberList.removeAll(odd);
+        expected.removeAll(odd);
+        int middle = expected.size() / 2;
+        numberList.addAll(middle, odd);
+        expected.addAll(middle, odd);
+        numberList.retainAll(numberList.subList(0, 50));
+        expected.retainAll(new ListAdapter(expected.subList(0, 50)));
+        assertArrayEquals(expected.toArray(), numberList.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> numberList.get(numberList.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> numberList.set(-1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentListAdapter(0));
+    }
+
+    /**
+     * Test of the concurrent writers of {@link ConcurrentListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that concurrent set() and add() don't lose any change.
+     * <br><br>
+     * <strong>Design</strong>: every thread increments its own region of the list with set(), while other threads read and
+     * append elements, so the optimistic reads are often invalidated.
+     * <br><br>
+     * <strong>Description</strong>: the list is filled with 8 regions of 256 zeros. 8 threads increment 1000 times every element
+     * of their region, 2 threads append 1000 elements each, and 2 threads read random elements.
+     * <br><br>
+     * <strong>Expected result</strong>: every element of the regions must be 1000, the list must contain 2000 appended elements,
+     * and the readers must never see a value outside [0, 1000].
+     * @throws Throwable if a thread fails
+     */
+    @Test
+    public void testConcurrentWriters() throws Throwable {
+        for(int i = 0; i < 8 * 256; i++){
+            numberList.add(0);
+        }
+        runThreads(12, thread -> {
+            Random random = new Random(thread);
+            if(thread < 8){
+                for(int round = 0; round < 1000; round++){
+                    for(int i = thread * 256; i < (thread + 1) * 256; i++){
+                        numberList.set(i, (Integer) numberList.get(i) + 1);
+                    }
+                }
+            }else if(thread < 10){
+                for(int i = 0; i < 1000; i++){
+                    numberList.add(-1);
+                }
+            }else{
+                for(int i = 0; i < 200000; i++){
+                    int value = (Integer) numberList.get(random.nextInt(8 * 256));
+                    if(value < 0 || value > 1000) throw new AssertionError("Unexpected value: " + value);
+                }
+            }
+        });
+        assertEquals(8 * 256 + 2000, numberList.size());
+        for(int i = 0; i < 8 * 256; i++){
+            assertEquals(1000, numberList.get(i));
+        }
+        assertEquals(8 * 256, numberList.indexOf(-1));
+    }
+
+    /**
+     * Test of the structural changes of {@link ConcurrentListAdapter} made by concurrent threads
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that readers never see an inconsistent list while other threads insert and
+     * remove elements.
+     * <br><br>
+     * <strong>Description</strong>: the list contains only the value 7. 2 threads insert and remove elements at random positions
+     * (always the value 7), while 2 threads read random positions and take snapshots.
+     * <br><br>
+     * <strong>Expected result</strong>: every read element must be 7 (an IndexOutOfBoundsException is allowed, because the size
+     * changes), and the list must contain 100 elements at the end.
+     * @throws Throwable if a thread fails
+     */
+    @Test
+    public void testConcurrentStructuralChanges() throws Throwable {
+        for(int i = 0; i < 100; i++){
+            numberList.add(7);
+        }
+        runThreads(4, thread -> {
+            Random random = new Random(thread);
+            for(int i = 0; i < 20000; i++){
+                if(thread < 2){
+                    numberList.add(random.nextInt(50), 7);
+                    numberList.remove(random.nextInt(50));
+                }else{
+                    try {
+                        assertEquals(7, numberList.get(random.nextInt(100)));
+                    } catch (IndexOutOfBoundsException e) {
+                        // the list is temporarily shorter
+                    }
+                    if(i % 1000 == 0){
+                        for (Object value : numberList.toArray()) {
+                            assertEquals(7, value);
+                        }
+                    }
+                }
+            }
+        });
+        assertEquals(100, numberList.size());
+    }
+}
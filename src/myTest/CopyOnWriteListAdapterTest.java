@@ -0,0 +1,219 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.CopyOnWriteListAdapter}.
+ * <br><br>
+ * The first test case compares the list with a ListAdapter, the others check the snapshots seen by the iterators and by
+ * the views, and the readers running while other threads change the list.
+ * <br><br>
+ * Execution variable:
+ * <br>
+ * CopyOnWriteListAdapter teamList - list on which the methods are tested, it contains "Inter", "Milan", "Juventus".
+ *
+ * @see myAdapter.CopyOnWriteListAdapter
+ * @author Andrea Stocco
+ */
+public class CopyOnWriteListAdapterTest
+{
+    CopyOnWriteListAdapter teamList;
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: a list with "Inter", "Milan", "Juventus" is created.
+     */
+    @Before
+    public void setup() {
+        teamList = new CopyOnWriteListAdapter();
+        teamList.add("Inter");
+        teamList.add("Milan");
+        teamList.add("Juventus");
+    }
+
+    /**
+     * Test of the operations of {@link CopyOnWriteListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the list behaves like a ListAdapter.
+     * <br><br>
+     * <strong>Description</strong>: 2000 random insertions, removals, replacements, searches and bulk operations are made on
+     * a list of numbers and on a ListAdapter.
+     * <br><br>
+     * <strong>Expected result</strong>: the two lists must always contain the same elements.
+     */
+    @Test
+    public void testOperations(){
+        CopyOnWriteListAdapter numberList = new CopyOnWriteListAdapter();
+        HList expected = new ListAdapter();
+        Random random = new Random(7);
+        for(int i = 0; i < 2000; i++){
+            int operation = random.nextInt(10);
+            Integer value = random.nextInt(100);
+            int size = expected.size();
+            if(operation < 5 || size == 0){
+                int index = random.nextInt(size + 1);
+                numberList.add(index, value);
+                expected.add(index, value);
+            }else if(operation < 7){
+                int index = random.nextInt(size);
+                assertEquals(expected.remove(index), numberList.remove(index));
+            }else if(operation < 8){
+                int index = random.nextInt(size);
+                assertEquals(expected.set(index, value), numberList.set(index, value));
+            }else if(operation < 9){
+                assertEquals(expected.indexOf(value), numberList.indexOf(value));
+                assertEquals(expected.lastIndexOf(value), numberList.lastIndexOf(value));
+                assertEquals(expected.remove(value), numberList.remove(value));
+            }else{
+                int from = random.nextInt(size);
+                int to = Math.min(size, from + random.nextInt(20));
+                numberList.subList(from, to).clear();
+                expected.subList(from, to).clear();
+            }
+            assertEquals(expected.size(), numberList.size());
+        }
+        assertArrayEquals(expected.toArray(), numberList.toArray());
+        HList odd = new ListAdapter();
+        for(int i = 1; i < 100; i += 2){
+            odd.add(i);
+        }
+        assertEquals(expected.removeAll(odd), numberList.removeAll(odd));
+        int middle = expected.size() / 2;
+        assertEquals(expected.addAll(middle, odd), numberList.addAll(middle, odd));
+        assertEquals(expected.retainAll(new ListAdapter(expected.subList(0, 50))), numberList.retainAll(numberList.subList(0, 50)));
+        assertArrayEquals(expected.toArray(), numberList.toArray());
+        assertEquals(numberList, expected);
+        assertEquals(expected.hashCode(), numberList.hashCode());
+        assertThrows(IndexOutOfBoundsException.class, () -> numberList.get(numberList.size()));
+        assertThrows(IndexOutOfBoundsException.class, () -> numberList.add(-1, 0));
+        assertThrows(NullPointerException.class, () -> numberList.addAll(null));
+    }
+
+    /**
+     * Test of the iterators of {@link CopyOnWriteListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that an iterator traverses the elements which were in the list when it
+     * was created.
+     * <br><br>
+     * <strong>Description</strong>: an iterator and a stream are created, then "Roma" is added and "Milan" is removed; the
+     * list is traversed again.
+     * <br><br>
+     * <strong>Preconditions</strong>: teamList = {"Inter", "Milan", "Juventus"}
+     * <br><br>
+     * <strong>Postconditions</strong>: teamList = {"Inter", "Juventus", "Roma"}
+     * <br><br>
+     * <strong>Expected result</strong>: the old iterator and the old spliterator must return "Inter", "Milan", "Juventus",
+     * the new iterator "Inter", "Juventus", "Roma"; remove(), set() and add() of the iterators must throw
+     * UnsupportedOperationException.
+     */
+    @Test
+    public void testSnapshotIterator(){
+        HListIterator old = teamList.listIterator();
+        Object[] streamed = teamList.stream().toArray();
+        java.util.Spliterator spliterator = teamList.spliterator();
+        teamList.add("Roma");
+        teamList.remove("Milan");
+        assertEquals("Inter", old.next());
+        assertEquals("Milan", old.next());
+        assertEquals("Juventus", old.next());
+        assertFalse(old.hasNext());
+        assertEquals("Juventus", old.previous());
+        assertEquals(3, spliterator.estimateSize());
+        assertArrayEquals(new Object[]{"Inter", "Milan", "Juventus"}, streamed);
+        HIterator current = teamList.iterator();
+        for(Object team : new Object[]{"Inter", "Juventus", "Roma"}){
+            assertEquals(team, current.next());
+        }
+        assertFalse(current.hasNext());
+        assertThrows(UnsupportedOperationException.class, current::remove);
+        assertThrows(UnsupportedOperationException.class, () -> old.set("Lazio"));
+        assertThrows(UnsupportedOperationException.class, () -> old.add("Lazio"));
+    }
+
+    /**
+     * Test of the views of {@link CopyOnWriteListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that a view works while the list is changed only through it, and that
+     * it throws ConcurrentModificationException after the list has been changed in another way.
+     * <br><br>
+     * <strong>Description</strong>: a view of the last two elements is changed with set(), add() and remove(), then the
+     * list is changed directly.
+     * <br><br>
+     * <strong>Preconditions</strong>: teamList = {"Inter", "Milan", "Juventus"}
+     * <br><br>
+     * <strong>Postconditions</strong>: teamList = {"Inter", "Napoli", "Roma", "Lazio"}
+     * <br><br>
+     * <strong>Expected result</strong>: the changes of the view must be visible in the list; after teamList.add("Lazio")
+     * every method of the view must throw ConcurrentModificationException.
+     */
+    @Test
+    public void testSubList(){
+        HList view = teamList.subList(1, 3);
+        assertEquals("Milan", view.set(0, "Napoli"));
+        view.add("Roma");
+        assertEquals("Juventus", view.remove(1));
+        assertEquals(2, view.size());
+        assertEquals(1, view.indexOf("Roma"));
+        assertArrayEquals(new Object[]{"Napoli", "Roma"}, view.toArray());
+        assertArrayEquals(new Object[]{"Inter", "Napoli", "Roma"}, teamList.toArray());
+        teamList.add("Lazio");
+        assertArrayEquals(new Object[]{"Inter", "Napoli", "Roma", "Lazio"}, teamList.toArray());
+        assertThrows(ConcurrentModificationException.class, view::size);
+        assertThrows(ConcurrentModificationException.class, () -> view.get(0));
+        assertThrows(ConcurrentModificationException.class, () -> view.add("Torino"));
+        assertThrows(IndexOutOfBoundsException.class, () -> teamList.subList(2, 5));
+    }
+
+    /**
+     * Test of the readers of {@link CopyOnWriteListAdapter} running while other threads change the list
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the readers always see a complete snapshot.
+     * <br><br>
+     * <strong>Description</strong>: the list contains 100 times the value 7. 2 threads replace the whole list with addAll()
+     * and removeAll() (always the value 7 or 8) and insert and remove single elements, while 2 threads iterate.
+     * <br><br>
+     * <strong>Expected result</strong>: every snapshot must contain only 7 and 8, and its size must be a multiple of 100
+     * plus at most 2; the list must contain 100 elements at the end.
+     * @throws Throwable if a thread fails
+     */
+    @Test
+    public void testConcurrentReaders() throws Throwable {
+        CopyOnWriteListAdapter numberList = new CopyOnWriteListAdapter();
+        HList sevens = new ListAdapter(), eights = new ListAdapter();
+        for(int i = 0; i < 100; i++){
+            sevens.add(7);
+            eights.add(8);
+        }
+        HList eight = new ListAdapter();
+        eight.add(8);
+        numberList.addAll(sevens);
+        ConcurrentListAdapterTest.runThreads(4, thread -> {
+            for(int i = 0; i < 2000; i++){
+                if(thread < 2){
+                    synchronized (eights) {
+                        numberList.addAll(eights);
+                        numberList.removeAll(eight);
+                    }
+                    numberList.add(50, 7);
+                    numberList.remove(50);
+                }else{
+                    int count = 0;
+                    HIterator iterator = numberList.iterator();
+                    while(iterator.hasNext()){
+                        Object value = iterator.next();
+                        if(!value.equals(7) && !value.equals(8)) throw new AssertionError("Unexpected value: " + value);
+                        count++;
+                    }
+                    if(count % 100 > 2) throw new AssertionError("Unexpected size: " + count);
+                }
+            }
+        });
+        assertEquals(100, numberList.size());
+    }
+}
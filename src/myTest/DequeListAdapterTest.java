@@ -0,0 +1,149 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.DequeListAdapter}.
+ * <br><br>
+ * Execution variable:
+ * <br>
+ * DequeListAdapter teamList - list on which the methods are tested, it has capacity 4 and contains "Inter", "Milan",
+ * "Juventus", inserted so that they wrap around the end of the array.
+ *
+ * @see myAdapter.DequeListAdapter
+ * @author Andrea Stocco
+ */
+public class DequeListAdapterTest
+{
+    DequeListAdapter teamList;
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: "Milan" and "Juventus" are appended and
+     * "Inter" is inserted at the beginning, so the first element is stored at the end of the array.
+     */
+    @Before
+    public void setup() {
+        teamList = new DequeListAdapter(4);
+        teamList.addLast("Milan");
+        teamList.addLast("Juventus");
+        teamList.addFirst("Inter");
+    }
+
+    /**
+     * Test of the deque methods of {@link DequeListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the insertions and the removals at both ends, also when the array grows.
+     * <br><br>
+     * <strong>Description</strong>: elements are inserted at both ends until the array grows twice, then the list is used as
+     * a FIFO queue and emptied from both ends.
+     * <br><br>
+     * <strong>Preconditions</strong>: teamList = {"Inter", "Milan", "Juventus"}
+     * <br><br>
+     * <strong>Postconditions</strong>: teamList = {}
+     * <br><br>
+     * <strong>Expected result</strong>: the elements must keep their order after the growth; the poll and peek methods must
+     * return the elements at the ends, and null when the list is empty.
+     */
+    @Test
+    public void testDeque(){
+        assertEquals("Inter", teamList.peekFirst());
+        assertEquals("Juventus", teamList.peekLast());
+        teamList.addLast("Roma");
+        teamList.addFirst("Napoli");
+        teamList.addFirst("Lazio");
+        for(int i = 0; i < 10; i++){
+            teamList.addLast(i);
+        }
+        assertEquals(16, teamList.size());
+        assertArrayEquals(new Object[]{"Lazio", "Napoli", "Inter", "Milan", "Juventus", "Roma", 0, 1, 2, 3, 4, 5, 6, 7, 8, 9},
+                teamList.toArray());
+        assertEquals("Lazio", teamList.pollFirst());
+        assertEquals(9, teamList.pollLast());
+        for(int i = 10; i < 1000; i++){
+            teamList.add(i);
+            teamList.remove(0);
+        }
+        assertEquals(14, teamList.size());
+        assertEquals(986, teamList.peekFirst());
+        assertEquals(999, teamList.peekLast());
+        for(int i = 986; i < 993; i++){
+            assertEquals(i, teamList.pollFirst());
+        }
+        for(int i = 999; i >= 993; i--){
+            assertEquals(i, teamList.pollLast());
+        }
+        assertTrue(teamList.isEmpty());
+        assertNull(teamList.pollFirst());
+        assertNull(teamList.pollLast());
+        assertNull(teamList.peekFirst());
+        assertNull(teamList.peekLast());
+    }
+
+    /**
+     * Test of the methods of HList of {@link DequeListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the list behaves like a ListAdapter.
+     * <br><br>
+     * <strong>Description</strong>: 5000 random insertions and removals at the ends and in the middle, replacements, bulk
+     * insertions and removals of ranges are made on a list of numbers and on a ListAdapter.
+     * <br><br>
+     * <strong>Expected result</strong>: the two lists must always contain the same elements.
+     */
+    @Test
+    public void testOperations(){
+        DequeListAdapter numberList = new DequeListAdapter();
+        HList expected = new ListAdapter();
+        Random random = new Random(11);
+        for(int i = 0; i < 5000; i++){
+            int operation = random.nextInt(12);
+            int size = expected.size();
+            if(operation < 2 || size == 0){
+                numberList.addFirst(i);
+                expected.add(0, i);
+            }else if(operation < 4){
+                numberList.addLast(i);
+                expected.add(i);
+            }else if(operation < 6){
+                int index = random.nextInt(size + 1);
+                numberList.add(index, i);
+                expected.add(index, i);
+            }else if(operation < 7){
+                assertEquals(expected.remove(0), numberList.pollFirst());
+            }else if(operation < 8){
+                assertEquals(expected.remove(size - 1), numberList.pollLast());
+            }else if(operation < 9){
+                int index = random.nextInt(size);
+                assertEquals(expected.remove(index), numberList.remove(index));
+            }else if(operation < 10){
+                int index = random.nextInt(size);
+                assertEquals(expected.set(index, -i), numberList.set(index, -i));
+            }else if(operation < 11){
+                int index = random.nextInt(size + 1);
+                HList batch = PersistentHListTest.numbers(i, i + 1 + random.nextInt(20));
+                assertEquals(expected.addAll(index, batch), numberList.addAll(index, batch));
+            }else{
+                int from = random.nextInt(size);
+                int to = Math.min(size, from + random.nextInt(15));
+                numberList.subList(from, to).clear();
+                expected.subList(from, to).clear();
+            }
+            assertEquals(expected.size(), numberList.size());
+        }
+        assertArrayEquals(expected.toArray(), numberList.toArray());
+        assertEquals(numberList, expected);
+        Object some = expected.get(expected.size() / 2);
+        assertEquals(expected.indexOf(some), numberList.indexOf(some));
+        assertEquals(expected.lastIndexOf(some), numberList.lastIndexOf(some));
+        assertArrayEquals(expected.toArray(), new DequeListAdapter(expected).toArray());
+        numberList.clear();
+        assertTrue(numberList.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> numberList.get(0));
+        assertThrows(IllegalArgumentException.class, () -> new DequeListAdapter(-1));
+    }
+}
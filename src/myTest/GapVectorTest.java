@@ -0,0 +1,58 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class executes all the test cases of {@link VectorTest} on a {@link myAdapter.GapVector}, and it checks the
+ * behaviour of a ListAdapter which uses a GapVector as adaptee.
+ *
+ * @see myAdapter.GapVector
+ * @author Andrea Stocco
+ */
+public class GapVectorTest extends VectorTest
+{
+    @Override
+    protected Vector newVector(){
+        return new GapVector(2);
+    }
+
+    /**
+     * Test of {@link ListAdapter#ListAdapter(Vector)} with a GapVector
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the edits made by a listIterator on a list backed by a gap buffer.
+     * <br><br>
+     * <strong>Design</strong>: the gap is moved forward and backward by inserting and removing elements at a moving cursor.
+     * <br><br>
+     * <strong>Description</strong>: a ListAdapter is created on teamVector. An element is inserted after every element of the list
+     * moving forward, then every inserted element is removed moving backward.
+     * <br><br>
+     * <strong>Expected result</strong>: after the insertions every element must be followed by "Porto", after the removals the list
+     * must contain the original elements. The vector and the list must always have the same content.
+     */
+    // teamVector = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testListAdapterWithGapVector(){
+        HList list = new ListAdapter(teamVector);
+        assertArrayEquals(teams, list.toArray());
+        HListIterator iter = list.listIterator();
+        while(iter.hasNext()){
+            iter.next();
+            iter.add("Porto");
+        }
+        assertEquals(2 * teams.length, list.size());
+        for(int i = 0; i < list.size(); i += 2){
+            assertEquals(teams[i / 2], list.get(i));
+            assertEquals("Porto", list.get(i + 1));
+        }
+        assertArrayEquals(list.toArray(), content(teamVector));
+        while(iter.hasPrevious()){
+            if("Porto".equals(iter.previous())) iter.remove();
+        }
+        assertArrayEquals(teams, list.toArray());
+        assertArrayEquals(teams, content(teamVector));
+        assertThrows(NullPointerException.class, () -> new ListAdapter((Vector) null));
+    }
+}
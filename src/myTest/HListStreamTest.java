@@ -0,0 +1,228 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.HListWriter} and {@link myAdapter.HListReader}.
+ * <br><br>
+ * The lists are written in memory through the channels returned by Channels.newChannel(), or in a temporary file when
+ * the chunks are skipped through a FileChannel.
+ *
+ * @see myAdapter.HListWriter
+ * @see myAdapter.HListReader
+ * @author Andrea Stocco
+ */
+public class HListStreamTest
+{
+    /**
+     * Method that writes a list with HListWriter in memory
+     * @param list list to write
+     * @param codec codec of the elements
+     * @param bufferSize size of the buffer of the writer
+     * @return the written bytes
+     * @throws IOException if the list can't be written
+     */
+    static byte[] write(HList list, ElementCodec codec, int bufferSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new HListWriter(Channels.newChannel(out), codec, bufferSize).write(list);
+        return out.toByteArray();
+    }
+
+    /**
+     * Test of {@link HListWriter#write(HCollection)} and {@link HListReader#read()}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the lists are read unchanged, with every built-in codec.
+     * <br><br>
+     * <strong>Design</strong>: small buffers are used, so that the lists are split in many chunks and some records don't fit in a chunk.
+     * <br><br>
+     * <strong>Description</strong>: lists of String with null elements, Integer, Long, Double and byte[] are written and read
+     * back, together with an empty list and a subList.
+     * <br><br>
+     * <strong>Expected result</strong>: the read lists must be equal to the written ones, and a further read() must throw EOFException.
+     * @throws IOException if the lists can't be written
+     */
+    @Test
+    public void testWriteRead() throws IOException {
+        // teamList = {"Team0", null, "Team2", ...} of 1000 elements and a team with a name longer than the buffer
+        HList teamList = new ListAdapter();
+        for(int i = 0; i < 1000; i++){
+            teamList.add(i % 7 == 1 ? null : "Team" + i);
+        }
+        char[] longName = new char[100];
+        Arrays.fill(longName, 'A');
+        teamList.add(500, new String(longName));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        HListWriter writer = new HListWriter(Channels.newChannel(out), ElementCodec.STRING, 64);
+        writer.write(teamList);
+        writer.write(new ListAdapter());
+        writer.write(teamList.subList(10, 20));
+        HListReader reader = new HListReader(Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), ElementCodec.STRING);
+        assertArrayEquals(teamList.toArray(), reader.read().toArray());
+        assertTrue(reader.read().isEmpty());
+        assertArrayEquals(teamList.subList(10, 20).toArray(), reader.read().toArray());
+        assertThrows(EOFException.class, reader::read);
+
+        HList numbers = new ListAdapter();
+        for(int i = 0; i < 100; i++){
+            numbers.add(i * 31);
+        }
+        byte[] bytes = write(numbers, ElementCodec.INTEGER, 32);
+        assertArrayEquals(numbers.toArray(), new HListReader(Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.INTEGER).read().toArray());
+        HList longs = new ListAdapter();
+        HList doubles = new ListAdapter();
+        for(int i = 0; i < 100; i++){
+            longs.add((long) i << 40);
+            doubles.add(i / 3.0);
+        }
+        bytes = write(longs, ElementCodec.LONG, 64);
+        assertArrayEquals(longs.toArray(), new HListReader(Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.LONG).read().toArray());
+        bytes = write(doubles, ElementCodec.DOUBLE, 64);
+        assertArrayEquals(doubles.toArray(), new HListReader(Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.DOUBLE).read().toArray());
+        HList arrays = new ListAdapter();
+        arrays.add(new byte[]{1, 2, 3});
+        arrays.add(new byte[0]);
+        bytes = write(arrays, ElementCodec.BYTES, 64);
+        HList read = new HListReader(Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.BYTES).read();
+        assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) read.get(0));
+        assertArrayEquals(new byte[0], (byte[]) read.get(1));
+        assertThrows(ClassCastException.class, () -> write(teamList, ElementCodec.INTEGER, 64));
+    }
+
+    /**
+     * Test of {@link HListReader#readChunk(HCollection)} and {@link HListReader#skipChunk()}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the partial reading of the lists.
+     * <br><br>
+     * <strong>Description</strong>: a list of 1000 Integer is written in a temporary file, in chunks of about 10 elements. The
+     * first chunk is read, 50 chunks are skipped and the next chunk is read, then the reader moves to the next list.
+     * The same is done with a channel which isn't seekable, and with a corrupted stream.
+     * <br><br>
+     * <strong>Expected result</strong>: the read elements must be the ones of the first chunk followed by the ones after the
+     * skipped chunks, nextList() must skip the remaining chunks, and a stream which doesn't start with the magic number must
+     * throw StreamCorruptedException.
+     * @throws IOException if the file can't be used
+     */
+    @Test
+    public void testPartialRead() throws IOException {
+        HList numbers = new ListAdapter();
+        for(int i = 0; i < 1000; i++){
+            numbers.add(i);
+        }
+        HList last = new ListAdapter();
+        last.add(-1);
+        Path file = Files.createTempFile("list", ".bin");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                HListWriter writer = new HListWriter(channel, ElementCodec.INTEGER, 20 + 8 * 10);
+                writer.write(numbers);
+                writer.write(last);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                checkPartialRead(new HListReader(channel, ElementCodec.INTEGER));
+            }
+            byte[] bytes = Files.readAllBytes(file);
+            checkPartialRead(new HListReader(Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.INTEGER));
+            bytes[0] = 0;
+            HListReader corrupted = new HListReader(Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.INTEGER);
+            assertThrows(StreamCorruptedException.class, corrupted::nextList);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Test of {@link HListReader#read()} with truncated and corrupted streams
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the sizes and the lengths read from the stream are validated.
+     * <br><br>
+     * <strong>Design</strong>: a valid stream is written and then single ints of its headers and records are changed.
+     * The list header takes 12 bytes and is followed by the chunk header (number of elements and number of bytes).
+     * <br><br>
+     * <strong>Description</strong>: the list size is changed to Integer.MAX_VALUE, the chunk length to a huge value, to less
+     * than the records and to more than the records, a record length to a huge value and the length of an Integer to 2.
+     * Then a stream is cut in the middle of a record.
+     * <br><br>
+     * <strong>Expected result</strong>: the streams which end too early must throw EOFException, the others
+     * StreamCorruptedException, without allocating memory for the sizes written in the stream.
+     * @throws IOException if the lists can't be written
+     */
+    @Test
+    public void testCorruptedRead() throws IOException {
+        HList teamList = new ListAdapter();
+        teamList.add("Milan");
+        teamList.add("Inter");
+        byte[] valid = write(teamList, ElementCodec.STRING, 64);
+        assertThrows(EOFException.class, () -> readCorrupted(valid, 8, Integer.MAX_VALUE, ElementCodec.STRING));
+        assertThrows(EOFException.class, () -> readCorrupted(valid, 16, Integer.MAX_VALUE - 8, ElementCodec.STRING));
+        assertThrows(StreamCorruptedException.class, () -> readCorrupted(valid, 16, 10, ElementCodec.STRING));
+        assertThrows(StreamCorruptedException.class, () -> readCorrupted(valid, 16, 4, ElementCodec.STRING));
+        assertThrows(StreamCorruptedException.class, () -> readCorrupted(valid, 16, -1, ElementCodec.STRING));
+        assertThrows(StreamCorruptedException.class, () -> readCorrupted(valid, 20, 1 << 20, ElementCodec.STRING));
+        assertThrows(StreamCorruptedException.class, () -> readCorrupted(valid, 20, -2, ElementCodec.STRING));
+        byte[] longer = Arrays.copyOf(valid, valid.length + 4);
+        assertThrows(StreamCorruptedException.class, () -> readCorrupted(longer, 16, 22, ElementCodec.STRING));
+        HList numbers = new ListAdapter();
+        numbers.add(7);
+        numbers.add(8);
+        byte[] integers = write(numbers, ElementCodec.INTEGER, 64);
+        assertThrows(StreamCorruptedException.class, () -> readCorrupted(integers, 20, 2, ElementCodec.INTEGER));
+        byte[] truncated = Arrays.copyOf(valid, valid.length - 3);
+        assertThrows(EOFException.class,
+                () -> new HListReader(Channels.newChannel(new ByteArrayInputStream(truncated)), ElementCodec.STRING).read());
+    }
+
+    /**
+     * Method that changes an int of a written stream and reads a list from it
+     * @param bytes the written stream, which isn't changed
+     * @param offset position of the int to change
+     * @param value new value of the int
+     * @param codec codec of the elements
+     * @throws IOException if the list can't be read
+     */
+    static void readCorrupted(byte[] bytes, int offset, int value, ElementCodec codec) throws IOException {
+        byte[] corrupted = bytes.clone();
+        java.nio.ByteBuffer.wrap(corrupted).putInt(offset, value);
+        new HListReader(Channels.newChannel(new ByteArrayInputStream(corrupted)), codec).read();
+    }
+
+    /**
+     * Method that checks the partial reading of the lists written by testPartialRead()
+     * @param reader the reader of the lists
+     * @throws IOException if the lists can't be read
+     */
+    static void checkPartialRead(HListReader reader) throws IOException {
+        HList read = new ListAdapter();
+        assertEquals(1000, reader.nextList());
+        int first = reader.readChunk(read);
+        int skipped = 0;
+        for(int i = 0; i < 50; i++){
+            skipped += reader.skipChunk();
+        }
+        int next = reader.readChunk(read);
+        assertEquals(first + next, read.size());
+        for(int i = 0; i < read.size(); i++){
+            assertEquals(i < first ? i : skipped + i, read.get(i));
+        }
+        read.clear();
+        assertEquals(1, reader.nextList());
+        assertEquals(1, reader.readChunk(read));
+        assertEquals(-1, read.get(0));
+        assertEquals(0, reader.readChunk(read));
+        assertEquals(-1, reader.nextList());
+    }
+}
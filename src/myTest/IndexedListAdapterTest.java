@@ -0,0 +1,180 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.IndexedListAdapter}.
+ * <br><br>
+ * Every test compares the results of the lookups with the ones of a ListAdapter which receives the same changes, so that
+ * the index is checked after every kind of update.
+ * <br><br>
+ * Execution variables:
+ * <br>
+ * IndexedListAdapter teamList - list on which the methods are tested.
+ * <br>
+ * ListAdapter expected - list which receives the same changes as teamList.
+ * <br>
+ * String [] teams - names of the teams stored in the lists.
+ *
+ * @see myAdapter.IndexedListAdapter
+ * @author Andrea Stocco
+ */
+public class IndexedListAdapterTest
+{
+    IndexedListAdapter teamList;
+    ListAdapter expected;
+    static String[] teams = {"Milan", "Inter", "Juventus", "Napoli", "Roma", "Lazio", "Atalanta", "Torino", null};
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: both lists are empty.
+     */
+    @Before
+    public void setup() {
+        teamList = new IndexedListAdapter();
+        expected = new ListAdapter();
+    }
+
+    /**
+     * Method that checks that the lookups of two lists give the same results for every team
+     * @param list the list to check
+     * @param reference the list with the expected results
+     */
+    static void checkLookups(HList list, HList reference){
+        assertEquals(reference.size(), list.size());
+        for (String team : teams) {
+            assertEquals(reference.indexOf(team), list.indexOf(team));
+            assertEquals(reference.lastIndexOf(team), list.lastIndexOf(team));
+            assertEquals(reference.contains(team), list.contains(team));
+        }
+        assertEquals(reference.indexOf("Bologna"), list.indexOf("Bologna"));
+    }
+
+    /**
+     * Test of the index of {@link IndexedListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the lookups after every kind of change.
+     * <br><br>
+     * <strong>Design</strong>: the changes at the end and in the middle of the list update the index in place, the middle
+     * ones also shift the following positions. Both kinds of change are used in a random order.
+     * <br><br>
+     * <strong>Description</strong>: 3000 random operations are made on teamList and expected, and the lookups are compared after
+     * each one. Some operations insert two teams with addAll(), some are made through subList views and through
+     * remove(Object). Finally a view and the whole list are sorted.
+     * <br><br>
+     * <strong>Expected result</strong>: the lookups of teamList must always be the same as the ones of expected.
+     */
+    @Test
+    public void testIndexUpdates(){
+        Random random = new Random(42);
+        for(int i = 0; i < 3000; i++){
+            int operation = random.nextInt(13);
+            String team = teams[random.nextInt(teams.length)];
+            int size = expected.size();
+            if(operation < 4 || size == 0){
+                teamList.add(team);
+                expected.add(team);
+            }else if(operation < 5){
+                int index = random.nextInt(size + 1);
+                teamList.add(index, team);
+                expected.add(index, team);
+            }else if(operation < 7){
+                assertEquals(expected.remove(size - 1), teamList.remove(size - 1));
+            }else if(operation < 8){
+                int index = random.nextInt(size);
+                assertEquals(expected.remove(index), teamList.remove(index));
+            }else if(operation < 10){
+                int index = random.nextInt(size);
+                assertEquals(expected.set(index, team), teamList.set(index, team));
+            }else if(operation < 11){
+                assertEquals(expected.remove(team), teamList.remove(team));
+            }else if(operation < 12){
+                int index = random.nextInt(size + 1);
+                HList batch = new ListAdapter();
+                batch.add(team);
+                batch.add(teams[random.nextInt(teams.length)]);
+                assertEquals(expected.addAll(index, batch), teamList.addAll(index, batch));
+            }else{
+                int from = random.nextInt(size);
+                int to = random.nextBoolean() ? size : Math.min(size, from + random.nextInt(4));
+                teamList.subList(from, to).clear();
+                expected.subList(from, to).clear();
+            }
+            checkLookups(teamList, expected);
+        }
+        assertArrayEquals(expected.toArray(), teamList.toArray());
+        java.util.Comparator byName = (first, second) -> String.valueOf(first).compareTo(String.valueOf(second));
+        int half = expected.size() / 2;
+        teamList.subList(half, expected.size()).sort(byName);
+        expected.subList(half, expected.size()).sort(byName);
+        checkLookups(teamList, expected);
+        teamList.sort(byName);
+        expected.sort(byName);
+        checkLookups(teamList, expected);
+    }
+
+    /**
+     * Test of the views returned by {@link IndexedListAdapter#subList(int, int)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the lookups inside nested views and the changes made through them.
+     * <br><br>
+     * <strong>Description</strong>: teamList is filled with 200 teams, then the lookups of nested views are compared with the
+     * ones of the views of expected, before and after insertions and removals made through the innermost view.
+     * Finally removeAll() and retainAll() are called with a view of teamList, and a team is added to teamList while a view
+     * of it is open.
+     * <br><br>
+     * <strong>Expected result</strong>: the lookups of the views must be the same as the ones of the views of expected, and the
+     * sizes of the enclosing views must follow the changes. The view must throw ConcurrentModificationException after the
+     * change of teamList not made through it.
+     */
+    @Test
+    public void testSubList(){
+        Random random = new Random(7);
+        for(int i = 0; i < 200; i++){
+            String team = teams[random.nextInt(teams.length)];
+            teamList.add(team);
+            expected.add(team);
+        }
+        HList view = teamList.subList(20, 180), expectedView = expected.subList(20, 180);
+        HList inner = view.subList(30, 60), expectedInner = expectedView.subList(30, 60);
+        checkLookups(view, expectedView);
+        checkLookups(inner, expectedInner);
+        inner.add(5, "Bologna");
+        expectedInner.add(5, "Bologna");
+        inner.remove(0);
+        expectedInner.remove(0);
+        inner.remove("Milan");
+        expectedInner.remove("Milan");
+        assertEquals(expectedView.size(), view.size());
+        checkLookups(view, expectedView);
+        checkLookups(inner, expectedInner);
+        assertEquals(expectedInner.indexOf("Bologna"), inner.indexOf("Bologna"));
+        assertEquals(expected.size(), teamList.size());
+        checkLookups(teamList, expected);
+
+        HList removed = teamList.subList(0, 10);
+        String[] toRemove = new String[10];
+        removed.toArray(toRemove);
+        HList snapshot = new ListAdapter();
+        for (String team : toRemove) {
+            snapshot.add(team);
+        }
+        teamList.removeAll(snapshot);
+        expected.removeAll(snapshot);
+        checkLookups(teamList, expected);
+        teamList.retainAll(teamList.subList(0, 20));
+        expected.retainAll(expected.subList(0, 20));
+        assertArrayEquals(expected.toArray(), teamList.toArray());
+        checkLookups(new IndexedListAdapter(expected), expected);
+        HList stale = teamList.subList(0, 5);
+        teamList.add("Roma");
+        assertThrows(ConcurrentModificationException.class, stale::size);
+        assertThrows(ConcurrentModificationException.class, () -> stale.indexOf("Roma"));
+    }
+}
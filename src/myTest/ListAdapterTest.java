@@ -4,6 +4,7 @@ import myAdapter.*;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 
 import static org.junit.Assert.*;
@@ -413,6 +414,39 @@ public class ListAdapterTest
         assertThrows(NullPointerException.class, () -> teamList.addAll(0, null));
     }
 
+    /**
+     * Test of {@link ListAdapter#addAll(int, HCollection)} with a subList as argument
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the bulk insertion of a subList inside a subList of the same list.
+     * <br><br>
+     * <strong>Design</strong>: the inserted collection and the list share the same Vector, so the elements must be copied before the
+     * insertion.
+     * <br><br>
+     * <strong>Description</strong>: a subList of teamList is inserted in the middle of another subList of teamList. Then teamList is
+     * inserted at its own end.
+     * <br><br>
+     * <strong>Preconditions</strong>: subList() and toArray() must work correctly.
+     * <br><br>
+     * <strong>Postconditions</strong>: the subList which receives the elements and all its ancestors must be resized once.
+     * <br><br>
+     * <strong>Expected result</strong>: toArray() must return the expected arrays for the subList and for teamList.
+     */
+    // teamList = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testAddAllSubList(){
+        HList sub = teamList.subList(3, 6);
+        sub.addAll(1, teamList.subList(0, 2));
+        assertArrayEquals(new Object[]{"Manchester United", "Milan", "Liverpool", "Bayern Monaco", "Ajax"}, sub.toArray());
+        assertArrayEquals(new Object[]{"Milan", "Liverpool", "Real Madrid", "Manchester United", "Milan", "Liverpool", "Bayern Monaco", "Ajax"},
+                teamList.toArray());
+        teamList.addAll(teamList);
+        assertEquals(16, teamList.size());
+        assertEquals("Milan", teamList.get(8));
+        assertEquals("Ajax", teamList.get(15));
+        assertTrue(teamList.addAll(2, emptyList));
+        assertEquals(16, teamList.size());
+    }
+
     /**
      * Test of {@link ListAdapter#removeAll(HCollection)}
      * <br><br>
@@ -448,6 +482,49 @@ public class ListAdapterTest
         assertArrayEquals(new Object[]{"Milan", "Real Madrid", "Bayern Monaco", "Ajax"}, teamList.toArray());
     }
 
+    /**
+     * Test of {@link ListAdapter#removeAll(HCollection)} with a large collection
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the removal of the elements of a collection large enough to be hashed.
+     * <br><br>
+     * <strong>Design</strong>: the list contains duplicates and null values, and the elements are removed through a subList.
+     * <br><br>
+     * <strong>Description</strong>: 100 numbers, a null and some duplicates are added to emptyList. All the even numbers and null
+     * are removed from a subList which excludes the first and the last element.
+     * <br><br>
+     * <strong>Preconditions</strong>: add(), subList() and toArray() must work correctly.
+     * <br><br>
+     * <strong>Postconditions</strong>: only the elements inside the subList must be removed, the father list must be resized.
+     * <br><br>
+     * <strong>Expected result</strong>: the subList must contain only the odd numbers, the first and the last element of the
+     * list must not be removed.
+     */
+    // teamList = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testRemoveAllLargeCollection(){
+        HList blacklist = new ListAdapter();
+        for(int i = 0; i < 100; i += 2){
+            blacklist.add(i);
+        }
+        blacklist.add(null);
+        emptyList.add(0);
+        for(int i = 0; i < 100; i++){
+            emptyList.add(i);
+            if(i % 10 == 0) emptyList.add(null);
+        }
+        emptyList.add(98);
+        HList sub = emptyList.subList(1, emptyList.size() - 1);
+        assertTrue(sub.removeAll(blacklist));
+        assertFalse(sub.removeAll(blacklist));
+        assertEquals(50, sub.size());
+        for(int i = 0; i < sub.size(); i++){
+            assertEquals(2 * i + 1, sub.get(i));
+        }
+        assertEquals(52, emptyList.size());
+        assertEquals(0, emptyList.get(0));
+        assertEquals(98, emptyList.get(51));
+    }
+
     /**
      * Test of {@link ListAdapter#retainAll(HCollection)}
      * <br><br>
@@ -476,6 +553,45 @@ public class ListAdapterTest
         assertArrayEquals(new Object[]{"Milan", "Real Madrid"}, teamList.toArray());
     }
 
+    /**
+     * Test of {@link ListAdapter#retainAll(HCollection)} with a large collection
+     * <br><br>
+     * <strong>Summary</strong>: method for checking retainAll() when the argument is large enough to be hashed and when it
+     * is a subList of the list itself.
+     * <br><br>
+     * <strong>Design</strong>: the argument contains null values and elements which aren't inside the list.
+     * <br><br>
+     * <strong>Description</strong>: emptyList is filled with 100 numbers and some nulls, then only the multiples of 3 and null are
+     * retained. After that emptyList retains the elements of one of its subLists.
+     * <br><br>
+     * <strong>Preconditions</strong>: add(), subList() and toArray() must work correctly.
+     * <br><br>
+     * <strong>Postconditions</strong>: the order of the retained elements must not change.
+     * <br><br>
+     * <strong>Expected result</strong>: the list must contain only the retained elements, in the original order.
+     */
+    // teamList = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testRetainAllLargeCollection(){
+        HList whitelist = new ListAdapter();
+        for(int i = 0; i < 300; i += 3){
+            whitelist.add(i);
+        }
+        whitelist.add(null);
+        for(int i = 0; i < 100; i++){
+            emptyList.add(i);
+            if(i % 25 == 0) emptyList.add(null);
+        }
+        assertTrue(emptyList.retainAll(whitelist));
+        assertFalse(emptyList.retainAll(whitelist));
+        assertEquals(38, emptyList.size());
+        assertEquals(0, emptyList.get(0));
+        assertNull(emptyList.get(1));
+        assertEquals(99, emptyList.get(emptyList.size() - 1));
+        assertTrue(emptyList.retainAll(emptyList.subList(0, 2)));
+        assertArrayEquals(new Object[]{0, null, null, null, null}, emptyList.toArray());
+    }
+
     /**
      * Test of {@link ListAdapter#clear()}
      * <br><br>
@@ -498,6 +614,40 @@ public class ListAdapterTest
         assertArrayEquals(new Object[]{}, teamList.toArray());
     }
 
+    /**
+     * Test of {@link ListAdapter#clear()} on subLists
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the emptying of nested subLists.
+     * <br><br>
+     * <strong>Design</strong>: a subList of a subList is emptied, then its father is emptied.
+     * <br><br>
+     * <strong>Description</strong>: two nested subLists of teamList are created, the inner one is emptied, then an element is added to
+     * it. After that the outer subList is emptied.
+     * <br><br>
+     * <strong>Preconditions</strong>: subList(), add() and toArray() must work correctly.
+     * <br><br>
+     * <strong>Postconditions</strong>: every ancestor of the emptied subList must be resized.
+     * <br><br>
+     * <strong>Expected result</strong>: the elements outside the emptied subLists must not be removed.
+     */
+    // teamList = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testClearSubList(){
+        HList sub1 = teamList.subList(1, 5);
+        HList sub2 = sub1.subList(1, 3);
+        sub2.clear();
+        assertTrue(sub2.isEmpty());
+        assertArrayEquals(new Object[]{"Liverpool", "Bayern Monaco"}, sub1.toArray());
+        assertArrayEquals(new Object[]{"Milan", "Liverpool", "Bayern Monaco", "Ajax"}, teamList.toArray());
+        sub2.add("Porto");
+        assertArrayEquals(new Object[]{"Milan", "Liverpool", "Porto", "Bayern Monaco", "Ajax"}, teamList.toArray());
+        sub1.clear();
+        assertEquals(0, sub1.size());
+        assertArrayEquals(new Object[]{"Milan", "Ajax"}, teamList.toArray());
+        emptyList.clear();
+        assertTrue(emptyList.isEmpty());
+    }
+
     /**
      * Test of {@link ListAdapter#equals(Object)}
      * <br><br>
@@ -512,6 +662,8 @@ public class ListAdapterTest
      * <strong>Postconditions</strong>: equals() must return true if the two lists contains the same elements and have the same size.
      * <br><br>
      * <strong>Expected result</strong>: the first call of equals() must return true. the second call must return false.
+     * A list of another class with the same elements (also equal but not identical ones) must be equal to teamList in both
+     * directions.
      */
     // teamList = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
     @Test
@@ -520,6 +672,16 @@ public class ListAdapterTest
         assertEquals(teamList, list);
         list.remove(0);
         assertNotEquals(teamList, list);
+        HList other = new DequeListAdapter();
+        for(int i = 0; i < teamList.size(); i++){
+            other.add(new String((String) teamList.get(i)));
+        }
+        assertTrue(teamList.equals(other));
+        assertTrue(other.equals(teamList));
+        other.set(5, "Porto");
+        assertFalse(teamList.equals(other));
+        assertFalse(other.equals(teamList));
+        assertFalse(teamList.equals(teamList.toArray()));
     }
 
     /**
@@ -765,6 +927,151 @@ public class ListAdapterTest
                 teamList.toArray());
     }
 
+    /**
+     * Test of {@link ListAdapter#subList(int, int)} with deeply nested subLists
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that a structural change is seen by every ancestor of a deeply nested subList.
+     * <br><br>
+     * <strong>Design</strong>: a chain of 200 subLists is created, every subList excludes the first element of its father.
+     * <br><br>
+     * <strong>Description</strong>: emptyList is filled with 200 numbers. An element is inserted in the deepest subList and then removed.
+     * A subList on the left of the changed range is checked after the changes.
+     * <br><br>
+     * <strong>Preconditions</strong>: add(), remove() and get() must work correctly.
+     * <br><br>
+     * <strong>Postconditions</strong>: every ancestor must be resized, the subList on the left must not change.
+     * <br><br>
+     * <strong>Expected result</strong>: after the insertion the subList at depth d must have size 201 - d and the inserted element as
+     * last element. After the removal every subList must have its original size.
+     */
+    // teamList = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testNestedSublist(){
+        for(int i = 0; i < 200; i++){
+            emptyList.add(i);
+        }
+        HList left = emptyList.subList(0, 10);
+        HList[] chain = new HList[200];
+        chain[0] = emptyList;
+        for(int d = 1; d < chain.length; d++){
+            chain[d] = chain[d - 1].subList(1, chain[d - 1].size());
+        }
+        HList deepest = chain[chain.length - 1];
+        deepest.add("Porto");
+        for(int d = 0; d < chain.length; d++){
+            assertEquals(201 - d, chain[d].size());
+            assertEquals("Porto", chain[d].get(chain[d].size() - 1));
+        }
+        assertEquals("Porto", deepest.remove(1));
+        for(int d = 0; d < chain.length; d++){
+            assertEquals(200 - d, chain[d].size());
+            assertEquals(199, chain[d].get(chain[d].size() - 1));
+        }
+        assertEquals(10, left.size());
+        assertEquals(9, left.get(9));
+    }
+
+    /**
+     * Test of {@link ListAdapter#subList(int, int)} with sibling subLists
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that a structural change made by a list is seen correctly by the subLists
+     * which aren't its ancestors.
+     * <br><br>
+     * <strong>Design</strong>: two disjoint subLists and their father are changed one after the other.
+     * <br><br>
+     * <strong>Description</strong>: emptyList is filled with 10 numbers, left = subList(0, 3) and right = subList(5, 8).
+     * An element is added to right, then right is cleared; an element is inserted in the father before both subLists and
+     * one inside left. Then a subList makes 1000 changes while its father isn't used. At the end the father is cleared.
+     * <br><br>
+     * <strong>Preconditions</strong>: add(), clear() and get() must work correctly.
+     * <br><br>
+     * <strong>Postconditions</strong>: the changes of a subList don't change its siblings, the changes before a subList move
+     * it and the changes inside a subList resize it.
+     * <br><br>
+     * <strong>Expected result</strong>: left must contain {0, 1, 2} until the insertion inside it, after which it must
+     * contain {0, 1, "Inter", 2}; after the clear of the father a call to left.size() must throw ConcurrentModificationException.
+     */
+    @Test
+    public void testSiblingSublists(){
+        for(int i = 0; i < 10; i++){
+            emptyList.add(i);
+        }
+        HList left = emptyList.subList(0, 3);
+        HList right = emptyList.subList(5, 8);
+        right.add("Milan");
+        assertArrayEquals(new Object[]{0, 1, 2}, left.toArray());
+        assertArrayEquals(new Object[]{5, 6, 7, "Milan"}, right.toArray());
+        right.clear();
+        assertEquals(3, left.size());
+        assertArrayEquals(new Object[]{0, 1, 2}, left.toArray());
+        assertTrue(right.isEmpty());
+        assertArrayEquals(new Object[]{0, 1, 2, 3, 4, 8, 9}, emptyList.toArray());
+        emptyList.add(0, "Juventus");
+        right.add("Roma");
+        assertArrayEquals(new Object[]{0, 1, 2}, left.toArray());
+        assertArrayEquals(new Object[]{"Juventus", 0, 1, 2, 3, 4, "Roma", 8, 9}, emptyList.toArray());
+        emptyList.add(3, "Inter");
+        assertArrayEquals(new Object[]{0, 1, "Inter", 2}, left.toArray());
+        HList inner = right.subList(0, 1);
+        for(int i = 0; i < 1000; i++){
+            inner.add(i);
+        }
+        assertEquals(1001, inner.size());
+        assertEquals(1001, right.size());
+        assertEquals(4, left.size());
+        assertEquals(1010, emptyList.size());
+        emptyList.clear();
+        assertThrows(ConcurrentModificationException.class, left::size);
+    }
+
+    /**
+     * Test of {@link ListAdapter#subList(int, int)} with interleaved changes of sibling subLists
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that a subList is reconciled correctly after many changes made by other
+     * subLists while it wasn't used.
+     * <br><br>
+     * <strong>Design</strong>: two sibling subLists of the same father make 80 alternate insertions, then the father is read.
+     * <br><br>
+     * <strong>Description</strong>: emptyList is filled with 30 numbers, parent = subList(0, 20), first = parent.subList(0, 5)
+     * and second = parent.subList(10, 15). 40 times an element is inserted at the beginning of first and one at the
+     * beginning of second. Then parent, first and second are read. At the end parent removes its last and its first element
+     * while second isn't used.
+     * <br><br>
+     * <strong>Preconditions</strong>: add(int, Object), get() and size() must work correctly.
+     * <br><br>
+     * <strong>Postconditions</strong>: the changes of the subLists which don't cross the bounds of parent resize it.
+     * <br><br>
+     * <strong>Expected result</strong>: parent must contain 100 elements, first 45 and second 45; emptyList must contain 110
+     * elements and its element 100 must be 20. After the two removals first must contain 44 elements and second 45.
+     */
+    @Test
+    public void testInterleavedSublists(){
+        for(int i = 0; i < 30; i++){
+            emptyList.add(i);
+        }
+        HList parent = emptyList.subList(0, 20);
+        HList first = parent.subList(0, 5);
+        HList second = parent.subList(10, 15);
+        for(int i = 0; i < 40; i++){
+            first.add(0, "x");
+            second.add(0, "y");
+        }
+        assertEquals(100, parent.size());
+        assertEquals(45, first.size());
+        assertEquals(45, second.size());
+        assertEquals(4, first.get(44));
+        assertEquals("y", second.get(0));
+        assertEquals(10, second.get(40));
+        assertEquals(19, parent.get(99));
+        assertEquals(110, emptyList.size());
+        assertEquals(20, emptyList.get(100));
+        parent.remove(99);
+        parent.remove(0);
+        assertEquals(44, first.size());
+        assertEquals(45, second.size());
+        assertEquals(98, parent.size());
+    }
+
     /**
      * Test of {@link ListAdapter.ListAdapterIterator#ListAdapterIterator()} and {@link ListAdapter.ListAdapterIterator#ListAdapterIterator(int)}
      * <br><br>
@@ -1189,4 +1496,218 @@ public class ListAdapterTest
         assertEquals(emptyList, subList);
         assertEquals(emptyList.hashCode(), subList.hashCode());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test of {@link ListAdapter#sort(java.util.Comparator)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the sort of a list and of a subList.
+     * <br><br>
+     * <strong>Description</strong>: a subList is sorted by the length of the names, then the whole list is sorted by natural
+     * ordering. The default method of HList is used on an IntListAdapter.
+     * <br><br>
+     * <strong>Expected result</strong>: only the elements of the subList must be sorted, and the names with the same length must
+     * keep their order. After the second sort the whole list must be in alphabetical order.
+     */
+    // teamList = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testSort(){
+        teamList.add("Inter");
+        HList sub = teamList.subList(1, 7);
+        sub.sort((first, second) -> ((String) first).length() - ((String) second).length());
+        assertArrayEquals(new Object[]{"Milan", "Ajax", "Inter", "Liverpool", "Real Madrid", "Bayern Monaco", "Manchester United"},
+                teamList.toArray());
+        teamList.sort(null);
+        assertArrayEquals(new Object[]{"Ajax", "Bayern Monaco", "Inter", "Liverpool", "Manchester United", "Milan", "Real Madrid"},
+                teamList.toArray());
+        teamList.add(42);
+        assertThrows(ClassCastException.class, () -> teamList.sort(null));
+        IntListAdapter goals = new IntListAdapter();
+        goals.addInt(3);
+        goals.addInt(1);
+        goals.addInt(2);
+        goals.sort(null);
+        assertArrayEquals(new int[]{1, 2, 3}, goals.toIntArray());
+    }
+
+    /**
+     * Test of {@link ListAdapter#parallelSort(java.util.Comparator, java.util.concurrent.ForkJoinPool, int)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the parallel sort gives the same result as sort().
+     * <br><br>
+     * <strong>Design</strong>: a small threshold is used, so that the sort is split in many pieces and the merges are split too.
+     * Lists backed by Vector, GapVector and ChunkedVector are used.
+     * <br><br>
+     * <strong>Description</strong>: 20000 numbers with many equal keys are sorted by key with parallelSort() and with sort(),
+     * both on the whole list and on a subList. Then a list which can't be sorted is sorted.
+     * <br><br>
+     * <strong>Expected result</strong>: the results of the two sorts must be the same (the equal keys keep their order), and a
+     * ClassCastException must be thrown.
+     */
+    @Test
+    public void testParallelSort(){
+        java.util.Comparator byKey = (first, second) -> (Integer) first / 100 - (Integer) second / 100;
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        Vector[] vectors = {new Vector(), new GapVector(), new ChunkedVector()};
+        java.util.Random random = new java.util.Random(42);
+        for (Vector vector : vectors) {
+            ListAdapter parallel = new ListAdapter(vector), sequential = new ListAdapter();
+            for(int i = 0; i < 20000; i++){
+                Integer value = random.nextInt(50000);
+                parallel.add(value);
+                sequential.add(value);
+            }
+            parallel.add(10000, -1);
+            sequential.add(10000, -1);
+            ((ListAdapter) parallel.subList(500, 15000)).parallelSort(byKey, pool, 64);
+            sequential.subList(500, 15000).sort(byKey);
+            assertArrayEquals(sequential.toArray(), parallel.toArray());
+            parallel.parallelSort(byKey, pool, 100);
+            sequential.sort(byKey);
+            assertArrayEquals(sequential.toArray(), parallel.toArray());
+            parallel.parallelSort(null);
+            sequential.sort(null);
+            assertArrayEquals(sequential.toArray(), parallel.toArray());
+        }
+        HList mixed = new ListAdapter();
+        for(int i = 0; i < 1000; i++){
+            mixed.add(i % 2 == 0 ? (Object) i : String.valueOf(i));
+        }
+        assertThrows(ClassCastException.class, () -> ((ListAdapter) mixed).parallelSort(null, pool, 16));
+        assertThrows(IllegalArgumentException.class, () -> ((ListAdapter) teamList).parallelSort(null, pool, 0));
+        pool.shutdown();
+    }
+
+    /**
+     * Test of {@link ListAdapter#parallelIndexOf(Object, java.util.concurrent.ForkJoinPool, int)},
+     * {@link ListAdapter#parallelContains(Object, java.util.concurrent.ForkJoinPool, int)} and
+     * {@link ListAdapter#parallelContainsAll(HCollection, java.util.concurrent.ForkJoinPool, int)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the parallel searches give the same results as the sequential ones.
+     * <br><br>
+     * <strong>Design</strong>: a small threshold is used, so that the search is split in many pieces and some values appear in
+     * more pieces.
+     * <br><br>
+     * <strong>Description</strong>: a list of 50000 numbers between 0 and 999 (and a null) is searched for some values, also
+     * inside a subList. Then small and large collections are checked with parallelContainsAll().
+     * <br><br>
+     * <strong>Expected result</strong>: parallelIndexOf() must return the leftmost occurrence like indexOf(), and the
+     * containment checks must be the same as the ones of contains() and containsAll().
+     */
+    @Test
+    public void testParallelSearch(){
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        java.util.Random random = new java.util.Random(42);
+        ListAdapter numbers = new ListAdapter();
+        for(int i = 0; i < 50000; i++){
+            numbers.add(random.nextInt(1000));
+        }
+        numbers.add(30000, null);
+        numbers.add(1000);
+        for(int value = -1; value <= 1000; value += 7){
+            assertEquals(numbers.indexOf(value), numbers.parallelIndexOf(value, pool, 100));
+            assertEquals(numbers.contains(value), numbers.parallelContains(value, pool, 100));
+        }
+        assertEquals(30000, numbers.parallelIndexOf(null, pool, 64));
+        assertEquals(50001, numbers.parallelIndexOf(1000, pool, 64));
+        assertEquals(-1, numbers.parallelIndexOf(1001, pool, 64));
+        ListAdapter sub = (ListAdapter) numbers.subList(20000, 40000);
+        for(int value = 0; value < 1000; value += 13){
+            assertEquals(sub.indexOf(value), sub.parallelIndexOf(value, pool, 100));
+        }
+        assertEquals(10000, sub.parallelIndexOf(null));
+        ListAdapter wanted = new ListAdapter();
+        for(int value = 0; value < 1000; value++){
+            wanted.add(value);
+        }
+        assertEquals(numbers.containsAll(wanted), numbers.parallelContainsAll(wanted, pool, 50));
+        wanted.add(5000);
+        assertFalse(numbers.parallelContainsAll(wanted, pool, 50));
+        assertTrue(numbers.parallelContainsAll(wanted.subList(0, 3), pool, 50));
+        assertFalse(numbers.parallelContainsAll(wanted.subList(999, 1001)));
+        assertThrows(NullPointerException.class, () -> numbers.parallelContainsAll(null));
+        pool.shutdown();
+    }
+
+    /**
+     * Test of {@link ListAdapter#stream()}, {@link ListAdapter#parallelStream()} and {@link ListAdapter#spliterator()}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the streams over a list, over a subList and over the default spliterator.
+     * <br><br>
+     * <strong>Description</strong>: the names of teamList are filtered and collected with a stream. Then the numbers of a subList
+     * of a large list are summed with a parallel stream, and its spliterator is split. Finally a stream is created from an
+     * IntListAdapter, which uses the default spliterator of HList.
+     * <br><br>
+     * <strong>Expected result</strong>: the streams must return the elements in order, the parallel sum must be the sum of the
+     * subList only, and the spliterator of the subList must split in two halves of its range.
+     */
+    // teamList = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testStream(){
+        assertEquals(java.util.Arrays.asList("Milan", "Manchester United"),
+                teamList.stream().filter(team -> ((String) team).startsWith("M")).collect(java.util.stream.Collectors.toList()));
+        assertEquals(6, teamList.stream().count());
+        ListAdapter numbers = new ListAdapter();
+        for(int i = 0; i < 100000; i++){
+            numbers.add(i);
+        }
+        HList sub = numbers.subList(1000, 3000);
+        assertEquals((1000L + 2999L) * 2000 / 2, sub.parallelStream().mapToLong(number -> (Integer) number).sum());
+        assertArrayEquals(sub.toArray(), sub.parallelStream().toArray());
+        java.util.Spliterator spliterator = sub.spliterator();
+        assertTrue(spliterator.hasCharacteristics(java.util.Spliterator.SIZED | java.util.Spliterator.SUBSIZED
+                | java.util.Spliterator.ORDERED));
+        java.util.Spliterator prefix = spliterator.trySplit();
+        assertEquals(1000, prefix.estimateSize());
+        assertEquals(1000, spliterator.estimateSize());
+        assertTrue(prefix.tryAdvance(number -> assertEquals(1000, number)));
+        assertTrue(spliterator.tryAdvance(number -> assertEquals(2000, number)));
+        IntListAdapter goals = new IntListAdapter();
+        goals.addInt(2);
+        goals.addInt(3);
+        assertEquals(5, goals.stream().mapToInt(goal -> (Integer) goal).sum());
+        assertTrue(goals.spliterator().hasCharacteristics(java.util.Spliterator.ORDERED));
+    }
+
+    /**
+     * Test of {@link ListAdapter#forEach(java.util.function.Consumer)} and of forEachRemaining() of its iterator
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the internal iteration over a list, over a subList and over the rest of
+     * an iteration.
+     * <br><br>
+     * <strong>Description</strong>: the names of teamList and of a subList are collected with forEach(); then an iterator
+     * returns two names with next() and the others with forEachRemaining(), and the last one is removed. Finally the
+     * default forEach() of HCollection is used on an IntListAdapter.
+     * <br><br>
+     * <strong>Expected result</strong>: the names must be visited in order; after forEachRemaining() hasNext() must be false
+     * and remove() must remove "Ajax"; a null action must throw NullPointerException.
+     */
+    // teamList = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testForEach(){
+        java.util.List<Object> visited = new java.util.ArrayList<>();
+        teamList.forEach(visited::add);
+        assertArrayEquals(teamList.toArray(), visited.toArray());
+        visited.clear();
+        teamList.subList(1, 4).forEach(visited::add);
+        assertArrayEquals(new Object[]{"Liverpool", "Real Madrid", "Manchester United"}, visited.toArray());
+        visited.clear();
+        HIterator iterator = teamList.iterator();
+        iterator.next();
+        iterator.next();
+        iterator.forEachRemaining(visited::add);
+        assertArrayEquals(new Object[]{"Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}, visited.toArray());
+        assertFalse(iterator.hasNext());
+        iterator.remove();
+        assertEquals(5, teamList.size());
+        assertFalse(teamList.contains("Ajax"));
+        iterator.forEachRemaining(team -> fail());
+        IntListAdapter goals = new IntListAdapter();
+        goals.addInt(2);
+        goals.addInt(3);
+        int[] sum = new int[1];
+        goals.forEach(goal -> sum[0] += (Integer) goal);
+        assertEquals(5, sum[0]);
+        assertThrows(NullPointerException.class, () -> teamList.forEach(null));
+        assertThrows(NullPointerException.class, () -> teamList.iterator().forEachRemaining(null));
+    }
+}
@@ -0,0 +1,268 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.MappedListAdapter}.
+ * <br><br>
+ * The elements of the lists are team names, stored by the codec {@link ElementCodec#STRING}. The files of the lists are
+ * created in a temporary directory, which is deleted after each test case.
+ * <br><br>
+ * Execution variables:
+ * <br>
+ * Path directory - temporary directory of the files.
+ * <br>
+ * MappedListAdapter teamList - list on which the methods are tested, it is closed after each test case.
+ *
+ * @see myAdapter.MappedListAdapter
+ * @author Andrea Stocco
+ */
+public class MappedListAdapterTest
+{
+    Path directory;
+    MappedListAdapter teamList;
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: an empty list is created in a new temporary directory.
+     * @throws IOException if the files can't be created
+     */
+    @Before
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("mapped");
+        teamList = new MappedListAdapter(directory.resolve("teams"), ElementCodec.STRING);
+    }
+
+    /**
+     * <strong>Summary</strong>: method that closes teamList and deletes the temporary directory.
+     * @throws IOException if the files can't be deleted
+     */
+    @After
+    public void tearDown() throws IOException {
+        teamList.close();
+        try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+            for(Path file : (Iterable<Path>) files::iterator) Files.delete(file);
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Test of the positional operations of {@link MappedListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking insertions, removals and replacements, including null elements.
+     * <br><br>
+     * <strong>Design</strong>: the same random operations are made on teamList and on a ListAdapter.
+     * <br><br>
+     * <strong>Description</strong>: 3000 random insertions, removals, replacements and range removals are made, so that both
+     * files are enlarged more than once. Then the two lists are compared.
+     * <br><br>
+     * <strong>Expected result</strong>: teamList must always contain the same elements as the ListAdapter.
+     */
+    @Test
+    public void testPositionalOperations(){
+        HList expected = new ListAdapter();
+        String[] teams = {"Milan", "Inter", "Juventus", "Napoli", "Roma", "Lazio", null};
+        Random random = new Random(42);
+        for(int i = 0; i < 3000; i++){
+            int operation = random.nextInt(10);
+            String team = teams[random.nextInt(teams.length)];
+            if(operation < 5 || expected.isEmpty()){
+                int index = random.nextInt(expected.size() + 1);
+                teamList.add(index, team);
+                expected.add(index, team);
+            }else if(operation < 7){
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), teamList.remove(index));
+            }else if(operation < 9){
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, team), teamList.set(index, team));
+            }else{
+                int from = random.nextInt(expected.size());
+                int to = Math.min(expected.size(), from + random.nextInt(6));
+                teamList.subList(from, to).clear();
+                expected.subList(from, to).clear();
+            }
+            assertEquals(expected.size(), teamList.size());
+        }
+        assertEquals(teamList, expected);
+        assertThrows(IndexOutOfBoundsException.class, () -> teamList.get(teamList.size()));
+        assertThrows(ClassCastException.class, () -> teamList.add(1));
+    }
+
+    /**
+     * Test of the persistence of {@link MappedListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that a list can be closed, compacted and opened again.
+     * <br><br>
+     * <strong>Description</strong>: teamList is filled, some elements are replaced and removed, the list is compacted and closed.
+     * Then a new MappedListAdapter is opened on the same file.
+     * <br><br>
+     * <strong>Preconditions</strong>: teamList is empty.
+     * <br><br>
+     * <strong>Postconditions</strong>: teamList is the reopened list.
+     * <br><br>
+     * <strong>Expected result</strong>: compact() must make the data file smaller without changing the list, the reopened list must
+     * contain the same elements, and the closed list must throw IllegalStateException.
+     * @throws IOException if the files can't be used
+     */
+    @Test
+    public void testCloseCompactReopen() throws IOException {
+        // teamList = {"Team0", ..., "Team499"}, then the names of even teams are replaced
+        HList expected = new ListAdapter();
+        for(int i = 0; i < 500; i++){
+            teamList.add("Team" + i);
+        }
+        for(int i = 0; i < 500; i += 2){
+            teamList.set(i, "Club" + i);
+        }
+        teamList.subList(100, 400).clear();
+        for(int i = 0; i < teamList.size(); i++){
+            expected.add(teamList.get(i));
+        }
+        Path data = directory.resolve("teams");
+        teamList.force();
+        long before = Files.size(data);
+        teamList.compact();
+        assertTrue(Files.size(data) < before);
+        assertEquals(teamList, expected);
+        teamList.add("Milan");
+        expected.add("Milan");
+        teamList.close();
+        MappedListAdapter closed = teamList;
+        assertThrows(IllegalStateException.class, () -> closed.get(0));
+        teamList = new MappedListAdapter(data, ElementCodec.STRING);
+        assertEquals(201, teamList.size());
+        assertEquals(teamList, expected);
+        assertEquals("Club498", teamList.get(198));
+        Files.write(directory.resolve("other"), new byte[32]);
+        assertThrows(IOException.class, () -> new MappedListAdapter(directory.resolve("other"), ElementCodec.STRING));
+    }
+
+    /**
+     * Test of the validation of the headers made by {@link MappedListAdapter#MappedListAdapter(Path, ElementCodec)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that a list whose headers contain an impossible size or end of the data
+     * isn't opened.
+     * <br><br>
+     * <strong>Description</strong>: teamList is filled and closed. The size stored in the index file is replaced by a size
+     * which doesn't fit the file, then by -1; then the size is restored and the end stored in the data file is replaced by
+     * a position after the end of the file. At the end the end of the data is restored.
+     * <br><br>
+     * <strong>Preconditions</strong>: teamList is empty.
+     * <br><br>
+     * <strong>Postconditions</strong>: teamList is the reopened list.
+     * <br><br>
+     * <strong>Expected result</strong>: every opening of a corrupted list must throw IOException, and the list must be opened
+     * again after the headers have been restored.
+     * @throws IOException if the files can't be used
+     */
+    @Test
+    public void testCorruptedHeaders() throws IOException {
+        for(int i = 0; i < 50; i++){
+            teamList.add("Team" + i);
+        }
+        teamList.close();
+        Path data = directory.resolve("teams");
+        try (RandomAccessFile index = new RandomAccessFile(directory.resolve("teams.index").toFile(), "rw");
+             RandomAccessFile records = new RandomAccessFile(data.toFile(), "rw")) {
+            index.seek(8);
+            long size = index.readLong();
+            records.seek(8);
+            long end = records.readLong();
+            index.seek(8);
+            index.writeLong(index.length());
+            assertThrows(IOException.class, () -> new MappedListAdapter(data, ElementCodec.STRING));
+            index.seek(8);
+            index.writeLong(-1);
+            assertThrows(IOException.class, () -> new MappedListAdapter(data, ElementCodec.STRING));
+            index.seek(8);
+            index.writeLong(size);
+            records.seek(8);
+            records.writeLong(records.length() + 1);
+            assertThrows(IOException.class, () -> new MappedListAdapter(data, ElementCodec.STRING));
+            records.seek(8);
+            records.writeLong(end);
+        }
+        teamList = new MappedListAdapter(data, ElementCodec.STRING);
+        assertEquals(50, teamList.size());
+        assertEquals("Team49", teamList.get(49));
+    }
+
+    /**
+     * Test of {@link MappedListAdapter#compact()} when a file can't be replaced
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that a failed compaction doesn't corrupt the list or its files.
+     * <br><br>
+     * <strong>Design</strong>: teamList is reopened as a subclass whose replaceFile() throws IOException at a chosen call.
+     * <br><br>
+     * <strong>Description</strong>: teamList is filled and some elements are removed. First the replacement of the data
+     * file fails: the list is used, closed and reopened. Then the replacement of the index file fails, after the data file
+     * has been replaced: the list is used and closed, and the interrupted compaction is completed when it is reopened.
+     * <br><br>
+     * <strong>Preconditions</strong>: teamList is empty.
+     * <br><br>
+     * <strong>Postconditions</strong>: teamList is the reopened list.
+     * <br><br>
+     * <strong>Expected result</strong>: compact() must throw IOException, and the list must contain the same elements before
+     * and after being reopened; no temporary file must be left after the first failure.
+     * @throws IOException if the files can't be used
+     */
+    @Test
+    public void testFailedCompaction() throws IOException {
+        Path data = directory.resolve("teams");
+        HList expected = new ListAdapter();
+        for(int i = 0; i < 300; i++){
+            teamList.add("Team" + i);
+            expected.add("Team" + i);
+        }
+        teamList.subList(0, 100).clear();
+        expected.subList(0, 100).clear();
+        teamList.close();
+        int[] failingCall = {1};
+        teamList = new MappedListAdapter(data, ElementCodec.STRING){
+            int calls;
+            @Override
+            protected void replaceFile(Path source, Path target) throws IOException {
+                if(++calls == failingCall[0]) throw new IOException("Move failed");
+                super.replaceFile(source, target);
+            }
+        };
+        assertThrows(IOException.class, teamList::compact);
+        assertEquals(teamList, expected);
+        assertFalse(Files.exists(directory.resolve("teams.compact")));
+        assertFalse(Files.exists(directory.resolve("teams.index.compact")));
+        teamList.add("Milan");
+        expected.add("Milan");
+        teamList.close();
+        failingCall[0] = 2;
+        teamList = new MappedListAdapter(data, ElementCodec.STRING){
+            int calls;
+            @Override
+            protected void replaceFile(Path source, Path target) throws IOException {
+                if(++calls == failingCall[0]) throw new IOException("Move failed");
+                super.replaceFile(source, target);
+            }
+        };
+        assertEquals(teamList, expected);
+        assertThrows(IOException.class, teamList::compact);
+        assertEquals(teamList, expected);
+        teamList.add("Inter");
+        expected.add("Inter");
+        teamList.close();
+        assertTrue(Files.exists(directory.resolve("teams.index.compact")));
+        teamList = new MappedListAdapter(data, ElementCodec.STRING);
+        assertFalse(Files.exists(directory.resolve("teams.index.compact")));
+        assertEquals(202, teamList.size());
+        assertEquals(teamList, expected);
+    }
+}
@@ -0,0 +1,145 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.OffHeapListAdapter}.
+ * <br><br>
+ * The elements of the lists are match results, stored as int[]{homeGoals, awayGoals} by the codec "resultCodec" in records of
+ * 8 bytes. Segments of only 4 records are used, so that the operations cross the ends of the segments.
+ * <br><br>
+ * Execution variable:
+ * <br>
+ * OffHeapListAdapter resultList - list on which the methods are tested, it is freed after each test case.
+ *
+ * @see myAdapter.OffHeapListAdapter
+ * @author Andrea Stocco
+ */
+public class OffHeapListAdapterTest
+{
+    OffHeapListAdapter resultList;
+
+    static FixedWidthCodec resultCodec = new FixedWidthCodec() {
+        @Override
+        public int width() {
+            return 8;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Object element) {
+            int[] result = (int[]) element;
+            buffer.putInt(offset, result[0]);
+            buffer.putInt(offset + 4, result[1]);
+        }
+
+        @Override
+        public Object read(ByteBuffer buffer, int offset) {
+            return new int[]{buffer.getInt(offset), buffer.getInt(offset + 4)};
+        }
+    };
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: an empty list with segments of 4 records is created.
+     */
+    @Before
+    public void setup() {
+        resultList = new OffHeapListAdapter(resultCodec, 4);
+    }
+
+    /**
+     * <strong>Summary</strong>: method that releases the memory of resultList.
+     */
+    @After
+    public void tearDown() {
+        resultList.free();
+    }
+
+    /**
+     * Test of the positional operations of {@link OffHeapListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking insertions, removals and replacements which move records between segments.
+     * <br><br>
+     * <strong>Design</strong>: the same random operations are made on resultList and on a ListAdapter.
+     * <br><br>
+     * <strong>Description</strong>: 2000 random insertions, removals, replacements and range removals are made, then the two lists
+     * are compared element by element. Fields are read with getInt().
+     * <br><br>
+     * <strong>Expected result</strong>: resultList must always contain the same results as the ListAdapter.
+     */
+    @Test
+    public void testPositionalOperations(){
+        HList expected = new ListAdapter();
+        Random random = new Random(42);
+        for(int i = 0; i < 2000; i++){
+            int operation = random.nextInt(10);
+            int[] result = {random.nextInt(6), random.nextInt(6)};
+            if(operation < 5 || expected.isEmpty()){
+                int index = random.nextInt(expected.size() + 1);
+                resultList.add(index, result);
+                expected.add(index, result);
+            }else if(operation < 8){
+                int index = random.nextInt(expected.size());
+                assertArrayEquals((int[]) expected.remove(index), (int[]) resultList.remove(index));
+            }else if(operation < 9){
+                int index = random.nextInt(expected.size());
+                assertArrayEquals((int[]) expected.set(index, result), (int[]) resultList.set(index, result));
+            }else{
+                int from = random.nextInt(expected.size());
+                int to = Math.min(expected.size(), from + random.nextInt(6));
+                resultList.subList(from, to).clear();
+                expected.subList(from, to).clear();
+            }
+            assertEquals(expected.size(), resultList.size());
+        }
+        for(int i = 0; i < expected.size(); i++){
+            int[] result = (int[]) expected.get(i);
+            assertArrayEquals(result, (int[]) resultList.get(i));
+            assertEquals(result[0], resultList.getInt(i, 0));
+            assertEquals(result[1], resultList.getInt(i, 4));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> resultList.getInt(0, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> resultList.get(resultList.size()));
+    }
+
+    /**
+     * Test of {@link OffHeapListAdapter#free()} and of the built-in codecs
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the release of the memory and the codecs of FixedWidthCodec.
+     * <br><br>
+     * <strong>Description</strong>: a list of Long values is filled, read and freed. Then its elements are requested.
+     * <br><br>
+     * <strong>Expected result</strong>: the values must be returned unchanged. After free() the list must be empty and every access
+     * must throw an IllegalStateException.
+     */
+    @Test
+    public void testFreeAndCodecs(){
+        OffHeapListAdapter longList = new OffHeapListAdapter(FixedWidthCodec.LONG);
+        for(long i = 0; i < 100; i++){
+            longList.add(i << 33);
+        }
+        assertEquals(99L << 33, longList.get(99));
+        assertEquals(5L << 33, longList.getLong(5, 0));
+        assertEquals(7, longList.indexOf(7L << 33));
+        assertThrows(ClassCastException.class, () -> longList.add("Milan"));
+        assertEquals(100, longList.size());
+        longList.free();
+        longList.free();
+        assertEquals(0, longList.size());
+        assertThrows(IllegalStateException.class, () -> longList.get(0));
+        assertThrows(IllegalStateException.class, () -> longList.add(1L));
+        OffHeapListAdapter doubleList = new OffHeapListAdapter(FixedWidthCodec.DOUBLE, 1);
+        doubleList.add(1.5);
+        doubleList.add(0, 2.5);
+        assertEquals(2.5, doubleList.getDouble(0, 0), 0.0);
+        assertArrayEquals(new Object[]{2.5, 1.5}, doubleList.toArray());
+        doubleList.free();
+    }
+}
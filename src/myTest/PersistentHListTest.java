@@ -0,0 +1,185 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.PersistentHList}.
+ * <br><br>
+ * Every test case keeps the old versions of the list and checks that they don't change when new versions are created
+ * from them. The sizes used are large enough to create trees with 3 or 4 levels.
+ *
+ * @see myAdapter.PersistentHList
+ * @author Andrea Stocco
+ */
+public class PersistentHListTest
+{
+    /**
+     * Method that creates a ListAdapter with the numbers from "from" (inclusive) to "to" (exclusive)
+     * @param from the first number
+     * @param to the number after the last one
+     * @return a new ListAdapter
+     */
+    static HList numbers(int from, int to){
+        HList result = new ListAdapter();
+        for(int i = from; i < to; i++){
+            result.add(i);
+        }
+        return result;
+    }
+
+    /**
+     * Test of {@link PersistentHList#with(int, Object)}, {@link PersistentHList#insert(int, Object)} and
+     * {@link PersistentHList#without(int)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that every change creates a correct new version and leaves the old one
+     * unchanged.
+     * <br><br>
+     * <strong>Description</strong>: 5000 random insertions, removals and replacements are made starting from a list of
+     * 2000 numbers, and the same changes are made on a ListAdapter. Every 500 changes the version and a copy of its
+     * elements are saved.
+     * <br><br>
+     * <strong>Expected result</strong>: every version must contain the same elements of the ListAdapter when it was
+     * created, also at the end.
+     */
+    @Test
+    public void testVersions(){
+        HList expected = numbers(0, 2000);
+        PersistentHList current = PersistentHList.of(expected);
+        PersistentHList[] versions = new PersistentHList[10];
+        Object[][] contents = new Object[10][];
+        Random random = new Random(3);
+        for(int i = 0; i < 5000; i++){
+            int operation = random.nextInt(3);
+            int size = expected.size();
+            if(operation == 0 || size == 0){
+                int index = random.nextInt(size + 1);
+                current = current.insert(index, -i);
+                expected.add(index, -i);
+            }else if(operation == 1){
+                int index = random.nextInt(size);
+                current = current.without(index);
+                expected.remove(index);
+            }else{
+                int index = random.nextInt(size);
+                current = current.with(index, i);
+                expected.set(index, i);
+            }
+            assertEquals(expected.size(), current.size());
+            if(i % 500 == 0){
+                versions[i / 500] = current;
+                contents[i / 500] = expected.toArray();
+            }
+        }
+        assertArrayEquals(expected.toArray(), current.toArray());
+        for(int i = 0; i < expected.size(); i += 97){
+            assertEquals(expected.get(i), current.get(i));
+        }
+        for(int v = 0; v < versions.length; v++){
+            assertArrayEquals(contents[v], versions[v].toArray());
+        }
+        assertEquals(current, expected);
+    }
+
+    /**
+     * Test of {@link PersistentHList#plus(Object)} and {@link PersistentHList#without(int)} on the borders
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that a list can grow by appending elements and shrink to the empty list.
+     * <br><br>
+     * <strong>Description</strong>: 40000 numbers are appended one by one to the empty list, then they are removed from the
+     * front, half of them, and from the back, the other half.
+     * <br><br>
+     * <strong>Expected result</strong>: after the appends the list must contain the numbers in order, and the iterators must
+     * traverse them in both directions; at the end the list must be empty, while the version with 40000 numbers doesn't
+     * change.
+     */
+    @Test
+    public void testPlusAndWithout(){
+        PersistentHList list = PersistentHList.empty();
+        for(int i = 0; i < 40000; i++){
+            list = list.plus(i);
+        }
+        PersistentHList full = list;
+        assertArrayEquals(numbers(0, 40000).toArray(), full.toArray());
+        HListIterator iterator = full.listIterator(40000);
+        for(int i = 39999; i >= 0; i--){
+            assertEquals(i, iterator.previous());
+        }
+        assertFalse(iterator.hasPrevious());
+        assertEquals(0, iterator.next());
+        for(int i = 0; i < 20000; i++){
+            list = list.without(0);
+        }
+        assertEquals(20000, list.get(0));
+        for(int i = 0; i < 20000; i++){
+            list = list.without(list.size() - 1);
+        }
+        assertTrue(list.isEmpty());
+        assertEquals(40000, full.size());
+        assertEquals(12345, full.get(12345));
+        assertEquals(39999, full.lastIndexOf(39999));
+    }
+
+    /**
+     * Test of {@link PersistentHList#concat(PersistentHList)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the concatenation of lists with trees of different heights.
+     * <br><br>
+     * <strong>Description</strong>: lists with sizes from 0 to 50000 are concatenated in both orders, then the results are
+     * changed and concatenated again.
+     * <br><br>
+     * <strong>Expected result</strong>: every concatenation must contain the elements of the first list followed by the
+     * elements of the second one, and the original lists must not change.
+     */
+    @Test
+    public void testConcat(){
+        int[] sizes = {0, 1, 17, 32, 33, 500, 1024, 1100, 50000};
+        for (int first : sizes) {
+            for (int second : sizes) {
+                PersistentHList left = PersistentHList.of(numbers(0, first));
+                PersistentHList right = PersistentHList.of(numbers(first, first + second));
+                PersistentHList joined = left.concat(right);
+                assertArrayEquals(numbers(0, first + second).toArray(), joined.toArray());
+                assertEquals(first, left.size());
+                assertEquals(second, right.size());
+                if(joined.isEmpty()) continue;
+                PersistentHList twice = joined.insert(joined.size() / 2, -1).concat(joined.without(0).concat(left));
+                HList expected = numbers(0, first + second);
+                expected.add(expected.size() / 2, -1);
+                expected.addAll(numbers(1, first + second));
+                expected.addAll(numbers(0, first));
+                assertEquals(twice, expected);
+            }
+        }
+    }
+
+    /**
+     * Test of the methods of {@link PersistentHList} which would change the list
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the list is immutable.
+     * <br><br>
+     * <strong>Expected result</strong>: add(), set(), remove(), clear() and the methods of the iterators must throw
+     * UnsupportedOperationException; the index methods must throw IndexOutOfBoundsException.
+     */
+    @Test
+    public void testImmutable(){
+        PersistentHList list = PersistentHList.of(numbers(0, 100));
+        assertThrows(UnsupportedOperationException.class, () -> list.add(1));
+        assertThrows(UnsupportedOperationException.class, () -> list.add(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, 1));
+        assertThrows(UnsupportedOperationException.class, () -> list.remove(0));
+        assertThrows(UnsupportedOperationException.class, () -> list.remove((Object) 200));
+        assertThrows(UnsupportedOperationException.class, list::clear);
+        assertThrows(UnsupportedOperationException.class, () -> list.subList(0, 10).clear());
+        assertThrows(UnsupportedOperationException.class, () -> list.iterator().remove());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.with(100, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.insert(101, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.without(-1));
+        assertArrayEquals(numbers(10, 20).toArray(), list.subList(10, 20).toArray());
+        assertEquals(100, list.size());
+    }
+}
@@ -0,0 +1,186 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the primitive lists {@link myAdapter.IntListAdapter}, {@link myAdapter.LongListAdapter} and
+ * {@link myAdapter.DoubleListAdapter}, both through their primitive methods and through the boxing methods of HList.
+ * <br><br>
+ * Before each test case, an IntListAdapter which contains the goals of "goals" array is instantiated.
+ * <br><br>
+ * Execution variable:
+ * <br>
+ * IntListAdapter goalList - list on which the methods are tested.
+ * <br>
+ * int [] goals - array which contains the values for initializing goalList.
+ *
+ * @see myAdapter.IntListAdapter
+ * @see myAdapter.LongListAdapter
+ * @see myAdapter.DoubleListAdapter
+ * @author Andrea Stocco
+ */
+public class PrimitiveListAdapterTest
+{
+    IntListAdapter goalList;
+    static int[] goals = {3, 1, 4, 1, 5, 9};
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: a list which contains "goals" values is created.
+     * <br><br>
+     * <strong>Preconditions</strong>: the constructor and addInt() have to work correctly.
+     */
+    @Before
+    public void setup() {
+        goalList = new IntListAdapter(2);
+        for (int goal : goals) {
+            goalList.addInt(goal);
+        }
+    }
+
+    /**
+     * Test of the primitive methods of {@link IntListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the access to the values without boxing.
+     * <br><br>
+     * <strong>Description</strong>: values are read, replaced, inserted, removed and searched with the primitive methods. Then the
+     * list is traversed with the primitive iterator, which removes a value.
+     * <br><br>
+     * <strong>Expected result</strong>: toIntArray() must return the expected array after every change. The methods must throw an
+     * IndexOutOfBoundsException when the index is not valid.
+     */
+    // goalList = {3, 1, 4, 1, 5, 9}
+    @Test
+    public void testPrimitiveMethods(){
+        assertArrayEquals(goals, goalList.toIntArray());
+        assertEquals(4, goalList.getInt(2));
+        assertEquals(4, goalList.setInt(2, 7));
+        goalList.addInt(0, 2);
+        assertEquals(3, goalList.removeInt(1));
+        assertArrayEquals(new int[]{2, 1, 7, 1, 5, 9}, goalList.toIntArray());
+        assertEquals(1, goalList.indexOfInt(1));
+        assertEquals(3, goalList.lastIndexOfInt(1));
+        assertFalse(goalList.containsInt(3));
+        HIntIterator iter = goalList.intIterator();
+        int sum = 0;
+        while(iter.hasNext()){
+            int current = iter.nextInt();
+            sum += current;
+            if(current == 7) iter.remove();
+        }
+        assertEquals(25, sum);
+        assertArrayEquals(new int[]{2, 1, 1, 5, 9}, goalList.toIntArray());
+        assertThrows(NoSuchElementException.class, iter::nextInt);
+        assertThrows(IndexOutOfBoundsException.class, () -> goalList.getInt(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> goalList.addInt(6, 0));
+        goalList.trimToSize();
+        goalList.addInt(6);
+        assertEquals(6, goalList.size());
+    }
+
+    /**
+     * Test of the HList methods of {@link IntListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the boxing bridges of HList.
+     * <br><br>
+     * <strong>Description</strong>: elements are read, added and searched as Integer objects, a subList is modified, then
+     * the list is compared with a ListAdapter with the same elements. Elements of other types are added and searched.
+     * <br><br>
+     * <strong>Expected result</strong>: the list must behave like a ListAdapter of Integer objects. An element which isn't an
+     * Integer mustn't be found, and its insertion must throw a ClassCastException (NullPointerException for null).
+     */
+    // goalList = {3, 1, 4, 1, 5, 9}
+    @Test
+    public void testHListMethods(){
+        HList list = goalList;
+        assertEquals(4, list.get(2));
+        list.add(2);
+        assertTrue(list.remove((Object) 1));
+        assertEquals(2, list.indexOf(1));
+        assertEquals(-1, list.indexOf("1"));
+        assertFalse(list.contains(1L));
+        HList sub = list.subList(1, 4);
+        sub.clear();
+        sub.add(6);
+        assertArrayEquals(new Object[]{3, 6, 9, 2}, list.toArray());
+        HList expected = new ListAdapter();
+        expected.add(3);
+        expected.add(6);
+        expected.add(9);
+        expected.add(2);
+        assertEquals(list, new IntListAdapter(expected));
+        assertEquals(expected.hashCode(), list.hashCode());
+        assertThrows(ClassCastException.class, () -> list.add("Milan"));
+        assertThrows(NullPointerException.class, () -> list.add(null));
+        assertTrue(list.retainAll(new ListAdapter(sub)));
+        assertArrayEquals(new Object[]{6}, list.toArray());
+    }
+
+    /**
+     * Test of the views returned by {@link AbstractHList#subList(int, int)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the views are fail-fast.
+     * <br><br>
+     * <strong>Description</strong>: a view and a view of the view are created. Values are added and removed through the inner
+     * view, then a value is added to goalList directly.
+     * <br><br>
+     * <strong>Expected result</strong>: the changes made through the inner view must be seen by the outer view. After the
+     * change of goalList every method of both views must throw ConcurrentModificationException.
+     */
+    // goalList = {3, 1, 4, 1, 5, 9}
+    @Test
+    public void testSubListFailFast(){
+        HList outer = goalList.subList(1, 5);
+        HList inner = outer.subList(1, 3);
+        inner.add(0, 7);
+        inner.remove(2);
+        assertArrayEquals(new Object[]{7, 4}, inner.toArray());
+        assertArrayEquals(new Object[]{1, 7, 4, 5}, outer.toArray());
+        inner.clear();
+        assertEquals(2, outer.size());
+        goalList.addInt(2);
+        assertThrows(ConcurrentModificationException.class, outer::size);
+        assertThrows(ConcurrentModificationException.class, () -> outer.get(0));
+        assertThrows(ConcurrentModificationException.class, () -> inner.add(8));
+        assertArrayEquals(new Object[]{3, 1, 5, 9, 2}, goalList.toArray());
+    }
+
+    /**
+     * Test of {@link LongListAdapter} and {@link DoubleListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the lists of long and double values.
+     * <br><br>
+     * <strong>Description</strong>: values which don't fit an int are stored in a LongListAdapter. NaN, 0.0 and -0.0 are stored in a
+     * DoubleListAdapter and searched.
+     * <br><br>
+     * <strong>Expected result</strong>: the values must be returned unchanged. Double values must be compared like Double.equals().
+     */
+    @Test
+    public void testLongAndDoubleLists(){
+        LongListAdapter longs = new LongListAdapter();
+        longs.addLong(Long.MAX_VALUE);
+        longs.addLong(0, 1L << 40);
+        assertEquals(1L << 40, longs.getLong(0));
+        assertEquals(Long.MAX_VALUE, longs.get(1));
+        assertEquals(1, longs.indexOf(Long.MAX_VALUE));
+        HLongIterator longIter = longs.longIterator();
+        assertEquals(1L << 40, longIter.nextLong());
+        DoubleListAdapter doubles = new DoubleListAdapter();
+        doubles.addDouble(0.0);
+        doubles.addDouble(Double.NaN);
+        doubles.addDouble(-0.0);
+        assertEquals(1, doubles.indexOfDouble(Double.NaN));
+        assertEquals(2, doubles.indexOf(-0.0));
+        assertEquals(0, doubles.lastIndexOfDouble(0.0));
+        assertEquals(1.5, doubles.setDouble(0, 1.5) + 1.5, 0.0);
+        HDoubleIterator doubleIter = doubles.doubleIterator();
+        assertEquals(1.5, doubleIter.nextDouble(), 0.0);
+        assertArrayEquals(new double[]{1.5, Double.NaN, -0.0}, doubles.toDoubleArray(), 0.0);
+    }
+}
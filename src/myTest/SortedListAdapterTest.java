@@ -0,0 +1,173 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.SortedListAdapter}.
+ * <br><br>
+ * Before each test case, a list of team names sorted by their length (and then alphabetically) is instantiated.
+ * <br><br>
+ * Execution variables:
+ * <br>
+ * SortedListAdapter teamList - list on which the methods are tested.
+ * <br>
+ * Comparator byLength - comparator which sorts the names by their length, then alphabetically.
+ *
+ * @see myAdapter.SortedListAdapter
+ * @author Andrea Stocco
+ */
+public class SortedListAdapterTest
+{
+    SortedListAdapter teamList;
+    static Comparator byLength = (first, second) -> {
+        String a = (String) first, b = (String) second;
+        return a.length() != b.length() ? a.length() - b.length() : a.compareTo(b);
+    };
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: the teams are added in a random order.
+     * <br><br>
+     * <strong>Preconditions</strong>: add() has to work correctly.
+     */
+    @Before
+    public void setup() {
+        teamList = new SortedListAdapter(byLength);
+        String[] teams = {"Roma", "Inter", "Milan", "Napoli", "Lazio", "Juventus", "Torino", "Genoa"};
+        for (String team : teams) {
+            teamList.add(team);
+        }
+    }
+
+    /**
+     * Test of the sorted insertion and of the lookups of {@link SortedListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the list is always sorted and that the lookups find the elements.
+     * <br><br>
+     * <strong>Description</strong>: the order of teamList is checked, then an Integer list sorted by natural ordering is
+     * filled with random values through add() and addAll(), and the result is compared with a sorted copy.
+     * <br><br>
+     * <strong>Expected result</strong>: the lists must be sorted, indexOf() and lastIndexOf() must return the first and the
+     * last occurrence, the positional insertions must throw UnsupportedOperationException.
+     */
+    // teamList = {"Roma", "Genoa", "Inter", "Lazio", "Milan", "Napoli", "Torino", "Juventus"}
+    @Test
+    public void testSortedInsertion(){
+        assertArrayEquals(new Object[]{"Roma", "Genoa", "Inter", "Lazio", "Milan", "Napoli", "Torino", "Juventus"}, teamList.toArray());
+        assertEquals(4, teamList.indexOf("Milan"));
+        assertTrue(teamList.contains("Juventus"));
+        assertFalse(teamList.contains("Parma"));
+        assertEquals(-1, teamList.indexOf(42));
+        assertThrows(UnsupportedOperationException.class, () -> teamList.add(0, "Parma"));
+        assertThrows(UnsupportedOperationException.class, () -> teamList.set(0, "Parma"));
+        assertTrue(teamList.remove("Inter"));
+        assertEquals("Lazio", teamList.get(2));
+
+        SortedListAdapter numbers = new SortedListAdapter();
+        int[] expected = new int[600];
+        Random random = new Random(42);
+        HList batch = new ListAdapter();
+        for(int i = 0; i < expected.length; i++){
+            expected[i] = random.nextInt(100);
+            if(i < 300) numbers.add(expected[i]);
+            else batch.add(expected[i]);
+        }
+        numbers.addAll(batch);
+        java.util.Arrays.sort(expected);
+        for(int i = 0; i < expected.length; i++){
+            assertEquals(expected[i], numbers.get(i));
+        }
+        for(int value = -1; value <= 100; value++){
+            int first = java.util.Arrays.binarySearch(expected, value);
+            int index = numbers.indexOf(value), last = numbers.lastIndexOf(value);
+            assertEquals(first >= 0, index >= 0);
+            if(index >= 0){
+                assertTrue(index == 0 || expected[index - 1] < value);
+                assertTrue(last == expected.length - 1 || expected[last + 1] > value);
+                assertEquals(value, expected[last]);
+            }
+        }
+        assertThrows(NullPointerException.class, () -> numbers.add(null));
+        assertThrows(ClassCastException.class, () -> numbers.add("Milan"));
+    }
+
+    /**
+     * Test of floor(), ceiling() and of the range views of {@link SortedListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the queries on ranges of values.
+     * <br><br>
+     * <strong>Description</strong>: the nearest elements to some values are requested, then the views of some ranges are
+     * checked and one of them is cleared. Finally an element is added to teamList while a view is open.
+     * <br><br>
+     * <strong>Expected result</strong>: the views must contain the elements of the ranges, and clearing a view must remove its
+     * elements from teamList. After the addition the view must throw ConcurrentModificationException.
+     */
+    // teamList = {"Roma", "Genoa", "Inter", "Lazio", "Milan", "Napoli", "Torino", "Juventus"}
+    @Test
+    public void testRanges(){
+        assertEquals("Inter", teamList.floor("Italy"));
+        assertEquals("Lazio", teamList.ceiling("Italy"));
+        assertEquals("Milan", teamList.floor("Milan"));
+        assertNull(teamList.floor("Bari"));
+        assertNull(teamList.ceiling("Sampdoria"));
+        assertArrayEquals(new Object[]{"Roma"}, teamList.headList("Genoa").toArray());
+        assertArrayEquals(new Object[]{"Torino", "Juventus"}, teamList.tailList("Parma1").toArray());
+        HList fiveLetters = teamList.range("AAAAA", "AAAAAA");
+        assertArrayEquals(new Object[]{"Genoa", "Inter", "Lazio", "Milan"}, fiveLetters.toArray());
+        assertEquals(2, fiveLetters.indexOf("Lazio"));
+        assertThrows(IllegalArgumentException.class, () -> teamList.range("Torino", "Roma"));
+        assertThrows(UnsupportedOperationException.class, () -> fiveLetters.add("Parma"));
+        fiveLetters.clear();
+        assertArrayEquals(new Object[]{"Roma", "Napoli", "Torino", "Juventus"}, teamList.toArray());
+        assertTrue(fiveLetters.isEmpty());
+        HList sixLetters = teamList.range("AAAAAA", "AAAAAAA");
+        assertArrayEquals(new Object[]{"Napoli", "Torino"}, sixLetters.toArray());
+        teamList.add("Bari");
+        assertThrows(ConcurrentModificationException.class, sixLetters::toArray);
+        assertThrows(ConcurrentModificationException.class, () -> sixLetters.get(0));
+    }
+
+    /**
+     * Test of {@link SortedListAdapter#addAll(HCollection)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the merge of a batch with the elements of the list.
+     * <br><br>
+     * <strong>Description</strong>: a batch of teams, one of them equal to an element of teamList, is added to teamList. Then a batch which contains an element that can't be compared is added to a list of numbers.
+     * <br><br>
+     * <strong>Expected result</strong>: teamList must be sorted, and the equal team of the batch must follow the one which
+     * was already inside teamList. The list of numbers mustn't change, and ClassCastException must be thrown.
+     */
+    // teamList = {"Roma", "Genoa", "Inter", "Lazio", "Milan", "Napoli", "Torino", "Juventus"}
+    @Test
+    public void testAddAll(){
+        HList batch = new ListAdapter();
+        batch.add("Parma");
+        batch.add("Bari");
+        batch.add("Sampdoria");
+        batch.add("Como");
+        String inter = new String("Inter");
+        batch.add(inter);
+        Object previous = teamList.get(2);
+        assertTrue(teamList.addAll(batch));
+        assertArrayEquals(new Object[]{"Bari", "Como", "Roma", "Genoa", "Inter", "Inter", "Lazio", "Milan", "Parma", "Napoli",
+                "Torino", "Juventus", "Sampdoria"}, teamList.toArray());
+        assertSame(previous, teamList.get(4));
+        assertSame(inter, teamList.get(5));
+        assertFalse(teamList.addAll(new ListAdapter()));
+
+        SortedListAdapter numbers = new SortedListAdapter();
+        numbers.add(3);
+        numbers.add(1);
+        HList wrong = new ListAdapter();
+        wrong.add("Milan");
+        assertThrows(ClassCastException.class, () -> numbers.addAll(wrong));
+        assertArrayEquals(new Object[]{1, 3}, numbers.toArray());
+    }
+}
@@ -0,0 +1,235 @@
+package myTest;
+
+import myAdapter.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests {@link myAdapter.StampedListAdapter}.
+ * <br><br>
+ * The first test cases check the decorator with a single thread, the last one starts more threads on the same list.
+ * <br><br>
+ * Execution variable:
+ * <br>
+ * StampedListAdapter teamList - list on which the methods are tested, it wraps a ListAdapter with "Inter", "Milan",
+ * "Juventus".
+ *
+ * @see myAdapter.StampedListAdapter
+ * @author Andrea Stocco
+ */
+public class StampedListAdapterTest
+{
+    StampedListAdapter teamList;
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: a ListAdapter with "Inter", "Milan",
+     * "Juventus" is wrapped.
+     */
+    @Before
+    public void setup() {
+        HList teams = new ListAdapter();
+        teams.add("Inter");
+        teams.add("Milan");
+        teams.add("Juventus");
+        teamList = new StampedListAdapter(teams);
+    }
+
+    /**
+     * Test of the methods of {@link StampedListAdapter} which are forwarded to the wrapped list
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the decorator behaves like the wrapped list.
+     * <br><br>
+     * <strong>Description</strong>: elements are added, replaced, searched and removed, also through a view and with the
+     * bulk operations; the list is compared with itself and sorted.
+     * <br><br>
+     * <strong>Preconditions</strong>: teamList = {"Inter", "Milan", "Juventus"}
+     * <br><br>
+     * <strong>Postconditions</strong>: teamList = {}
+     * <br><br>
+     * <strong>Expected result</strong>: every method must return the same result of ListAdapter.
+     */
+    @Test
+    public void testForwardedOperations(){
+        teamList.add("Roma");
+        teamList.add(1, "Napoli");
+        assertEquals("Milan", teamList.set(2, "Lazio"));
+        assertEquals(5, teamList.size());
+        assertTrue(teamList.contains("Roma"));
+        assertFalse(teamList.contains("Milan"));
+        assertEquals(3, teamList.indexOf("Juventus"));
+        assertEquals("Napoli", teamList.get(1));
+        assertTrue(teamList.containsAll(teamList.subList(1, 3)));
+        teamList.subList(0, 1).clear();
+        assertArrayEquals(new Object[]{"Napoli", "Lazio", "Juventus", "Roma"}, teamList.toArray());
+        teamList.sort(null);
+        assertArrayEquals(new Object[]{"Juventus", "Lazio", "Napoli", "Roma"}, teamList.toArray());
+        assertEquals(teamList, teamList);
+        HList copy = new ListAdapter(teamList);
+        assertTrue(teamList.equals(copy));
+        assertEquals(copy.hashCode(), teamList.hashCode());
+        assertTrue(teamList.removeAll(teamList.subList(0, 1)));
+        assertFalse(teamList.retainAll(copy));
+        assertTrue(teamList.retainAll(teamList.subList(0, 2)));
+        assertTrue(teamList.addAll(0, teamList));
+        assertArrayEquals(new Object[]{"Lazio", "Napoli", "Lazio", "Napoli"}, teamList.toArray());
+        teamList.clear();
+        assertTrue(teamList.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> teamList.get(0));
+        assertThrows(NullPointerException.class, () -> new StampedListAdapter(null));
+    }
+
+    /**
+     * Test of the iterators of {@link StampedListAdapter}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the iterators over a copy of the list and the iterators of a read scope.
+     * <br><br>
+     * <strong>Description</strong>: an iterator is created and "Roma" is added; then the list is traversed in a read scope,
+     * which is closed before the end of the traversal.
+     * <br><br>
+     * <strong>Preconditions</strong>: teamList = {"Inter", "Milan", "Juventus"}
+     * <br><br>
+     * <strong>Postconditions</strong>: teamList = {"Inter", "Milan", "Juventus", "Roma"}
+     * <br><br>
+     * <strong>Expected result</strong>: the first iterator must not see "Roma"; the iterator of the scope must see it, and it
+     * must throw IllegalStateException after close(). The iterators must not support remove().
+     */
+    @Test
+    public void testIterators(){
+        HIterator copy = teamList.iterator();
+        teamList.add("Roma");
+        int count = 0;
+        while(copy.hasNext()){
+            assertNotEquals("Roma", copy.next());
+            count++;
+        }
+        assertEquals(3, count);
+        assertThrows(UnsupportedOperationException.class, copy::remove);
+        HIterator scoped;
+        try (StampedListAdapter.ReadScope scope = teamList.readScope()) {
+            assertEquals(4, scope.size());
+            assertEquals("Roma", scope.get(3));
+            scoped = scope.iterator();
+            assertEquals("Inter", scoped.next());
+            assertThrows(UnsupportedOperationException.class, scoped::remove);
+            HListIterator backwards = scope.listIterator(4);
+            assertEquals("Roma", backwards.previous());
+        }
+        assertThrows(IllegalStateException.class, scoped::next);
+        teamList.add("Lazio");
+        assertEquals(5, teamList.stream().count());
+    }
+
+    /**
+     * Test of {@link StampedListAdapter} used by more threads
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the optimistic reads never return an inconsistent result.
+     * <br><br>
+     * <strong>Design</strong>: the writers keep the list sorted and always containing the value 0, so that every
+     * consistent read can be checked.
+     * <br><br>
+     * <strong>Description</strong>: the list contains the numbers from 0 to 99. 1 thread removes numbers greater than 0 and
+     * inserts them again in the same position, 1 thread replaces the first number with 0, 2 threads read with get(), size()
+     * and contains(), and 1 thread traverses the list in read scopes.
+     * <br><br>
+     * <strong>Expected result</strong>: get(0) must always be 0, contains(0) must always be true, the size must be 99
+     * or 100, and every traversal must see a sorted list; at the end the list must contain 100 numbers.
+     * @throws Throwable if a thread fails
+     */
+    @Test
+    public void testConcurrentReaders() throws Throwable {
+        HList numbers = new ListAdapter();
+        for(int i = 0; i < 100; i++){
+            numbers.add(i);
+        }
+        StampedListAdapter numberList = new StampedListAdapter(numbers);
+        ConcurrentListAdapterTest.runThreads(5, thread -> {
+            Random random = new Random(thread);
+            for(int i = 0; i < 20000; i++){
+                if(thread == 0){
+                    int index = 1 + random.nextInt(99);
+                    Object removed = numberList.remove(index);
+                    numberList.add(index, removed);
+                }else if(thread == 1){
+                    numberList.set(0, 0);
+                }else if(thread < 4){
+                    assertEquals(0, numberList.get(0));
+                    assertTrue(numberList.contains(0));
+                    int size = numberList.size();
+                    if(size < 99 || size > 100) throw new AssertionError("Unexpected size: " + size);
+                }else if(i % 100 == 0){
+                    try (StampedListAdapter.ReadScope scope = numberList.readScope()) {
+                        HIterator iterator = scope.iterator();
+                        int previous = -1;
+                        while(iterator.hasNext()){
+                            int current = (Integer) iterator.next();
+                            if(current <= previous) throw new AssertionError("Unsorted list");
+                            previous = current;
+                        }
+                    }
+                }
+            }
+        });
+        assertEquals(100, numberList.size());
+        assertArrayEquals(numbers.toArray(), numberList.toArray());
+    }
+
+    /**
+     * Test of the views returned by {@link StampedListAdapter#subList(int, int)} used by more threads
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that the optimistic reads of a view never return an inconsistent result,
+     * and that the views are fail-fast.
+     * <br><br>
+     * <strong>Design</strong>: the writers change the list only through the view, keeping it sorted and always containing
+     * the value 10 in its first position, so that every consistent read of the view can be checked.
+     * <br><br>
+     * <strong>Description</strong>: the list contains the numbers from 0 to 99 and the view contains the ones from 10 to 89.
+     * 1 thread removes numbers of the view after the first one and inserts them again in the same position, 1 thread
+     * replaces the first number of the view with 10, 2 threads read the view with get(), size() and contains(). At the end
+     * an element is added to the list directly.
+     * <br><br>
+     * <strong>Expected result</strong>: get(0) must always be 10, contains(10) must always be true and the size must be 79
+     * or 80; at the end the view must contain the numbers from 10 to 89, and after the addition it must throw
+     * ConcurrentModificationException.
+     * @throws Throwable if a thread fails
+     */
+    @Test
+    public void testConcurrentViews() throws Throwable {
+        HList numbers = new ListAdapter();
+        for(int i = 0; i < 100; i++){
+            numbers.add(i);
+        }
+        StampedListAdapter numberList = new StampedListAdapter(numbers);
+        HList view = numberList.subList(10, 90);
+        ConcurrentListAdapterTest.runThreads(4, thread -> {
+            Random random = new Random(thread);
+            for(int i = 0; i < 20000; i++){
+                if(thread == 0){
+                    int index = 1 + random.nextInt(79);
+                    Object removed = view.remove(index);
+                    view.add(index, removed);
+                }else if(thread == 1){
+                    view.set(0, 10);
+                }else{
+                    assertEquals(10, view.get(0));
+                    assertTrue(view.contains(10));
+                    int size = view.size();
+                    if(size < 79 || size > 80) throw new AssertionError("Unexpected size: " + size);
+                }
+            }
+        });
+        assertEquals(80, view.size());
+        assertArrayEquals(numbers.subList(10, 90).toArray(), view.toArray());
+        HList inner = view.subList(0, 5);
+        inner.remove(0);
+        assertEquals(79, view.size());
+        assertEquals(99, numberList.size());
+        numberList.add(100);
+        assertThrows(ConcurrentModificationException.class, view::size);
+        assertThrows(ConcurrentModificationException.class, () -> inner.get(0));
+    }
+}
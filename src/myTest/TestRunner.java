@@ -6,7 +6,7 @@ import org.junit.runner.notification.Failure;
 import java.util.*;
 
 /**
- * Main class to execute {@link ListAdapterTest}
+ * Main class to execute {@link ListAdapterTest} and the test classes of the other lists and vectors of myAdapter
  * <p>
  *
  * <strong>Preconditions</strong>: Object methods are considered in a working status when they are used
@@ -29,7 +29,11 @@ public class TestRunner {
 
         System.out.println("*** Tests in execution... ***");
         System.out.println();
-        res = JUnitCore.runClasses(ListAdapterTest.class);
+        res = JUnitCore.runClasses(ListAdapterTest.class, VectorTest.class, GapVectorTest.class, ChunkedVectorTest.class,
+                PrimitiveListAdapterTest.class, OffHeapListAdapterTest.class, MappedListAdapterTest.class,
+                HListStreamTest.class, IndexedListAdapterTest.class, SortedListAdapterTest.class,
+                ConcurrentListAdapterTest.class, CopyOnWriteListAdapterTest.class, PersistentHListTest.class,
+                StampedListAdapterTest.class, AppendOnlyListAdapterTest.class, DequeListAdapterTest.class);
         esitoTest(res);
     }
 
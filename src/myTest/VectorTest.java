@@ -0,0 +1,278 @@
+package myTest;
+
+import myAdapter.Vector;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class tests the functionality of the CLDC 1.1 methods of {@link myAdapter.Vector}, which is the adaptee of ListAdapter.
+ * <br><br>
+ * Every test case is based on the string array "teams" which contains some important European football clubs.
+ * Before each test case, a new Vector which contains the elements of the array "teams" must be instantiated.
+ * <br><br>
+ * The vector under test is created by {@link #newVector()}, so the same test cases can be executed on every
+ * subclass of Vector by overriding that method.
+ * <br><br>
+ * Execution variable:
+ * <br>
+ * Vector teamVector - vector on which all the methods are tested.
+ * <br>
+ * String [] teams - array which contains the elements for initializing teamVector.
+ *
+ * @see myAdapter.Vector
+ * @author Andrea Stocco
+ */
+public class VectorTest
+{
+    Vector teamVector;
+    static String[] teams = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"};
+
+    /**
+     * Method that creates the empty vector under test
+     * @return a new empty Vector
+     */
+    protected Vector newVector(){
+        return new Vector(2);
+    }
+
+    /**
+     * <strong>Summary</strong>: method for initializing the execution variables: a vector which contains "teams" elements is created.
+     * <br><br>
+     * <strong>Preconditions</strong>: the constructors and addElement() have to work correctly.
+     */
+    @Before
+    public void setup() {
+        teamVector = newVector();
+        for (String team : teams) {
+            teamVector.addElement(team);
+        }
+    }
+
+    /**
+     * Method that returns the content of a vector as an array
+     * @param vector vector to copy
+     * @return a new array with the elements of vector
+     */
+    static Object[] content(Vector vector){
+        Object[] array = new Object[vector.size()];
+        vector.copyInto(array);
+        return array;
+    }
+
+    /**
+     * Test of {@link Vector#elementAt(int)} and {@link Vector#setElementAt(Object, int)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the positional access to the vector.
+     * <br><br>
+     * <strong>Description</strong>: every element is read, then an element is replaced. After that an element outside the vector is requested.
+     * <br><br>
+     * <strong>Expected result</strong>: elementAt() must return the elements in insertion order, the replaced element must be visible.
+     * An ArrayIndexOutOfBoundsException must be thrown in the last case.
+     */
+    // teamVector = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testElementAt(){
+        for(int i = 0; i < teams.length; i++){
+            assertEquals(teams[i], teamVector.elementAt(i));
+        }
+        teamVector.setElementAt("Inter", 3);
+        assertEquals("Inter", teamVector.elementAt(3));
+        assertEquals(teams.length, teamVector.size());
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> teamVector.elementAt(teams.length));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> teamVector.setElementAt("Inter", teams.length));
+    }
+
+    /**
+     * Test of {@link Vector#insertElementAt(Object, int)} and {@link Vector#removeElementAt(int)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the structural changes of the vector.
+     * <br><br>
+     * <strong>Description</strong>: elements are inserted at the beginning, in the middle and at the end of the vector, then they are removed.
+     * An element is inserted and removed out of bounds.
+     * <br><br>
+     * <strong>Expected result</strong>: the content of the vector must be the expected array after every change. An
+     * ArrayIndexOutOfBoundsException must be thrown in the last cases.
+     */
+    // teamVector = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testInsertAndRemove(){
+        teamVector.insertElementAt("Porto", 0);
+        teamVector.insertElementAt("Chelsea", 3);
+        teamVector.insertElementAt("Benfica", teamVector.size());
+        assertArrayEquals(new Object[]{"Porto", "Milan", "Liverpool", "Chelsea", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax", "Benfica"},
+                content(teamVector));
+        teamVector.removeElementAt(3);
+        teamVector.removeElementAt(0);
+        teamVector.removeElementAt(teamVector.size() - 1);
+        assertArrayEquals(teams, content(teamVector));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> teamVector.insertElementAt("Inter", teamVector.size() + 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> teamVector.removeElementAt(teamVector.size()));
+    }
+
+    /**
+     * Test of {@link Vector#indexOf(Object)}, {@link Vector#lastIndexOf(Object)}, {@link Vector#contains(Object)} and
+     * {@link Vector#removeElement(Object)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the search of elements inside the vector.
+     * <br><br>
+     * <strong>Description</strong>: a duplicate and a null element are added, then they are searched and removed.
+     * <br><br>
+     * <strong>Expected result</strong>: the methods must return the first and the last occurrence of the elements; with
+     * every backend indexOf(Object, int) must throw ArrayIndexOutOfBoundsException if the index is negative, and
+     * lastIndexOf(Object, int) must return -1.
+     */
+    // teamVector = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testSearch(){
+        teamVector.addElement("Milan");
+        teamVector.addElement(null);
+        assertEquals(0, teamVector.indexOf("Milan"));
+        assertEquals(6, teamVector.lastIndexOf("Milan"));
+        assertEquals(6, teamVector.indexOf("Milan", 1));
+        assertEquals(7, teamVector.indexOf(null));
+        assertEquals(-1, teamVector.indexOf("Milan", 8));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> teamVector.indexOf("Milan", -1));
+        assertEquals(-1, teamVector.lastIndexOf("Milan", -1));
+        assertTrue(teamVector.contains(null));
+        assertFalse(teamVector.contains("Inter"));
+        assertTrue(teamVector.removeElement(null));
+        assertTrue(teamVector.removeElement("Milan"));
+        assertFalse(teamVector.removeElement("Inter"));
+        assertEquals(5, teamVector.lastIndexOf("Milan"));
+        assertEquals("Liverpool", teamVector.firstElement());
+        assertEquals("Milan", teamVector.lastElement());
+    }
+
+    /**
+     * Test of {@link Vector#ensureCapacity(int)}, {@link Vector#trimToSize()}, {@link Vector#setSize(int)}
+     * and {@link Vector#removeAllElements()}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the management of the capacity and of the size of the vector.
+     * <br><br>
+     * <strong>Description</strong>: the capacity is increased and then trimmed. The size is reduced and increased, then all the
+     * elements are removed.
+     * <br><br>
+     * <strong>Expected result</strong>: the capacity must never be less than the size, the slots added by setSize() must be null.
+     */
+    // teamVector = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testCapacityAndSize(){
+        teamVector.ensureCapacity(100);
+        assertTrue(teamVector.capacity() >= 100);
+        teamVector.trimToSize();
+        assertTrue(teamVector.capacity() >= teamVector.size());
+        assertArrayEquals(teams, content(teamVector));
+        teamVector.setSize(2);
+        teamVector.setSize(4);
+        assertArrayEquals(new Object[]{"Milan", "Liverpool", null, null}, content(teamVector));
+        teamVector.removeAllElements();
+        assertTrue(teamVector.isEmpty());
+        assertThrows(NoSuchElementException.class, () -> teamVector.firstElement());
+        teamVector.addElement("Inter");
+        assertEquals("Inter", teamVector.lastElement());
+    }
+
+    /**
+     * Test of {@link Vector#elements()}, {@link Vector#equals(Object)} and {@link Vector#hashCode()}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the enumeration and the comparison of vectors.
+     * <br><br>
+     * <strong>Description</strong>: the vector is enumerated, then it is compared with a vector with the same elements.
+     * <br><br>
+     * <strong>Expected result</strong>: the enumeration must return the elements in order, equal vectors must have the same hashCode.
+     */
+    // teamVector = {"Milan", "Liverpool", "Real Madrid", "Manchester United", "Bayern Monaco", "Ajax"}
+    @Test
+    public void testElementsAndEquals(){
+        Enumeration enumeration = teamVector.elements();
+        int i = 0;
+        while(enumeration.hasMoreElements()){
+            assertEquals(teams[i++], enumeration.nextElement());
+        }
+        assertEquals(teams.length, i);
+        Vector other = newVector();
+        for (String team : teams) {
+            other.addElement(team);
+        }
+        assertEquals(teamVector, other);
+        assertEquals(teamVector.hashCode(), other.hashCode());
+        other.setElementAt("Inter", 0);
+        assertNotEquals(teamVector, other);
+    }
+
+    /**
+     * Test of {@link Vector#sort(int, int, Comparator)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking the stable sort of a range of the vector.
+     * <br><br>
+     * <strong>Design</strong>: an element is inserted in the middle of the vector before sorting, so that the storage isn't
+     * contiguous for GapVector, and many elements are used so that ChunkedVector has more chunks.
+     * <br><br>
+     * <strong>Description</strong>: 2000 strings "key:number" are added, where key is a random digit and the numbers are increasing. The range [100, 1900)
+     * is sorted comparing only the keys.
+     * <br><br>
+     * <strong>Expected result</strong>: the range must be sorted by key, the elements with the same key must keep their order,
+     * and the elements outside the range must not be moved.
+     */
+    @Test
+    public void testSort(){
+        teamVector.removeAllElements();
+        java.util.Random random = new java.util.Random(42);
+        for(int i = 0; i < 2000; i++){
+            teamVector.addElement(random.nextInt(10) + ":" + (10000 + 2 * i));
+        }
+        teamVector.insertElementAt("5:11999", 1000);
+        teamVector.removeElementAt(2000);
+        Object[] before = content(teamVector);
+        Comparator byKey = (first, second) -> ((String) first).charAt(0) - ((String) second).charAt(0);
+        teamVector.sort(100, 1900, byKey);
+        Object[] after = content(teamVector);
+        for(int i = 0; i < after.length; i++){
+            if(i < 100 || i >= 1900) assertSame(before[i], after[i]);
+            else if(i > 100) assertTrue(((String) after[i - 1]).compareTo((String) after[i]) < 0);
+        }
+        teamVector.sort(0, teamVector.size(), null);
+        assertEquals("0", ((String) teamVector.firstElement()).substring(0, 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> teamVector.sort(10, 2001, null));
+    }
+
+    /**
+     * Test of {@link Vector#forEach(int, int, java.util.function.Consumer)}
+     * <br><br>
+     * <strong>Summary</strong>: method for checking that forEach visits the elements of a range in order.
+     * <br><br>
+     * <strong>Design</strong>: an element is inserted in the middle of the vector, so that the storage isn't contiguous for
+     * GapVector, and many elements are used so that ChunkedVector has more chunks.
+     * <br><br>
+     * <strong>Description</strong>: 2000 numbers are added and the number 5000 is inserted at index 700; then some ranges,
+     * before, across and after index 700, are visited.
+     * <br><br>
+     * <strong>Expected result</strong>: every range must be visited in the same order of elementAt(); an invalid range must
+     * throw ArrayIndexOutOfBoundsException.
+     */
+    @Test
+    public void testForEach(){
+        teamVector.removeAllElements();
+        for(int i = 0; i < 2000; i++){
+            teamVector.addElement(i);
+        }
+        teamVector.insertElementAt(5000, 700);
+        int[][] ranges = {{0, 2001}, {0, 300}, {650, 750}, {700, 701}, {1500, 2001}, {900, 900}};
+        for (int[] range : ranges) {
+            java.util.List<Object> visited = new java.util.ArrayList<>();
+            teamVector.forEach(range[0], range[1], visited::add);
+            assertEquals(range[1] - range[0], visited.size());
+            for(int i = range[0]; i < range[1]; i++){
+                assertSame(teamVector.elementAt(i), visited.get(i - range[0]));
+            }
+        }
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> teamVector.forEach(10, 2002, element -> {}));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> teamVector.forEach(-1, 10, element -> {}));
+    }
+}